@@ -0,0 +1,80 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+/**
+ * Utility methods shared by the JMH benchmarks to load the bundled
+ * CloudEnvironment*.yml files and to create simulations that don't print anything.
+ *
+ * <p>The YAML files are looked up in the directory given by the
+ * {@code benchmark.dir} system property (which the {@code benchmark}
+ * maven profile sets to the project root), or in the current directory.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+final class BenchmarkScenarios {
+    /**
+     * A stream that discards everything, used to avoid measuring console output.
+     */
+    static final PrintStream NULL_OUTPUT = new PrintStream(OutputStream.nullOutputStream());
+
+    private BenchmarkScenarios(){/**/}
+
+    /**
+     * Gets the path of a YAML file bundled with the project.
+     * @param fileName the name of the file (such as "CloudEnvironment1.yml")
+     * @return
+     */
+    static Path path(final String fileName) {
+        return Path.of(System.getProperty("benchmark.dir", "."), fileName);
+    }
+
+    /**
+     * Reads the first scenario inside a YAML file bundled with the project.
+     * @param fileName the name of the file (such as "CloudEnvironment1.yml")
+     * @return the first scenario in the file
+     */
+    static YamlCloudScenario load(final String fileName) throws FileNotFoundException, YamlException {
+        return new YamlCloudScenarioReader(path(fileName).toString()).getScenarios().get(0);
+    }
+
+    /**
+     * Creates a simulation for a given plan that neither prints the scenario configuration
+     * nor the results.
+     * @param plan the plan to create the simulation from
+     * @return the new simulation
+     */
+    static CloudSimulation newSilentSimulation(final ScenarioPlan plan) {
+        return new CloudSimulation(plan, "benchmark")
+                .setOutput(NULL_OUTPUT)
+                .setShowResults(false)
+                .setPrintScenariosConfiguration(false);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of brokers, VMs and an increasing number of Cloudlets,
+ * taking the customers declared in CloudEnvironment1.yml as template.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CustomerBuildBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int cloudlets;
+
+    private ScenarioPlan plan;
+    private CloudSimulation simulation;
+
+    @Setup(Level.Trial)
+    public void compile() throws Exception {
+        final var scenario = BenchmarkScenarios.load("CloudEnvironment1.yml");
+        final var customer = scenario.getCustomers().get(0);
+        final int brokers = customer.getAmount();
+        customer.getCloudlets().get(0).setAmount(cloudlets / brokers);
+        plan = ScenarioPlan.compile(scenario);
+    }
+
+    @Setup(Level.Invocation)
+    public void initialize() {
+        simulation = BenchmarkScenarios.newSilentSimulation(plan);
+        simulation.initialize();
+        simulation.buildDatacenters();
+    }
+
+    @Benchmark
+    public CloudSimulation createCloudlets() {
+        simulation.buildCustomers();
+        return simulation;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of Datacenters with an increasing number of Hosts,
+ * taking the Datacenter declared in CloudEnvironment1.yml as template.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DatacenterBuildBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int hosts;
+
+    private ScenarioPlan plan;
+    private CloudSimulation simulation;
+
+    @Setup(Level.Trial)
+    public void compile() throws Exception {
+        final var scenario = BenchmarkScenarios.load("CloudEnvironment1.yml");
+        final var datacenter = scenario.getDatacenters().get(0);
+        datacenter.getHosts().get(0).setAmount(hosts);
+        plan = ScenarioPlan.compile(scenario);
+    }
+
+    @Setup(Level.Invocation)
+    public void initialize() {
+        simulation = BenchmarkScenarios.newSilentSimulation(plan);
+        simulation.initialize();
+    }
+
+    @Benchmark
+    public CloudSimulation createHosts() {
+        simulation.buildDatacenters();
+        return simulation;
+    }
+}
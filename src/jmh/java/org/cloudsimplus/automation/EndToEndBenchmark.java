@@ -0,0 +1,62 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the complete execution of the scenarios bundled with the project:
+ * building the simulation, running it and collecting the results
+ * (which aren't printed).
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EndToEndBenchmark {
+    @Param({
+        "CloudEnvironment1.yml", "CloudEnvironment4.yml", "CloudEnvironment5.yml",
+        "CloudEnvironment6.yml", "CloudEnvironment7.yml"
+    })
+    private String file;
+
+    private ScenarioPlan plan;
+
+    @Setup(Level.Trial)
+    public void compile() throws Exception {
+        plan = ScenarioPlan.compile(BenchmarkScenarios.load(file));
+    }
+
+    @Benchmark
+    public CloudSimulation run() {
+        final var simulation = BenchmarkScenarios.newSilentSimulation(plan);
+        simulation.run();
+        return simulation;
+    }
+}
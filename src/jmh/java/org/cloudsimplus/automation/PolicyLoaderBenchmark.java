@@ -0,0 +1,77 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
+import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudsimplus.schedulers.vm.VmScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of creating policies through the {@link PolicyLoader},
+ * compared to calling the policy constructor directly.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyLoaderBenchmark {
+    private Supplier<CloudletScheduler> cloudletSchedulerFactory;
+
+    @Setup
+    public void setup() {
+        cloudletSchedulerFactory = PolicyLoader.cloudletSchedulerFactory("TimeShared");
+    }
+
+    /**
+     * Gets the cached factory from the class name suffix and creates a policy,
+     * as done for every Host when the scenario is not compiled to a {@link ScenarioPlan}.
+     */
+    @Benchmark
+    public VmScheduler factoryLookupAndCreate() {
+        return PolicyLoader.vmScheduler("TimeShared");
+    }
+
+    /**
+     * Creates a policy from an already resolved factory, as done when building a {@link ScenarioPlan}.
+     */
+    @Benchmark
+    public CloudletScheduler resolvedFactory() {
+        return cloudletSchedulerFactory.get();
+    }
+
+    /**
+     * The baseline: calls the policy constructor directly.
+     */
+    @Benchmark
+    public CloudletScheduler directConstructor() {
+        return new CloudletSchedulerTimeShared();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the {@link ScenarioReader}s when parsing a large file with multiple scenarios,
+ * built by concatenating the bundled CloudEnvironment*.yml files several times.
+ * The same scenarios are also written in JSON, to measure the fast reader on both formats,
+ * and compiled to the binary format read by the {@link CompiledScenarioReader}.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScenarioReaderBenchmark {
+    /**
+     * The bundled files that can be parsed with the current registry classes.
+     */
+    private static final String[] FILES = {
+        "CloudEnvironment1.yml", "CloudEnvironment4.yml", "CloudEnvironment5.yml",
+        "CloudEnvironment6.yml", "CloudEnvironment7.yml"
+    };
+
+    /**
+     * Number of times the bundled files are repeated inside the generated files.
+     */
+    @Param({"100", "1000"})
+    private int copies;
+
+    private Path yamlFile;
+    private Path jsonFile;
+    private Path compiledFile;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        final List<String> documents = new ArrayList<>(FILES.length);
+        for (final String fileName : FILES) {
+            documents.add(Files.readString(BenchmarkScenarios.path(fileName)).strip());
+        }
+
+        yamlFile = Files.createTempFile("scenarios", ".yml");
+        try (var writer = Files.newBufferedWriter(yamlFile)) {
+            for (int i = 0; i < copies; i++) {
+                for (final String doc : documents) {
+                    writer.write(doc);
+                    writer.write(System.lineSeparator());
+                    writer.write("---");
+                    writer.write(System.lineSeparator());
+                }
+            }
+        }
+
+        jsonFile = Files.createTempFile("scenarios", ".json");
+        compiledFile = Files.createTempFile("scenarios", ".yamlc");
+        try (var writer = new JsonScenarioWriter(Files.newBufferedWriter(jsonFile));
+             var compiledWriter = new CompiledScenarioWriter(Files.newOutputStream(compiledFile));
+             var scenarios = new YamlbeansScenarioReader().stream(yamlFile))
+        {
+            for (final var scenario : (Iterable<YamlCloudScenario>) scenarios::iterator) {
+                writer.write(scenario);
+                compiledWriter.write(scenario);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(yamlFile);
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(compiledFile);
+    }
+
+    @Benchmark
+    public void yamlbeansYaml(final Blackhole blackhole) throws IOException {
+        consume(new YamlbeansScenarioReader().stream(yamlFile), blackhole);
+    }
+
+    @Benchmark
+    public void fastYaml(final Blackhole blackhole) throws IOException {
+        consume(new FastScenarioReader().stream(yamlFile), blackhole);
+    }
+
+    @Benchmark
+    public void fastJson(final Blackhole blackhole) throws IOException {
+        consume(new FastScenarioReader().stream(jsonFile), blackhole);
+    }
+
+    @Benchmark
+    public void compiled(final Blackhole blackhole) throws IOException {
+        consume(new CompiledScenarioReader().stream(compiledFile), blackhole);
+    }
+
+    private static void consume(final Stream<YamlCloudScenario> scenarios, final Blackhole blackhole) {
+        try (scenarios) {
+            scenarios.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of a large YAML file with multiple scenarios
+ * (YAML documents separated by {@code ---}), built by concatenating the
+ * bundled CloudEnvironment*.yml files several times.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YamlParsingBenchmark {
+    /**
+     * The bundled files that can be parsed with the current registry classes.
+     */
+    private static final String[] FILES = {
+        "CloudEnvironment1.yml", "CloudEnvironment4.yml", "CloudEnvironment5.yml",
+        "CloudEnvironment6.yml", "CloudEnvironment7.yml"
+    };
+
+    /**
+     * Number of times the bundled files are repeated inside the generated file.
+     */
+    @Param({"100", "1000"})
+    private int copies;
+
+    /**
+     * Number of YAML documents parsed at the same time.
+     */
+    @Param({"1", "4"})
+    private int threads;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        final List<String> documents = new ArrayList<>(FILES.length);
+        for (final String fileName : FILES) {
+            documents.add(Files.readString(BenchmarkScenarios.path(fileName)).strip());
+        }
+
+        file = Files.createTempFile("scenarios", ".yml");
+        try (var writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < copies; i++) {
+                for (final String doc : documents) {
+                    writer.write(doc);
+                    writer.write(System.lineSeparator());
+                    writer.write("---");
+                    writer.write(System.lineSeparator());
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void parse(final Blackhole blackhole) throws IOException {
+        try (var scenarios = YamlCloudScenarioReader.stream(file.toString(), threads)) {
+            scenarios.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void parseAndCompile(final Blackhole blackhole) throws IOException {
+        try (var scenarios = YamlCloudScenarioReader.stream(file.toString(), threads)) {
+            scenarios.map(ScenarioPlan::compile).forEach(blackhole::consume);
+        }
+    }
+}
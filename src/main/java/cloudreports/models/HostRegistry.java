@@ -308,7 +308,10 @@ public final class HostRegistry implements Serializable {
     }
 
     /**
-     * Indicates whether the host can allocate a virtual machine or not.
+     * Indicates whether the host can allocate a virtual machine or not,
+     * considering just the capacity of an empty host.
+     * Since the MIPS of a virtual machine is the capacity of each one of its PEs,
+     * the host must have at least the same number of PEs, each one with at least such a capacity.
      *
      * @param   vmr     the virtual machine to be allocated.
      * @return          <code>true</code> if the host can allocate the virtual
@@ -317,7 +320,8 @@ public final class HostRegistry implements Serializable {
      */
     public boolean canRunVM(VmRegistry vmr) {
         if(this.getRam()<vmr.getRam()) return false;
-        if((this.getPes()*this.getMips()) < vmr.getMips()) return false;
+        if(this.getPes()<vmr.getPes()) return false;
+        if(this.getMips()<vmr.getMips()) return false;
         if(this.getBw()<vmr.getBw()) return false;
         if(this.getStorage()<vmr.getSize()) return false;
 
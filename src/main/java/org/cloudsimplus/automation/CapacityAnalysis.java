@@ -0,0 +1,500 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import cloudreports.models.HostRegistry;
+import cloudreports.models.VmRegistry;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A quick analysis of whether the VMs of a {@link ScenarioPlan} can be placed into its Hosts,
+ * computed just from the registries and their amounts, without creating any Host or VM.
+ * This way, scenarios where VMs can never be placed are reported in milliseconds,
+ * instead of after the simulation is built and the brokers are left waiting for such VMs.
+ *
+ * <p>The analysis considers that all VMs run at the same time
+ * and that any VM can be placed into any Datacenter (as brokers try
+ * the next Datacenter when a VM cannot be created in the current one). It includes:</p>
+ * <ul>
+ *   <li>the VM entries whose VMs don't fit in any Host, even in an empty one
+ *       (see {@link HostRegistry#canRunVM(VmRegistry)});</li>
+ *   <li>the total demand for each {@link Resource} compared to the total supply;</li>
+ *   <li>a first-fit decreasing estimate of how many VMs can be placed:
+ *       VM entries are sorted by decreasing size and each VM is placed into the first Host
+ *       (in the order they are declared) with enough free capacity.</li>
+ * </ul>
+ *
+ * <p>Hosts and VMs created from the same registry are identical, so the packing estimate
+ * handles groups of Hosts with the same free capacity, placing all VMs from an entry at once.
+ * Therefore, its cost depends on the number of registries, not on the number of Hosts and VMs.
+ * The estimate isn't the actual placement made by the Datacenter {@code VmAllocationPolicy},
+ * but the VMs it cannot place are a strong indication the scenario is over-subscribed.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see #of(ScenarioPlan)
+ */
+public final class CapacityAnalysis {
+    /**
+     * The resources whose total demand from VMs is compared to the total supply from Hosts.
+     */
+    public enum Resource {
+        CPU("CPU (MIPS)"), RAM("RAM (MB)"), BW("BW (Mbps)"), STORAGE("Storage (MB)");
+
+        private final String description;
+
+        Resource(final String description) {
+            this.description = description;
+        }
+
+        /**
+         * Gets the name and unit of the resource.
+         * @return
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * The total demand and supply of a resource.
+     * @param resource the resource
+     * @param demand the total amount of the resource required by all VMs
+     * @param supply the total capacity of the resource in all Hosts
+     */
+    public record Usage(Resource resource, double demand, double supply) {
+        /** @return true if the VMs require more of the resource than the Hosts have */
+        public boolean isOverSubscribed() {
+            return demand > supply;
+        }
+
+        /** @return the percentage of the supply required by VMs, or NaN if there is no supply */
+        public double percent() {
+            return supply == 0 ? Double.NaN : demand * 100 / supply;
+        }
+    }
+
+    /** The number of {@link Resource}s, whose indexes are the first dimensions. */
+    private static final int RESOURCES = Resource.values().length;
+
+    /** The index of the dimension for the number of PEs, which comes after the {@link Resource}s. */
+    private static final int PES = RESOURCES;
+
+    /**
+     * The number of dimensions for the capacity of Hosts and the demand of VMs used by the packing estimate.
+     * Besides the {@link Resource}s, the number of PEs is considered for Hosts whose
+     * VMs cannot share PEs.
+     */
+    private static final int DIMENSIONS = RESOURCES + 1;
+
+    /**
+     * The Hosts created from a {@link HostRegistry} in all Datacenters created from a {@code DatacenterRegistry}.
+     * @param registry the Host registry
+     * @param count the number of Hosts
+     * @param capacity the capacity of each Host for each dimension
+     */
+    private record HostType(HostRegistry registry, long count, double[] capacity) {}
+
+    /**
+     * The VMs created from a {@link VmRegistry} for all brokers created from a {@code CustomerRegistry}.
+     * @param path the path of the VM entry in the YAML file
+     * @param registry the VM registry
+     * @param count the number of VMs
+     * @param demand the demand of each VM for each dimension
+     */
+    private record VmType(String path, VmRegistry registry, long count, double[] demand) {}
+
+    /**
+     * A group of consecutive Hosts of the same type which have the same free capacity.
+     */
+    private static final class HostGroup {
+        private final HostType type;
+        private final double[] free;
+        private final long count;
+        private final boolean used;
+
+        HostGroup(final HostType type, final double[] free, final long count, final boolean used) {
+            this.type = type;
+            this.free = free;
+            this.count = count;
+            this.used = used;
+        }
+    }
+
+    private final List<Usage> usages;
+    private final List<String> problems;
+    private final long totalVms;
+    private final long totalHosts;
+    private long infeasibleVms;
+    private long unplacedVms;
+    private long usedHosts;
+
+    private CapacityAnalysis(final List<HostType> hosts, final List<VmType> vms) {
+        this.problems = new ArrayList<>();
+        this.totalVms = vms.stream().mapToLong(VmType::count).sum();
+        this.totalHosts = hosts.stream().mapToLong(HostType::count).sum();
+
+        final double[] demand = new double[DIMENSIONS];
+        final double[] supply = new double[DIMENSIONS];
+        vms.forEach(vm -> addTo(demand, vm.demand, vm.count));
+        hosts.forEach(host -> addTo(supply, host.capacity, host.count));
+        this.usages = new ArrayList<>(RESOURCES);
+        for (final Resource resource : Resource.values()) {
+            usages.add(new Usage(resource, demand[resource.ordinal()], supply[resource.ordinal()]));
+        }
+
+        for (final VmType vm : vms) {
+            if(hosts.stream().noneMatch(host -> host.registry.canRunVM(vm.registry))) {
+                infeasibleVms += vm.count;
+                problems.add(String.format("%s: its %d VMs don't fit in any Host, %s", vm.path, vm.count, reason(hosts, vm)));
+            }
+        }
+
+        pack(hosts, vms, supply);
+    }
+
+    /**
+     * Analyzes the capacity of the Hosts in a scenario to place its VMs.
+     * @param plan the plan of the scenario to analyze
+     * @return the analysis
+     */
+    public static CapacityAnalysis of(final ScenarioPlan plan) {
+        final var hosts = new ArrayList<HostType>();
+        for (final var dcp : plan.getDatacenters()) {
+            for (final var hp : dcp.hosts()) {
+                final long count = (long) dcp.amount() * hp.amount();
+                if(count > 0) {
+                    hosts.add(new HostType(hp.registry(), count, capacity(hp.registry())));
+                }
+            }
+        }
+
+        final var vms = new ArrayList<VmType>();
+        for (int i = 0; i < plan.getCustomers().size(); i++) {
+            final var cp = plan.getCustomers().get(i);
+            for (int j = 0; j < cp.vms().size(); j++) {
+                final var vp = cp.vms().get(j);
+                final long count = (long) cp.amount() * vp.amount();
+                if(count > 0) {
+                    vms.add(new VmType(String.format("customers[%d].vms[%d]", i, j), vp.registry(), count, demand(vp.registry())));
+                }
+            }
+        }
+
+        return new CapacityAnalysis(hosts, vms);
+    }
+
+    private static double[] capacity(final HostRegistry hr) {
+        final double[] capacity = new double[DIMENSIONS];
+        capacity[Resource.CPU.ordinal()] = hr.getPes() * hr.getMips();
+        capacity[Resource.RAM.ordinal()] = hr.getRam();
+        capacity[Resource.BW.ordinal()] = hr.getBw();
+        capacity[Resource.STORAGE.ordinal()] = hr.getStorage();
+        /* Just the space-shared scheduler allocates each PE to a single VM. */
+        capacity[PES] = "SpaceShared".equals(hr.getVmScheduler()) ? hr.getPes() : Double.POSITIVE_INFINITY;
+        return capacity;
+    }
+
+    private static double[] demand(final VmRegistry vmr) {
+        final double[] demand = new double[DIMENSIONS];
+        demand[Resource.CPU.ordinal()] = vmr.getPes() * vmr.getMips();
+        demand[Resource.RAM.ordinal()] = vmr.getRam();
+        demand[Resource.BW.ordinal()] = vmr.getBw();
+        demand[Resource.STORAGE.ordinal()] = vmr.getSize();
+        demand[PES] = vmr.getPes();
+        return demand;
+    }
+
+    private static void addTo(final double[] total, final double[] values, final long count) {
+        for (int i = 0; i < RESOURCES; i++) {
+            total[i] += values[i] * count;
+        }
+    }
+
+    /**
+     * Describes why the VMs from an entry don't fit in any Host.
+     */
+    private static String reason(final List<HostType> hosts, final VmType vm) {
+        if(hosts.isEmpty()) {
+            return "since there are no Hosts";
+        }
+
+        final VmRegistry vmr = vm.registry;
+        final var exceeded = new StringJoiner(", ");
+        exceed(exceeded, "PEs", vmr.getPes(), hosts.stream().mapToDouble(host -> host.registry.getPes()).max().orElse(0));
+        exceed(exceeded, "MIPS per PE", vmr.getMips(), hosts.stream().mapToDouble(host -> host.registry.getMips()).max().orElse(0));
+        exceed(exceeded, "MB of RAM", vmr.getRam(), hosts.stream().mapToDouble(host -> host.registry.getRam()).max().orElse(0));
+        exceed(exceeded, "Mbps of BW", vmr.getBw(), hosts.stream().mapToDouble(host -> host.registry.getBw()).max().orElse(0));
+        exceed(exceeded, "MB of storage", vmr.getSize(), hosts.stream().mapToDouble(host -> host.registry.getStorage()).max().orElse(0));
+        if(exceeded.length() == 0) {
+            return "since no Host has enough PEs, MIPS, RAM, BW and storage at the same time";
+        }
+
+        return "since each VM requires " + exceeded;
+    }
+
+    private static void exceed(final StringJoiner exceeded, final String resource, final double required, final double max) {
+        if(required > max) {
+            exceeded.add(String.format("%.0f %s but Hosts have at most %.0f", required, resource, max));
+        }
+    }
+
+    /**
+     * Estimates how many VMs can be placed, using the first-fit decreasing heuristic.
+     * @param supply the total capacity of all Hosts, used to compare the size of VMs for different resources
+     */
+    private void pack(final List<HostType> hosts, final List<VmType> vms, final double[] supply) {
+        final var groups = new LinkedList<HostGroup>();
+        hosts.forEach(host -> groups.add(new HostGroup(host, host.capacity.clone(), host.count, false)));
+
+        final var sorted = new ArrayList<>(vms);
+        sorted.sort(Comparator.comparingDouble((VmType vm) -> size(vm, supply)).reversed());
+        for (final VmType vm : sorted) {
+            unplacedVms += place(groups, vm);
+        }
+
+        usedHosts = groups.stream().filter(group -> group.used).mapToLong(group -> group.count).sum();
+    }
+
+    /**
+     * Gets the size of a VM as the sum of the fraction of the total supply it requires for each resource.
+     */
+    private static double size(final VmType vm, final double[] supply) {
+        double size = 0;
+        for (int i = 0; i < RESOURCES; i++) {
+            size += supply[i] == 0 ? 0 : vm.demand[i] / supply[i];
+        }
+
+        return size;
+    }
+
+    /**
+     * Places the VMs of an entry into the first Hosts with enough free capacity.
+     * Since all such VMs are equal, each Host is filled up before moving to the next one.
+     * Therefore, a group of Hosts is split into the ones filled up, the one partially filled
+     * and the ones left untouched.
+     *
+     * @param groups the groups of Hosts, in the order the Hosts are declared
+     * @param vm the VM entry to place
+     * @return the number of VMs that couldn't be placed
+     */
+    private static long place(final List<HostGroup> groups, final VmType vm) {
+        long remaining = vm.count;
+        for (final var it = groups.listIterator(); it.hasNext() && remaining > 0; ) {
+            final HostGroup group = it.next();
+            if(!group.type.registry.canRunVM(vm.registry)) {
+                continue;
+            }
+
+            final long perHost = fits(group.free, vm.demand);
+            if(perHost == 0) {
+                continue;
+            }
+
+            final long fullHosts = remaining / perHost;
+            if(fullHosts >= group.count) {
+                it.set(new HostGroup(group.type, minus(group.free, vm.demand, perHost), group.count, true));
+                remaining -= group.count * perHost;
+                continue;
+            }
+
+            final long partial = remaining % perHost;
+            it.remove();
+            if(fullHosts > 0) {
+                it.add(new HostGroup(group.type, minus(group.free, vm.demand, perHost), fullHosts, true));
+            }
+            if(partial > 0) {
+                it.add(new HostGroup(group.type, minus(group.free, vm.demand, partial), 1, true));
+            }
+
+            final long untouched = group.count - fullHosts - (partial > 0 ? 1 : 0);
+            if(untouched > 0) {
+                it.add(new HostGroup(group.type, group.free, untouched, group.used));
+            }
+            remaining = 0;
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Gets how many VMs with a given demand fit in the free capacity of a Host.
+     */
+    private static long fits(final double[] free, final double[] demand) {
+        double count = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            if(demand[i] > 0) {
+                /* The tolerance avoids rounding errors when the capacity is an exact multiple of the demand. */
+                count = Math.min(count, Math.floor(free[i] / demand[i] + 1e-9));
+            }
+        }
+
+        return count >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) count;
+    }
+
+    private static double[] minus(final double[] free, final double[] demand, final long count) {
+        final double[] result = new double[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            result[i] = demand[i] == 0 ? free[i] : free[i] - demand[i] * count;
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if all VMs fit in at least one Host (when it's empty).
+     * @return
+     */
+    public boolean isFeasible() {
+        return infeasibleVms == 0;
+    }
+
+    /**
+     * Checks if the VMs require more of any resource than the Hosts have
+     * or if the packing estimate couldn't place all VMs which fit in some Host.
+     * @return
+     */
+    public boolean isOverSubscribed() {
+        return unplacedVms > infeasibleVms || usages.stream().anyMatch(Usage::isOverSubscribed);
+    }
+
+    /**
+     * Checks if the scenario is either infeasible or over-subscribed.
+     * @return
+     * @see #isFeasible()
+     * @see #isOverSubscribed()
+     */
+    public boolean hasProblems() {
+        return !isFeasible() || isOverSubscribed();
+    }
+
+    /**
+     * Gets the total demand and supply of each {@link Resource}.
+     * @return
+     */
+    public List<Usage> getUsages() {
+        return usages;
+    }
+
+    /**
+     * Gets the description of each VM entry whose VMs don't fit in any Host.
+     * @return
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Gets the total number of VMs in the scenario.
+     * @return
+     */
+    public long getTotalVms() {
+        return totalVms;
+    }
+
+    /**
+     * Gets the total number of Hosts in the scenario.
+     * @return
+     */
+    public long getTotalHosts() {
+        return totalHosts;
+    }
+
+    /**
+     * Gets the number of VMs which don't fit in any Host.
+     * @return
+     */
+    public long getInfeasibleVms() {
+        return infeasibleVms;
+    }
+
+    /**
+     * Gets the number of VMs the packing estimate couldn't place,
+     * including the {@link #getInfeasibleVms() infeasible ones}.
+     * @return
+     */
+    public long getUnplacedVms() {
+        return unplacedVms;
+    }
+
+    /**
+     * Gets the number of Hosts with at least one VM placed by the packing estimate.
+     * @return
+     */
+    public long getUsedHosts() {
+        return usedHosts;
+    }
+
+    /**
+     * Gets a one-line description of the problems found, or an empty string if there is none.
+     * @return
+     * @see #hasProblems()
+     */
+    public String getSummary() {
+        final var summary = new StringJoiner("; ");
+        if(infeasibleVms > 0) {
+            summary.add(String.format("%d of %d VMs don't fit in any Host", infeasibleVms, totalVms));
+        }
+
+        if(unplacedVms > infeasibleVms) {
+            summary.add(String.format("%d VMs couldn't be placed by a first-fit decreasing estimate", unplacedVms - infeasibleVms));
+        }
+
+        for (final Usage usage : usages) {
+            if(usage.isOverSubscribed()) {
+                summary.add(String.format("%s demand is %s of the supply", usage.resource.getDescription(), percent(usage)));
+            }
+        }
+
+        return summary.toString();
+    }
+
+    private static String percent(final Usage usage) {
+        return Double.isNaN(usage.percent()) ? "-" : String.format("%.1f%%", usage.percent());
+    }
+
+    /**
+     * Prints the analysis.
+     * @param out the stream to print the analysis to
+     * @param scenarioName the name identifying the scenario
+     */
+    public void print(final PrintStream out, final String scenarioName) {
+        out.printf("%nCapacity analysis of scenario %s%n", scenarioName);
+        final String[] captions = {"Resource       ", "Demand          ", "Supply          ", "Usage   "};
+        LogUtils.printCaptions(out, captions);
+        for (final Usage usage : usages) {
+            LogUtils.printLine(out, captions,
+                usage.resource.getDescription(), String.format("%.0f", usage.demand), String.format("%.0f", usage.supply), percent(usage));
+        }
+
+        out.printf("%d of %d VMs placed into %d of %d Hosts by a first-fit decreasing estimate%n",
+                   totalVms - unplacedVms, totalVms, usedHosts, totalHosts);
+        problems.forEach(problem -> out.printf("  %s%n", problem));
+        out.println(hasProblems() ? "The scenario is " + (isFeasible() ? "over-subscribed" : "infeasible") : "All VMs fit in the Hosts");
+    }
+}
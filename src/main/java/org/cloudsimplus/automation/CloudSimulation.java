@@ -24,9 +24,20 @@ package org.cloudsimplus.automation;
 
 import ch.qos.logback.classic.Level;
 import cloudreports.models.*;
+import org.cloudsimplus.automation.RunProfile.Phase;
+import org.cloudsimplus.automation.ScenarioPlan.*;
+import org.cloudsimplus.automation.jfr.ClockMilestoneEvent;
+import org.cloudsimplus.automation.jfr.DatacenterBuildEvent;
+import org.cloudsimplus.automation.results.CloudletGroupStats;
+import org.cloudsimplus.automation.results.CloudletResult;
+import org.cloudsimplus.automation.results.CloudletStatistics;
+import org.cloudsimplus.automation.results.ColumnarResultWriter;
+import org.cloudsimplus.automation.results.ResultSink;
+import org.cloudsimplus.automation.results.RunMetrics;
 import org.cloudsimplus.brokers.DatacenterBroker;
 import org.cloudsimplus.brokers.DatacenterBrokerSimple;
 import org.cloudsimplus.builders.tables.CloudletsTableBuilder;
+import org.cloudsimplus.builders.tables.TextTable;
 import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.cloudlets.CloudletSimple;
 import org.cloudsimplus.core.CloudSimPlus;
@@ -34,6 +45,7 @@ import org.cloudsimplus.datacenters.Datacenter;
 import org.cloudsimplus.datacenters.DatacenterSimple;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
 import org.cloudsimplus.resources.DatacenterStorage;
 import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.resources.PeSimple;
@@ -42,10 +54,18 @@ import org.cloudsimplus.util.Log;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmSimple;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 import static java.util.Comparator.comparingLong;
@@ -56,23 +76,84 @@ import static java.util.stream.Collectors.toList;
  * @author Manoel Campos da Silva Filho
  */
 public class CloudSimulation implements Runnable {
-    private final YamlCloudScenario scenario;
+    private final ScenarioPlan plan;
+    private final String label;
+    private PrintStream out;
     private CloudSimPlus cloudsimplus;
     private List<Datacenter> datacenters;
     private boolean showResults;
     private boolean logEnabled;
     private boolean printScenariosConfiguration;
+    private boolean shareUtilizationModels;
+    private UtilizationModelPool utilizationModels;
+    private int cloudletBatchSize;
+    private ResultSink resultSink;
+    private Path binaryResultsDir;
+    private boolean statisticsEnabled;
+    private CloudletStatistics statistics;
+    private RunProfile profile;
+    private Long seed;
+    private RunMetrics metrics;
+    private ResultCache resultCache;
 
-    private Map<DatacenterBroker, CustomerRegistry> brokers;
+    /**
+     * The metrics and the results not written to the {@link #resultSink} yet,
+     * for the Cloudlets finished so far, which are added as each Cloudlet finishes
+     * when Cloudlets are {@link #setCloudletBatchSize(int) submitted in batches}.
+     */
+    private RunMetrics.Accumulator finishedMetrics;
+    private List<CloudletResult> pendingResults;
+
+    /**
+     * The statistics group for each customer and for each {@link VmRegistry} and
+     * the group for the VMs (indexed by VM ID),
+     * used when {@link #setStatisticsEnabled(boolean) statistics are enabled}.
+     */
+    private Map<CustomerPlan, CloudletGroupStats> customerGroups;
+    private Map<VmPlan, CloudletGroupStats> vmRegistryGroups;
+    private CloudletGroupStats[] vmGroupsById;
+
+    private Map<DatacenterBroker, BrokerPlan> brokers;
     private Map<DatacenterBroker, List<Vm>> vmsToBrokerMap;
     private Map<DatacenterBroker, List<Cloudlet>> cloudletsToBrokerMap;
 
+    /**
+     * Lookup tables for the created entities, indexed by their IDs.
+     * @see ScenarioPlan
+     */
+    private Host[] hostsById;
+    private Vm[] vmsById;
+    private Cloudlet[] cloudletsById;
+
+    /**
+     * The plan for the customer a broker was created from.
+     * @param customer the plan for the {@link CustomerRegistry}
+     * @param index the index of the broker, among the ones created from such a registry
+     */
+    private record BrokerPlan(CustomerPlan customer, int index) {
+        int vmId(final VmPlan vp, final int vmIndex) {
+            return customer.vmId(index, vp, vmIndex);
+        }
+
+        int cloudletId(final CloudletPlan clp, final int cloudletIndex) {
+            return customer.cloudletId(index, clp, cloudletIndex);
+        }
+
+        /** @return true if the Cloudlet ID is inside the range allocated to the broker */
+        boolean ownsCloudlet(final long id) {
+            final long first = customer.firstCloudletId() + (long)index * customer.cloudletsPerCustomer();
+            return id >= first && id < first + customer.cloudletsPerCustomer();
+        }
+    }
+
     /**
      * Instantiates a CloudSimulation object to enable building
      * and running {@link YamlCloudScenario Cloud Simulation Scenario}
      * in CloudSim Plus.
      *
      * @param scenario the {@link YamlCloudScenario} read from an YAML file
+     * @throws IllegalArgumentException when the scenario is invalid
+     * @see ScenarioPlan#compile(YamlCloudScenario)
      */
     public CloudSimulation(YamlCloudScenario scenario) {
         this(scenario, "");
@@ -85,32 +166,55 @@ public class CloudSimulation implements Runnable {
      * @param label A label to be used to identify the running
      *              simulation scenario. Commonly this can be the name
      *              of the loaded YAML file.
+     * @throws IllegalArgumentException when the scenario is invalid
+     * @see ScenarioPlan#compile(YamlCloudScenario)
      */
     public CloudSimulation(YamlCloudScenario scenario, final String label) {
-        this.scenario = scenario;
+        this(ScenarioPlan.compile(scenario), label);
+    }
+
+    /**
+     * Builds a {@link YamlCloudScenario Cloud Simulation Scenario}, already compiled to a {@link ScenarioPlan},
+     * in CloudSim Plus.
+     * @param plan the plan compiled from the {@link YamlCloudScenario} read from an YAML file
+     * @param label A label to be used to identify the running
+     *              simulation scenario. Commonly this can be the name
+     *              of the loaded YAML file.
+     */
+    public CloudSimulation(final ScenarioPlan plan, final String label) {
+        this.plan = Objects.requireNonNull(plan);
+        this.label = label;
+        this.out = System.out;
         this.showResults = true;
         this.printScenariosConfiguration = true;
         this.datacenters = new ArrayList<>();
         this.logEnabled = false;
-
-        this.brokers = new HashMap<>();
-        this.vmsToBrokerMap = new HashMap<>();
-        this.cloudletsToBrokerMap = new HashMap<>();
+        this.shareUtilizationModels = true;
+        this.utilizationModels = new UtilizationModelPool(false);
+        this.resultSink = ResultSink.NULL;
+        this.profile = new RunProfile(label);
+
+        this.brokers = new LinkedHashMap<>();
+        this.vmsToBrokerMap = new LinkedHashMap<>();
+        this.cloudletsToBrokerMap = new LinkedHashMap<>();
+        this.hostsById = new Host[0];
+        this.vmsById = new Vm[0];
+        this.cloudletsById = new Cloudlet[0];
     }
 
     /**
-     * Creates a map containing the abstract customer information ({@link CustomerRegistry})
+     * Creates a map containing the plan for the abstract customer information ({@link CustomerRegistry})
      * used to create each concrete CloudSim customer ({@link DatacenterBroker}).
+     * The map keeps the brokers in the order the customers are declared in the YAML file.
      *
      * @return Returns the map created.
      * @see YamlCloudScenario#getCustomers()
      */
-    private Map<DatacenterBroker, CustomerRegistry> createBrokers() {
-        final int totalBrokerAmount = scenario.getCustomers().stream().mapToInt(CustomerRegistry::getAmount).sum();
-        final var map = new HashMap<DatacenterBroker, CustomerRegistry>(totalBrokerAmount);
-        for (final CustomerRegistry cr: scenario.getCustomers()) {
-            for (int i = 0; i < cr.getAmount(); i++) {
-                map.put(new DatacenterBrokerSimple(cloudsimplus), cr);
+    private Map<DatacenterBroker, BrokerPlan> createBrokers() {
+        final var map = new LinkedHashMap<DatacenterBroker, BrokerPlan>(plan.getTotalBrokers());
+        for (final CustomerPlan cp: plan.getCustomers()) {
+            for (int i = 0; i < cp.amount(); i++) {
+                map.put(new DatacenterBrokerSimple(cloudsimplus), new BrokerPlan(cp, i));
             }
         }
 
@@ -121,18 +225,16 @@ public class CloudSimulation implements Runnable {
      * Creates the list of VMs in CloudSim Plus for each customer represented by a {@link DatacenterBroker}.
      *
      * @param crMap a Map between a {@link DatacenterBroker} representing a customer in CloudSim Plus
-     *           and the {@link CustomerRegistry} object used to create VMs and Cloudlets for such a broker.
+     *           and the plan for the {@link CustomerRegistry} object used to create VMs and Cloudlets for such a broker.
      * @return a map containing the list of created VMs for each customer (DatacenterBroker).
      * @see #createBrokers()
      */
     private Map<DatacenterBroker, List<Vm>> createVmListForAllBrokers(
-        final Map<DatacenterBroker, CustomerRegistry> crMap)
+        final Map<DatacenterBroker, BrokerPlan> crMap)
     {
-        final var vmMap = new HashMap<DatacenterBroker, List<Vm>>(crMap.size());
-
-        int createdVms = 0;
+        final var vmMap = new LinkedHashMap<DatacenterBroker, List<Vm>>(crMap.size());
         for (var broker : crMap.keySet()) {
-            final var vmList = createVmListForOneBroker(broker, crMap.get(broker), createdVms++);
+            final var vmList = createVmListForOneBroker(broker, crMap.get(broker));
             vmMap.put(broker, vmList);
         }
 
@@ -143,21 +245,18 @@ public class CloudSimulation implements Runnable {
      * Creates the list of VMs in CloudSim Plus for a given customer represented by a {@link DatacenterBroker}.
      *
      * @param broker {@link DatacenterBroker} representing a customer in CloudSim Plus, for who VMs will be created
-     * @param cr  {@link CustomerRegistry} object used to create VMs and Cloudlets for such a broker
-     * @param createdVms the number of VMs already created
+     * @param bp  the plan for the {@link CustomerRegistry} object used to create VMs and Cloudlets for such a broker
      * @return a map containing the list of created VMs for the given customer (DatacenterBroker)
      * @see #createBrokers()
      */
     private List<Vm> createVmListForOneBroker(
         final DatacenterBroker broker,
-        final CustomerRegistry cr,
-        final int createdVms) throws RuntimeException
+        final BrokerPlan bp) throws RuntimeException
     {
-        final int totalVmsAmount = cr.getVms().stream().mapToInt(VmRegistry::getAmount).sum();
-        final var vmList = new ArrayList<Vm>(totalVmsAmount);
-        for (VmRegistry vmr : cr.getVms()) {
-            for (int i = 0; i < vmr.getAmount(); i++) {
-                vmList.add(createVm(createdVms+i, broker, vmr));
+        final var vmList = new ArrayList<Vm>(bp.customer().vmsPerCustomer());
+        for (VmPlan vp : bp.customer().vms()) {
+            for (int i = 0; i < vp.amount(); i++) {
+                vmList.add(createVm(bp.vmId(vp, i), broker, vp));
             }
         }
 
@@ -166,9 +265,10 @@ public class CloudSimulation implements Runnable {
 
     private Vm createVm(final int id,
                         final DatacenterBroker broker,
-                        final VmRegistry vmr) throws RuntimeException
+                        final VmPlan vp) throws RuntimeException
     {
-        final var scheduler = PolicyLoader.cloudletScheduler(vmr);
+        final VmRegistry vmr = vp.registry();
+        final var scheduler = vp.cloudletScheduler().get();
         final Vm vm = new VmSimple(id, vmr.getMips(), vmr.getPes());
         vm
             .setRam(vmr.getRam())
@@ -176,6 +276,10 @@ public class CloudSimulation implements Runnable {
             .setSize(vmr.getSize())
             .setCloudletScheduler(scheduler)
             .setBroker(broker);
+        vmsById[id] = vm;
+        if(statisticsEnabled) {
+            vmGroupsById[id] = vmRegistryGroups.get(vp);
+        }
         return vm;
     }
 
@@ -188,21 +292,20 @@ public class CloudSimulation implements Runnable {
      * @return the map of Cloudlets created.
      */
     private Map<DatacenterBroker, List<Cloudlet>> createCloudlets(
-        final Map<DatacenterBroker, CustomerRegistry> brokerRegistries)
+        final Map<DatacenterBroker, BrokerPlan> brokerRegistries)
     {
-        final var map = new HashMap<DatacenterBroker, List<Cloudlet>>(brokerRegistries.size());
-        int createdCloudlets = 0;
+        final var map = new LinkedHashMap<DatacenterBroker, List<Cloudlet>>(brokerRegistries.size());
         for (var broker : brokerRegistries.keySet()) {
-            final int cloudletsNum =
-                brokerRegistries.get(broker)
-                    .getCloudlets()
-                    .stream()
-                    .mapToInt(CloudletRegistry::getAmount)
-                    .sum();
-            final var cloudletList = new ArrayList<Cloudlet>(cloudletsNum);
-            for (CloudletRegistry up : brokerRegistries.get(broker).getCloudlets()) {
-                for (int i = 0; i < up.getAmount(); i++) {
-                    cloudletList.add(createCloudlet(++createdCloudlets, up, broker));
+            final BrokerPlan bp = brokerRegistries.get(broker);
+            final var cloudletList = new ArrayList<Cloudlet>(bp.customer().cloudletsPerCustomer());
+            for (CloudletPlan clp : bp.customer().cloudlets()) {
+                final double submissionDelay = clp.registry().getSubmissionDelay();
+                for (int i = 0; i < clp.amount(); i++) {
+                    final var cloudlet = createCloudlet(bp.cloudletId(clp, i), clp, broker);
+                    if(submissionDelay > 0) {
+                        cloudlet.setSubmissionDelay(i * submissionDelay);
+                    }
+                    cloudletList.add(cloudlet);
                 }
             }
             map.put(broker, cloudletList);
@@ -211,14 +314,31 @@ public class CloudSimulation implements Runnable {
         return map;
     }
 
+    /**
+     * Submits the Cloudlets for each customer (broker) in batches,
+     * creating them just before their submission time.
+     *
+     * @see #setCloudletBatchSize(int)
+     */
+    private void submitCloudletsInBatches() {
+        final var submitter = new CloudletBatchSubmitter(cloudsimplus, cloudletBatchSize, this::createCloudlet);
+        for (var broker : brokers.keySet()) {
+            final BrokerPlan bp = brokers.get(broker);
+            for (CloudletPlan clp : bp.customer().cloudlets()) {
+                submitter.add(broker, clp, bp.cloudletId(clp, 0));
+            }
+        }
+    }
+
     private Cloudlet createCloudlet(
         final int id,
-        final CloudletRegistry up,
+        final CloudletPlan clp,
         final DatacenterBroker broker) throws RuntimeException
     {
-        final var cpuUtilization = PolicyLoader.utilizationModel(up.getUtilizationModelCpu());
-        final var ramUtilization = PolicyLoader.utilizationModel(up.getUtilizationModelRam());
-        final var bwUtilization  = PolicyLoader.utilizationModel(up.getUtilizationModelBw());
+        final CloudletRegistry up = clp.registry();
+        final var cpuUtilization = utilizationModels.get(up.getUtilizationModelCpu(), clp.utilizationModelCpu());
+        final var ramUtilization = utilizationModels.get(up.getUtilizationModelRam(), clp.utilizationModelRam());
+        final var bwUtilization  = utilizationModels.get(up.getUtilizationModelBw(), clp.utilizationModelBw());
 
         final var cloudlet = new CloudletSimple(id, up.getLength(), up.getPes());
         cloudlet
@@ -228,9 +348,74 @@ public class CloudSimulation implements Runnable {
             .setUtilizationModelRam(ramUtilization)
             .setUtilizationModelBw(bwUtilization)
             .setBroker(broker);
+        if(isCloudletBatchSubmission()) {
+            cloudlet.addOnFinishListener(this::batchCloudletFinished);
+        } else {
+            cloudletsById[id] = cloudlet;
+        }
+        if(statisticsEnabled) {
+            cloudlet.addOnFinishListener(this::cloudletFinished);
+        }
         return cloudlet;
     }
 
+    /**
+     * Creates the statistics groups for each customer and for each {@link VmRegistry} inside it,
+     * in the order they are declared in the YAML file.
+     */
+    private void createStatisticsGroups() {
+        this.statistics = new CloudletStatistics();
+        this.customerGroups = new IdentityHashMap<>();
+        this.vmRegistryGroups = new IdentityHashMap<>();
+        this.vmGroupsById = new CloudletGroupStats[plan.getTotalVms()];
+        final var customers = plan.getCustomers();
+        for (int i = 0; i < customers.size(); i++) {
+            final CustomerPlan cp = customers.get(i);
+            final String name = cp.registry().getName();
+            final String customerName = name == null || name.isBlank() ? "customers[" + i + "]" : name;
+            customerGroups.put(cp, statistics.group(customerName));
+            for (int j = 0; j < cp.vms().size(); j++) {
+                vmRegistryGroups.put(cp.vms().get(j), statistics.group(customerName + ".vms[" + j + "]"));
+            }
+        }
+    }
+
+    /**
+     * Adds a finished Cloudlet to the statistics of its customer and of the {@link VmRegistry} of its VM.
+     * @param info information about the finished Cloudlet
+     */
+    private void cloudletFinished(final CloudletVmEventInfo info) {
+        final Cloudlet cloudlet = info.getCloudlet();
+        customerGroups.get(brokers.get(cloudlet.getBroker()).customer()).add(cloudlet);
+        vmGroupsById[(int) cloudlet.getVm().getId()].add(cloudlet);
+    }
+
+    /**
+     * Adds a finished Cloudlet, {@link #setCloudletBatchSize(int) submitted in batches}, to the metrics
+     * and sends its result to the {@link #setResultSink(ResultSink) result sink},
+     * so that the finished Cloudlets don't need to be collected from the brokers at the end.
+     * @param info information about the finished Cloudlet
+     */
+    private void batchCloudletFinished(final CloudletVmEventInfo info) {
+        final Cloudlet cloudlet = info.getCloudlet();
+        finishedMetrics.add(cloudlet);
+        if(resultSink == ResultSink.NULL) {
+            return;
+        }
+
+        pendingResults.add(CloudletResult.of(label, cloudlet));
+        if(pendingResults.size() >= cloudletBatchSize) {
+            writePendingResults();
+        }
+    }
+
+    private void writePendingResults() {
+        if(!pendingResults.isEmpty()) {
+            resultSink.write(pendingResults);
+            this.pendingResults = new ArrayList<>();
+        }
+    }
+
     /**
      * Searches for a VM, with the specified id, at the broker (that represents
      * the customer).
@@ -240,7 +425,8 @@ public class CloudSimulation implements Runnable {
      * @return the VM with the given ID or {@link Vm#NULL} if not found.
      */
     private Vm findVm(final DatacenterBroker broker, final int vmId) {
-        return vmsToBrokerMap.get(broker).stream().filter(vm -> vm.getId() == vmId).findFirst().orElse(Vm.NULL);
+        final Vm vm = getVm(vmId);
+        return vm.getBroker() == broker ? vm : Vm.NULL;
     }
 
     /**
@@ -257,22 +443,21 @@ public class CloudSimulation implements Runnable {
     private List<Datacenter> createDatacenters() throws IllegalArgumentException {
         String datacenterName;
         int datacenterCount = 0;
-        final int datacenterNumber = scenario.getDatacenters().stream().mapToInt(DatacenterRegistry::getAmount).sum();
-        final var datacenterList = new ArrayList<Datacenter>(datacenterNumber);
-        for (DatacenterRegistry dcr : scenario.getDatacenters()) {
-            int hostCount = 0;
-            for (int i = 0; i < dcr.getAmount(); i++) {
-                datacenterName = generateDataCenterName(dcr, ++datacenterCount);
+        final var datacenterList = new ArrayList<Datacenter>(plan.getTotalDatacenters());
+        for (DatacenterPlan dcp : plan.getDatacenters()) {
+            for (int i = 0; i < dcp.amount(); i++) {
+                datacenterName = generateDataCenterName(dcp.registry(), ++datacenterCount);
+                final var event = new DatacenterBuildEvent(label, datacenterName);
 
-                List<Host> hostList = createHosts(dcr, hostCount);
-                hostCount += hostList.size();
+                List<Host> hostList = createHosts(dcp, i);
 
                 try {
-                    final var dc = createDataCenter(datacenterName, dcr, hostList);
+                    final var dc = createDataCenter(datacenterName, dcp, hostList);
                     datacenterList.add(dc);
                 } catch (Exception e) {
-                    e.printStackTrace(System.out);
+                    e.printStackTrace(out);
                 }
+                event.setHosts(hostList.size()).commit();
             }
         }
 
@@ -280,27 +465,25 @@ public class CloudSimulation implements Runnable {
     }
 
     /**
-     * Creates the concrete host list from the abstract DatacenterRegistry
+     * Creates the concrete host list from the plan for an abstract DatacenterRegistry
      * object.
      *
-     * @param dcr       A specific abstract datacenter information
+     * @param dcp       The plan for a specific abstract datacenter information
      *                  get from the datacenterRegistries list at the YAML file.
-     * @param initialHostId the ID for the first Host to be created
+     * @param datacenterIndex the index of the Datacenter to create Hosts for,
+     *                        among the ones created from the same DatacenterRegistry
      * @return the list of created hosts from the specified datacenterRegistry.
      * @throws RuntimeException
      * @see YamlCloudScenario#getDatacenters()
      */
     private List<Host> createHosts(
-        final DatacenterRegistry dcr, int initialHostId) throws RuntimeException
+        final DatacenterPlan dcp, final int datacenterIndex) throws RuntimeException
     {
-        int hostId;
-        final int hostNumber = dcr.getHosts().stream().mapToInt(HostRegistry::getAmount).sum();
-        final var hostList = new ArrayList<Host>(hostNumber);
-        for (HostRegistry hr : dcr.getHosts()) {
-            for (int i = 0; i < hr.getAmount(); i++) {
-                List<Pe> peList = createHostProcessingElements(hr);
-                hostId = generateHostId(hr, ++initialHostId);
-                hostList.add(createHost(hostId, hr, peList));
+        final var hostList = new ArrayList<Host>(dcp.hostsPerDatacenter());
+        for (HostPlan hp : dcp.hosts()) {
+            for (int i = 0; i < hp.amount(); i++) {
+                List<Pe> peList = createHostProcessingElements(hp);
+                hostList.add(createHost(dcp.hostId(datacenterIndex, hp, i), hp, peList));
             }
         }
 
@@ -317,12 +500,12 @@ public class CloudSimulation implements Runnable {
     }
 
     private Datacenter createDataCenter(
-        final String datacenterName, final DatacenterRegistry dcr,
+        final String datacenterName, final DatacenterPlan dcp,
         final List<Host> hostList)
     {
-
+        final DatacenterRegistry dcr = dcp.registry();
         final var storageList = createSan(dcr);
-        final var allocationPolicy = PolicyLoader.vmAllocationPolicy(dcr);
+        final var allocationPolicy = dcp.vmAllocationPolicy().get();
 
         final var dc = new DatacenterSimple(cloudsimplus, hostList, allocationPolicy);
         dc.setSchedulingInterval(dcr.getSchedulingInterval())
@@ -331,10 +514,11 @@ public class CloudSimulation implements Runnable {
         return dc;
     }
 
-    private Host createHost(final int hostId, final HostRegistry hr, final List<Pe> peList) throws RuntimeException {
-        final var ramProvisioner = PolicyLoader.newResourceProvisioner(hr);
-        final var bwProvisioner  = PolicyLoader.newResourceProvisioner(hr);
-        final var vmScheduler    = PolicyLoader.vmScheduler(hr.getVmScheduler());
+    private Host createHost(final int hostId, final HostPlan hp, final List<Pe> peList) throws RuntimeException {
+        final HostRegistry hr = hp.registry();
+        final var ramProvisioner = hp.ramProvisioner().get();
+        final var bwProvisioner  = hp.bwProvisioner().get();
+        final var vmScheduler    = hp.vmScheduler().get();
 
         final var host = new HostSimple(hr.getRam(), hr.getBw(), hr.getStorage(), peList);
         host
@@ -342,13 +526,10 @@ public class CloudSimulation implements Runnable {
             .setBwProvisioner(bwProvisioner)
             .setVmScheduler(vmScheduler)
             .setId(hostId);
+        hostsById[hostId] = host;
         return host;
     }
 
-    private int generateHostId(final HostRegistry hr, final int currentHostCount) {
-        return hr.getId() != 0 ? hr.getId() : currentHostCount;
-    }
-
     /**
      * Creates a CloudSim StorageSystem Area Network (SAN) from an abstract DatacenterRegistry
      * information, get from a YAML specification file.
@@ -394,13 +575,14 @@ public class CloudSimulation implements Runnable {
      * Creates a list of PEs (Processing Elements, i.e. CPUs/Cores)
      * for a host or VM.
      *
-     * @param hr The abstract Host information obtained from the YAML file.
+     * @param hp The plan for the abstract Host information obtained from the YAML file.
      * @return Returns the list of PEs created.
      */
-    private List<Pe> createHostProcessingElements(final HostRegistry hr) {
+    private List<Pe> createHostProcessingElements(final HostPlan hp) {
+        final HostRegistry hr = hp.registry();
         final var peList = new ArrayList<Pe>(hr.getPes());
         for (int i = 0; i < hr.getPes(); i++) {
-            peList.add(new PeSimple(hr.getMips(), PolicyLoader.newPeProvisioner(hr)));
+            peList.add(new PeSimple(hr.getMips(), hp.peProvisioner().get()));
         }
 
         return peList;
@@ -408,42 +590,274 @@ public class CloudSimulation implements Runnable {
 
     /**
      * Builds and runs the simulation scenario in CloudSim Plus.
+     * If a {@link #setResultCache(ResultCache) result cache} is set and it has the results
+     * for the same scenario and settings, they are just printed instead.
      */
     @Override
     public void run() {
-        final double startTime = System.currentTimeMillis();
+        final String cacheKey = resultCache == null ? null : resultCache.key(this);
+        if(cacheKey == null) {
+            runSimulation();
+            return;
+        }
+
+        final var cached = resultCache.get(cacheKey);
+        if(cached != null) {
+            this.metrics = cached.metrics();
+            out.print(cached.output());
+            out.print(ResultCache.loadedMessage(cacheKey));
+            return;
+        }
+
+        /* Prints the output as usual, but keeps a copy to be stored into the cache. */
+        final var originalOut = out;
+        final var buffer = new ByteArrayOutputStream();
+        this.out = new PrintStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+                originalOut.write(b);
+                buffer.write(b);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int off, final int len) {
+                originalOut.write(bytes, off, len);
+                buffer.write(bytes, off, len);
+            }
+        }, true);
+
+        try {
+            runSimulation();
+        } finally {
+            out.flush();
+            this.out = originalOut;
+        }
+
+        resultCache.put(cacheKey, metrics, buffer.toString());
+    }
+
+    /**
+     * Builds and runs the simulation scenario, measuring each phase.
+     */
+    private void runSimulation() {
+        /* Keeps the time spent parsing the scenario, which is measured before the simulation is run. */
+        final var parseStats = profile.get(Phase.PARSE);
+        this.profile = new RunProfile(label);
+        profile.add(Phase.PARSE, parseStats);
+
+        profile.begin(Phase.DATACENTERS);
+        initialize();
+        buildDatacenters();
+
+        profile.begin(Phase.ENTITIES);
+        buildCustomers();
+
+        profile.begin(Phase.SUBMISSION);
+        submit();
+
+        profile.begin(Phase.SIMULATION);
+        simulate();
+
+        profile.begin(Phase.REPORT);
+        report();
+
+        profile.end();
+        out.println();
+        printFinalResults(profile.getRunTotal().wallSeconds());
+    }
+
+    /**
+     * Creates the CloudSim Plus instance and the structures used to build the simulation.
+     */
+    void initialize() {
         this.cloudsimplus = new CloudSimPlus();
+        this.utilizationModels = new UtilizationModelPool(shareUtilizationModels, seed == null ? null : new SplittableRandom(seed));
+        this.hostsById = new Host[plan.getTotalHosts()];
+        this.vmsById = new Vm[plan.getTotalVms()];
+        /* Cloudlets submitted in batches are found through their brokers,
+         * so that no table for all Cloudlets is allocated before they're created. */
+        this.cloudletsById = new Cloudlet[isCloudletBatchSubmission() ? 0 : plan.getTotalCloudlets()];
+        this.finishedMetrics = new RunMetrics.Accumulator();
+        this.pendingResults = new ArrayList<>();
+        if(statisticsEnabled) {
+            createStatisticsGroups();
+        }
         if(!logEnabled){
             Log.setLevel(Level.OFF);
         }
+    }
 
+    /**
+     * Creates the Datacenters and their Hosts.
+     */
+    void buildDatacenters() {
         this.datacenters = createDatacenters();
         printScenariosConfiguration();
+    }
 
+    /**
+     * Creates the brokers, their VMs and Cloudlets
+     * (unless Cloudlets are {@link #setCloudletBatchSize(int) created in batches}).
+     */
+    void buildCustomers() {
         this.brokers = createBrokers();
         this.vmsToBrokerMap = createVmListForAllBrokers(brokers);
-        this.cloudletsToBrokerMap = createCloudlets(brokers);
+        this.cloudletsToBrokerMap = isCloudletBatchSubmission() ? new LinkedHashMap<>() : createCloudlets(brokers);
+    }
 
+    /**
+     * Submits the VMs and Cloudlets to the brokers.
+     */
+    private void submit() {
         for (final var broker : brokers.keySet()) {
             broker.submitVmList(vmsToBrokerMap.get(broker));
-            broker.submitCloudletList(cloudletsToBrokerMap.get(broker));
         }
 
+        if(isCloudletBatchSubmission()) {
+            submitCloudletsInBatches();
+        } else {
+            for (final var broker : brokers.keySet()) {
+                broker.submitCloudletList(cloudletsToBrokerMap.get(broker));
+            }
+        }
+    }
+
+    private void simulate() {
+        final var clockMilestones = ClockMilestoneEvent.isTypeEnabled() ? new ClockMilestones() : null;
         cloudsimplus.start();
+        if(clockMilestones != null) {
+            clockMilestones.finish();
+        }
+    }
 
-        if(showResults) {
+    /**
+     * Writes the results to the configured outputs and shows them.
+     */
+    private void report() {
+        if(isCloudletBatchSubmission()) {
+            this.metrics = finishedMetrics.get();
+            writePendingResults();
+        } else {
+            this.metrics = RunMetrics.of(brokers.keySet().stream().map(DatacenterBroker::getCloudletFinishedList).toList());
+            writeResults();
+        }
+        writeBinaryResults();
+
+        if(showResults && statisticsEnabled) {
+            statistics.print(out);
+        } else if(showResults) {
             for (final var broker : brokers.keySet()) {
                 final var cloudletList = broker.getCloudletFinishedList();
                 cloudletList.sort(comparingLong((Cloudlet c) -> c.getVm().getId()).thenComparingLong(Cloudlet::getId));
-                new CloudletsTableBuilder(cloudletList)
+                final var table = new TextTable();
+                table.setPrintStream(out);
+                new CloudletsTableBuilder(cloudletList, table)
                     .setTitle(broker.getName())
                     .build();
             }
         }
+    }
+
+    /**
+     * Emits {@link ClockMilestoneEvent}s as the simulation clock advances,
+     * when the simulation is being recorded by the JDK Flight Recorder.
+     */
+    private final class ClockMilestones {
+        private ClockMilestoneEvent event;
+        private long lastMilestoneNanos;
+
+        ClockMilestones() {
+            this.event = new ClockMilestoneEvent(label, 0);
+            this.lastMilestoneNanos = System.nanoTime();
+            cloudsimplus.addOnClockTickListener(info -> clockTick(info.getTime()));
+        }
+
+        private void clockTick(final double time) {
+            final long now = System.nanoTime();
+            if(now - lastMilestoneNanos >= ClockMilestoneEvent.INTERVAL_NANOS) {
+                event.setToTime(time).commit();
+                event = new ClockMilestoneEvent(label, time);
+                lastMilestoneNanos = now;
+            }
+        }
+
+        void finish() {
+            event.setToTime(cloudsimplus.clock()).commit();
+        }
+    }
+
+    /**
+     * Sends the results of the finished Cloudlets of each broker to the {@link #setResultSink(ResultSink) result sink}.
+     */
+    private void writeResults() {
+        if(resultSink == ResultSink.NULL){
+            return;
+        }
+
+        for (final var broker : brokers.keySet()) {
+            final List<Cloudlet> cloudletList = broker.getCloudletFinishedList();
+            final var results = new ArrayList<CloudletResult>(cloudletList.size());
+            for (final Cloudlet cloudlet : cloudletList) {
+                results.add(CloudletResult.of(label, cloudlet));
+            }
+            resultSink.write(results);
+        }
+    }
+
+    /**
+     * Writes the results of all finished Cloudlets to a columnar binary file
+     * inside the {@link #setBinaryResultsDir(Path) binary results directory}.
+     * @see ColumnarResultWriter
+     */
+    private void writeBinaryResults() {
+        if(binaryResultsDir == null){
+            return;
+        }
+
+        final var cloudlets = new ArrayList<Cloudlet>(plan.getTotalCloudlets());
+        for (final var broker : brokers.keySet()) {
+            cloudlets.addAll(broker.getCloudletFinishedList());
+        }
+
+        final Path file = getBinaryResultsFile();
+        try {
+            new ColumnarResultWriter(cloudlets.size())
+                .metadata("scenario", label)
+                .metadata("cloudsimplusVersion", CloudSimPlus.VERSION)
+                .metadata("simulationTime", cloudsimplus.clock())
+                .metadata("datacenters", plan.getTotalDatacenters())
+                .metadata("hosts", plan.getTotalHosts())
+                .metadata("brokers", plan.getTotalBrokers())
+                .metadata("vms", plan.getTotalVms())
+                .metadata("cloudlets", plan.getTotalCloudlets())
+                .intColumn("cloudlet", i -> (int) cloudlets.get(i).getId())
+                .intColumn("broker", i -> (int) cloudlets.get(i).getBroker().getId())
+                .intColumn("vm", i -> (int) cloudlets.get(i).getVm().getId())
+                .intColumn("host", i -> (int) cloudlets.get(i).getVm().getHost().getId())
+                .intColumn("datacenter", i -> (int) cloudlets.get(i).getVm().getHost().getDatacenter().getId())
+                .doubleColumn("startTime", i -> cloudlets.get(i).getStartTime())
+                .doubleColumn("finishTime", i -> cloudlets.get(i).getFinishTime())
+                .doubleColumn("execTime", i -> cloudlets.get(i).getFinishTime() - cloudlets.get(i).getStartTime())
+                .doubleColumn("cost", i -> cloudlets.get(i).getTotalCost())
+                .write(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error writing binary results to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the path of the file where the binary results of this simulation are written,
+     * which is named after the simulation label.
+     * @return the file path or null if binary results are not enabled
+     * @see #setBinaryResultsDir(Path)
+     */
+    public Path getBinaryResultsFile() {
+        if(binaryResultsDir == null){
+            return null;
+        }
 
-        final double finishTimeSecs = (System.currentTimeMillis() - startTime) / 1000;
-        System.out.println();
-        printFinalResults(finishTimeSecs);
+        final String name = label.isBlank() ? "scenario" : label.strip().replaceAll("[^A-Za-z0-9._-]+", "_");
+        return binaryResultsDir.resolve(name + ".cres");
     }
 
     private void printScenariosConfiguration() {
@@ -451,57 +865,50 @@ public class CloudSimulation implements Runnable {
             return;
         }
 
-        System.out.println("Hosts========================");
+        out.println("Hosts========================");
         for (Datacenter datacenter : datacenters) {
-            System.out.println(datacenter.getName() + ": " + datacenter.getHostList().size() + " hosts");
+            out.println(datacenter.getName() + ": " + datacenter.getHostList().size() + " hosts");
         }
-        System.out.println("=============================");
+        out.println("=============================");
     }
 
     private void printFinalResults(final double finishTimeSecs) {
         LogUtils.setColSeparator(";");
         final String[] captions =
             {"Framework    ", "Simulation time (seconds)", "Simulation time (minutes)", "Simulation time (hours)",
-                "Datacenters", "Hosts from all DCs", "VMs from all Customers", "Cloudlets from all Customers"};
+                "Datacenters", "Hosts from all DCs", "VMs from all Customers", "Cloudlets from all Customers",
+                "Shared utilization models", "Memory saved by sharing (KB)"};
 
-        LogUtils.printCaptions(captions);
-        LogUtils.printLine(captions,
+        LogUtils.printCaptions(out, captions);
+        LogUtils.printLine(out, captions,
             "CloudSim Plus",
-            finishTimeSecs,
+            String.format("%.3f", finishTimeSecs),
             String.format("%.4f", finishTimeSecs/60.0),
             String.format("%.6f", finishTimeSecs/3600.0),
-            getNumDatacenters(),
-            getNumHostsFromAllDatacenters(),
-            getNumVmsFromAllCustomers(),
-            getNumCloudletsFromAllCustomers());
-    }
-
-    private int getNumDatacenters() {
-        return scenario.getDatacenters().stream().mapToInt(DatacenterRegistry::getAmount).sum();
-    }
-
-    private int getNumHostsFromAllDatacenters() {
-        return scenario.getDatacenters().stream().mapToInt(dc -> dc.getAmount() * getNumOfHostsFromDatacenter(dc)).sum();
-    }
-
-    private int getNumOfHostsFromDatacenter(DatacenterRegistry dc) {
-        return dc.getHosts().stream().mapToInt(h -> h.getAmount()).sum();
+            plan.getTotalDatacenters(),
+            plan.getTotalHosts(),
+            plan.getTotalVms(),
+            plan.getTotalCloudlets(),
+            utilizationModels.getReusedInstances(),
+            String.format("%.1f", utilizationModels.getEstimatedSavedBytes()/1024.0));
+        out.println();
+        profile.print(out);
     }
 
-    private int getNumVmsFromAllCustomers() {
-        return scenario.getCustomers().stream().mapToInt(c -> c.getAmount() * getNumVmsForCustomer(c)).sum();
-    }
-
-    private int getNumVmsForCustomer(CustomerRegistry customer) {
-        return customer.getVms().stream().mapToInt(vm -> vm.getAmount()).sum();
-    }
-
-    private int getNumCloudletsFromAllCustomers() {
-        return scenario.getCustomers().stream().mapToInt(c -> c.getAmount() * getNumCloudletsForCustomer(c)).sum();
+    /**
+     * Gets the time, memory allocation and garbage collection spent in each phase of the last simulation run.
+     * @return
+     */
+    public RunProfile getProfile() {
+        return profile;
     }
 
-    private int getNumCloudletsForCustomer(CustomerRegistry customer) {
-        return customer.getCloudlets().stream().mapToInt(cloudlet -> cloudlet.getAmount()).sum();
+    /**
+     * Gets the {@link ScenarioPlan} used to build the simulation.
+     * @return
+     */
+    public ScenarioPlan getPlan() {
+        return plan;
     }
     /**
      * Gets the <a href="http://cloudsimplus.org">CloudSim Plus</a> instance used to run the simulation.
@@ -562,23 +969,223 @@ public class CloudSimulation implements Runnable {
         return vmsToBrokerMap.values().stream().flatMap(List::stream).collect(toList());
     }
 
+    /**
+     * Gets a {@link Host} by its ID.
+     * @param id the Host ID
+     * @return the Host or {@link Host#NULL} if there is no Host with such an ID
+     */
+    public Host getHost(final long id) {
+        return lookup(hostsById, id, Host.NULL);
+    }
+
+    /**
+     * Gets a {@link Vm} by its ID.
+     * @param id the VM ID
+     * @return the VM or {@link Vm#NULL} if there is no VM with such an ID
+     */
+    public Vm getVm(final long id) {
+        return lookup(vmsById, id, Vm.NULL);
+    }
+
+    /**
+     * Gets a {@link Cloudlet} by its ID.
+     * If Cloudlets are {@link #setCloudletBatchSize(int) submitted in batches},
+     * this is just a best-effort lookup: Cloudlets not created yet aren't found,
+     * and since the Cloudlets aren't indexed by ID in such a case,
+     * the ones submitted to the broker owning the ID are searched one by one.
+     * @param id the Cloudlet ID
+     * @return the Cloudlet or {@link Cloudlet#NULL} if there is no Cloudlet with such an ID
+     */
+    public Cloudlet getCloudlet(final long id) {
+        if(!isCloudletBatchSubmission()) {
+            return lookup(cloudletsById, id, Cloudlet.NULL);
+        }
+
+        for (final var entry : brokers.entrySet()) {
+            if(entry.getValue().ownsCloudlet(id)) {
+                return entry.getKey().getCloudletSubmittedList().stream()
+                            .filter(cloudlet -> cloudlet.getId() == id)
+                            .findFirst().orElse(Cloudlet.NULL);
+            }
+        }
+
+        return Cloudlet.NULL;
+    }
+
+    private static <T> T lookup(final T[] table, final long id, final T nullObject) {
+        if(id < 0 || id >= table.length || table[(int)id] == null){
+            return nullObject;
+        }
+
+        return table[(int)id];
+    }
+
     /**
      * Gets the list of applications ({@link Cloudlet}s) for each customer ({@link DatacenterBroker})
      * created in CloudSim Plus.
+     * If Cloudlets are {@link #setCloudletBatchSize(int) submitted in batches},
+     * returns just the Cloudlets submitted so far.
      * @return
      * @see #getCloudlets()
      */
     public List<Cloudlet> getCloudlets(DatacenterBroker broker){
+        if(isCloudletBatchSubmission()) {
+            return broker.getCloudletSubmittedList();
+        }
+
         return cloudletsToBrokerMap.get(broker);
     }
 
     /**
      * Gets the list of all applications ({@link Cloudlet}s) created in CloudSim Plus.
+     * If Cloudlets are {@link #setCloudletBatchSize(int) submitted in batches},
+     * returns just the Cloudlets submitted so far.
      * @return
      * @see #getCloudlets(DatacenterBroker)
      */
     public List<Cloudlet> getCloudlets(){
-        return cloudletsToBrokerMap.values().stream().flatMap(List::stream).collect(toList());
+        return brokers.keySet().stream().map(this::getCloudlets).flatMap(List::stream).collect(toList());
+    }
+
+    /**
+     * Gets the label used to identify the running simulation scenario.
+     * @return
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the {@link PrintStream} where simulation results are printed.
+     * @return
+     */
+    public PrintStream getOutput() {
+        return out;
+    }
+
+    /**
+     * Sets the {@link PrintStream} where simulation results are printed
+     * (by default, {@link System#out}).
+     * This enables concurrently running simulations to write their results
+     * to separate buffers, so that they don't get interleaved.
+     *
+     * @param out the PrintStream to set
+     * @return
+     */
+    public CloudSimulation setOutput(final PrintStream out) {
+        this.out = Objects.requireNonNull(out);
+        return this;
+    }
+
+    public ResultSink getResultSink() {
+        return resultSink;
+    }
+
+    /**
+     * Sets a {@link ResultSink} where the results of all finished Cloudlets are written,
+     * besides being shown in the simulation results table.
+     * @param resultSink the sink to set (which is not closed by the simulation)
+     * @return
+     */
+    public CloudSimulation setResultSink(final ResultSink resultSink) {
+        this.resultSink = Objects.requireNonNull(resultSink);
+        return this;
+    }
+
+    public Path getBinaryResultsDir() {
+        return binaryResultsDir;
+    }
+
+    /**
+     * Sets a directory where the results of all finished Cloudlets are written
+     * to a compact columnar binary file, which can be read by a
+     * {@link org.cloudsimplus.automation.results.ColumnarResultReader}.
+     * @param binaryResultsDir the existing directory to write the results, or null to disable binary results (the default)
+     * @return
+     * @see #getBinaryResultsFile()
+     */
+    public CloudSimulation setBinaryResultsDir(final Path binaryResultsDir) {
+        this.binaryResultsDir = binaryResultsDir;
+        return this;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Enables or disables computing statistics for the finished Cloudlets,
+     * grouped by customer and by {@link VmRegistry}, as they finish.
+     * When enabled, a summary of such statistics is shown as the simulation results,
+     * instead of a table with every Cloudlet.
+     * @param statisticsEnabled true to enable statistics, false otherwise (the default)
+     * @return
+     * @see #getStatistics()
+     */
+    public CloudSimulation setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the statistics for the finished Cloudlets of the last simulation run.
+     * @return the statistics or null if they are not {@link #setStatisticsEnabled(boolean) enabled}
+     */
+    public CloudletStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the overall metrics of the last simulation run.
+     * @return the metrics or null if the simulation wasn't run yet
+     */
+    public RunMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics of the simulation when it was run in another process by a {@link WorkerPool}.
+     * @param metrics the metrics to set
+     */
+    void setMetrics(final RunMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets a cache to get the results from, if the simulation was already run with the same scenario and settings,
+     * or to store the results into after the simulation runs.
+     * @param resultCache the cache to set, or null to always run the simulation
+     * @return
+     * @see ResultCache#key(CloudSimulation)
+     */
+    public CloudSimulation setResultCache(final ResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
+    /**
+     * Gets the seed for the random values of the simulation.
+     * @return the seed or null if it wasn't set
+     * @see #setSeed(Long)
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed for the random values of the simulation (such as the ones from
+     * {@code Stochastic} utilization models), so that running the simulation with the same seed
+     * always produces the same results.
+     * @param seed the seed to set, or null to let each random generator use its default seed
+     * @return
+     */
+    public CloudSimulation setSeed(final Long seed) {
+        this.seed = seed;
+        return this;
     }
 
     public boolean isShowResults() {
@@ -599,6 +1206,72 @@ public class CloudSimulation implements Runnable {
         return this;
     }
 
+    public boolean isShareUtilizationModels() {
+        return shareUtilizationModels;
+    }
+
+    /**
+     * Enables or disables sharing a single instance of each stateless {@link org.cloudsimplus.utilizationmodels.UtilizationModel}
+     * among all Cloudlets (enabled by default).
+     * @param shareUtilizationModels true to share stateless utilization models, false to create one instance per Cloudlet
+     * @return
+     * @see UtilizationModelPool
+     */
+    public CloudSimulation setShareUtilizationModels(final boolean shareUtilizationModels) {
+        this.shareUtilizationModels = shareUtilizationModels;
+        return this;
+    }
+
+    /**
+     * Gets the pool providing the {@link org.cloudsimplus.utilizationmodels.UtilizationModel}s
+     * for the Cloudlets of the last simulation run.
+     * @return
+     */
+    public UtilizationModelPool getUtilizationModels() {
+        return utilizationModels;
+    }
+
+    public int getCloudletBatchSize() {
+        return cloudletBatchSize;
+    }
+
+    /**
+     * Checks if Cloudlets are created lazily and submitted in batches.
+     * @return
+     * @see #setCloudletBatchSize(int)
+     */
+    public boolean isCloudletBatchSubmission() {
+        return cloudletBatchSize > 0;
+    }
+
+    /**
+     * Sets the number of Cloudlets to be created at once from each {@link CloudletRegistry},
+     * just before their submission time.
+     * This way, Cloudlets arriving over a long simulation time are not all kept in memory since the beginning.
+     * The metrics are computed and the results are sent to the {@link #setResultSink(ResultSink) result sink}
+     * as each Cloudlet finishes (so results are written in the order Cloudlets finish).
+     * However, the brokers keep every submitted Cloudlet until the simulation ends
+     * (CloudSim Plus provides no way to release them),
+     * so the memory used still grows with the number of Cloudlets submitted so far,
+     * instead of just with the Cloudlets being executed.
+     * No lookup table for all Cloudlets is allocated:
+     * {@link #getCloudlet(long)} is just a best-effort search in the Cloudlets submitted to the broker owning the ID.
+     * The arrival of Cloudlets is defined by the {@link CloudletRegistry#getSubmissionDelay() submissionDelay}.
+     *
+     * @param cloudletBatchSize the number of Cloudlets in each batch,
+     *                          or 0 to create all Cloudlets before the simulation starts (the default)
+     * @return
+     * @see CloudletBatchSubmitter
+     */
+    public CloudSimulation setCloudletBatchSize(final int cloudletBatchSize) {
+        if(cloudletBatchSize < 0){
+            throw new IllegalArgumentException("The Cloudlet batch size cannot be negative.");
+        }
+
+        this.cloudletBatchSize = cloudletBatchSize;
+        return this;
+    }
+
     public boolean isPrintScenariosConfiguration() {
         return printScenariosConfiguration;
     }
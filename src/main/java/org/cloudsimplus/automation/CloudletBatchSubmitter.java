@@ -0,0 +1,185 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import cloudreports.models.CloudletRegistry;
+import org.cloudsimplus.automation.ScenarioPlan.CloudletPlan;
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.listeners.EventInfo;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+import static java.util.Comparator.comparingDouble;
+
+/**
+ * Creates and submits the Cloudlets of a simulation lazily, in batches,
+ * just before their submission time.
+ *
+ * <p>The Cloudlets from a {@link CloudletRegistry} arrive one after another,
+ * every {@link CloudletRegistry#getSubmissionDelay() submissionDelay} seconds.
+ * Instead of creating all of them before the simulation starts,
+ * just the first batch of each registry is submitted.
+ * When the last Cloudlet of a batch arrives, the next batch is created and submitted.
+ * This way, the Cloudlets which will arrive just in a distant simulation time
+ * are not kept in memory since the beginning.
+ * However, the brokers keep every submitted Cloudlet until the simulation ends
+ * (CloudSim Plus provides no way to release them),
+ * so the memory used still grows with the number of Cloudlets submitted so far.</p>
+ *
+ * <p>Registries without a submission delay have all their Cloudlets arriving at the same time,
+ * so they are all submitted when the simulation starts.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletBatchSubmitter {
+    /**
+     * A function that creates a Cloudlet for a broker.
+     */
+    @FunctionalInterface
+    public interface CloudletFactory {
+        /**
+         * Creates a Cloudlet.
+         * @param id the Cloudlet ID
+         * @param clp the plan for the registry the Cloudlet is created from
+         * @param broker the broker that owns the Cloudlet
+         * @return the new Cloudlet
+         */
+        Cloudlet create(int id, CloudletPlan clp, DatacenterBroker broker);
+    }
+
+    private final CloudSimPlus simulation;
+    private final int batchSize;
+    private final CloudletFactory factory;
+
+    /**
+     * The registries which still have Cloudlets to be submitted,
+     * sorted by the arrival time of the last submitted Cloudlet.
+     */
+    private final PriorityQueue<Cursor> pending;
+    private boolean listenerRegistered;
+
+    /**
+     * Keeps track of the next Cloudlet to be created from a {@link CloudletRegistry} for a given broker.
+     */
+    private static final class Cursor {
+        private final DatacenterBroker broker;
+        private final CloudletPlan plan;
+        private final int firstId;
+        private int next;
+
+        /** The time the last submitted Cloudlet arrives. */
+        private double lastArrivalTime;
+
+        Cursor(final DatacenterBroker broker, final CloudletPlan plan, final int firstId) {
+            this.broker = broker;
+            this.plan = plan;
+            this.firstId = firstId;
+        }
+
+        double arrivalTime(final int index) {
+            return index * plan.registry().getSubmissionDelay();
+        }
+
+        boolean hasNext() {
+            return next < plan.amount();
+        }
+    }
+
+    /**
+     * Instantiates a submitter.
+     * @param simulation the simulation the Cloudlets are submitted to
+     * @param batchSize the maximum number of Cloudlets created at once for each registry
+     * @param factory the function used to create each Cloudlet
+     */
+    public CloudletBatchSubmitter(final CloudSimPlus simulation, final int batchSize, final CloudletFactory factory) {
+        if(batchSize < 1){
+            throw new IllegalArgumentException("The Cloudlet batch size must be at least 1.");
+        }
+
+        this.simulation = simulation;
+        this.batchSize = batchSize;
+        this.factory = factory;
+        this.pending = new PriorityQueue<>(comparingDouble((Cursor c) -> c.lastArrivalTime));
+    }
+
+    /**
+     * Adds the Cloudlets from a registry to be submitted to a broker,
+     * submitting the first batch right away.
+     * @param broker the broker to submit the Cloudlets to
+     * @param clp the plan for the registry to create Cloudlets from
+     * @param firstId the ID of the first Cloudlet created from the registry
+     */
+    public void add(final DatacenterBroker broker, final CloudletPlan clp, final int firstId) {
+        final var cursor = new Cursor(broker, clp, firstId);
+        if(clp.registry().getSubmissionDelay() <= 0) {
+            submitBatch(cursor, clp.amount(), 0);
+            return;
+        }
+
+        submitBatch(cursor, batchSize, 0);
+        if(cursor.hasNext()) {
+            if(!listenerRegistered) {
+                simulation.addOnClockTickListener(this::clockTickListener);
+                listenerRegistered = true;
+            }
+            pending.add(cursor);
+        }
+    }
+
+    /**
+     * Submits the next batch for every registry whose last submitted Cloudlet has already arrived.
+     * @param info information about the clock tick
+     */
+    private void clockTickListener(final EventInfo info) {
+        final double time = info.getTime();
+        while (!pending.isEmpty() && pending.peek().lastArrivalTime <= time) {
+            final Cursor cursor = pending.remove();
+            submitBatch(cursor, batchSize, time);
+            if(cursor.hasNext()) {
+                pending.add(cursor);
+            }
+        }
+    }
+
+    /**
+     * Creates and submits the next batch of Cloudlets from a registry.
+     * @param cursor the cursor for the registry to create Cloudlets from
+     * @param maxCloudlets the maximum number of Cloudlets to create
+     * @param currentTime the current simulation time
+     */
+    private void submitBatch(final Cursor cursor, final int maxCloudlets, final double currentTime) {
+        final int last = Math.min(cursor.next + maxCloudlets, cursor.plan.amount());
+        final var batch = new ArrayList<Cloudlet>(last - cursor.next);
+        for (; cursor.next < last; cursor.next++) {
+            final Cloudlet cloudlet = factory.create(cursor.firstId + cursor.next, cursor.plan, cursor.broker);
+            cloudlet.setSubmissionDelay(Math.max(cursor.arrivalTime(cursor.next) - currentTime, 0));
+            batch.add(cloudlet);
+        }
+
+        cursor.lastArrivalTime = cursor.arrivalTime(last - 1);
+        cursor.broker.submitCloudletList(batch);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Constants and the schema of the binary format of compiled scenario files,
+ * which are written by the {@link CompiledScenarioWriter} and read by the {@link CompiledScenarioReader}.
+ *
+ * <p>A file starts with a header containing the {@link #MAGIC magic number},
+ * the {@link #VERSION format version} and the {@link #SCHEMA schema hash}.
+ * Then, each scenario is preceded by a {@link #SCENARIO} mark and the file ends with an {@link #END} mark,
+ * so that truncated files are detected.</p>
+ *
+ * <p>A scenario (and each registry inside it) is written as the values of all its
+ * {@link RegistryProperties properties}, sorted by name and without the property names,
+ * in the following formats:</p>
+ * <ul>
+ *   <li>{@code int}, {@code long}, {@code double} and {@code boolean}: their binary representation (big-endian);</li>
+ *   <li>{@code Integer}, {@code Long}, {@code Double} and {@code Boolean}: a byte which is 0 for null or 1 followed by the value;</li>
+ *   <li>{@code String}: a variable-length index into the table of strings of the file
+ *       (0 for null), followed by the length and the UTF-8 bytes of the string
+ *       when it's the first time it appears in the file;</li>
+ *   <li>{@code List}: a variable-length number of registries, followed by each registry.
+ *       A registry is a variable-length 0 followed by its values, when it's the first time it appears
+ *       in the file, or the number of registries written since it was
+ *       (when it's among the last {@link #REGISTRY_WINDOW} ones).
+ *       This way, registries shared by multiple scenarios (see {@link RegistryInterner})
+ *       are written and read just once.</li>
+ * </ul>
+ * <p>After the properties, a scenario has the number of {@link YamlCloudScenario#getParameters() parameters}
+ * and the name and value of each one.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+final class CompiledScenarioFormat {
+    /** The 4 first bytes of compiled scenario files, which are the ASCII codes for "CSAC". */
+    static final int MAGIC = 0x43534143;
+
+    /** The version of the format, which must be increased every time it changes. */
+    static final short VERSION = 2;
+
+    /**
+     * A hash of the names and types of the properties of the scenario and registry classes.
+     * Since property names aren't written, a file cannot be read if such classes have changed.
+     */
+    static final int SCHEMA = schema();
+
+    /**
+     * The number of the last registries which may be referred to by later scenarios,
+     * instead of being written again.
+     */
+    static final int REGISTRY_WINDOW = 1 << 12;
+
+    static final byte END = 0;
+    static final byte SCENARIO = 1;
+
+    /** The default extension for compiled scenario files. */
+    static final String EXTENSION = "yamlc";
+
+    private CompiledScenarioFormat() {/**/}
+
+    private static int schema() {
+        final var descriptor = new StringBuilder();
+        describe(YamlCloudScenario.class, descriptor, new HashSet<>());
+        final var crc = new CRC32();
+        crc.update(descriptor.toString().getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static void describe(final Class<?> klass, final StringBuilder descriptor, final Set<Class<?>> visited) {
+        if(!visited.add(klass)) {
+            return;
+        }
+
+        descriptor.append(klass.getName()).append('{');
+        for (final var property : RegistryProperties.of(klass).all()) {
+            if(property.getter() == null) {
+                continue;
+            }
+
+            descriptor.append(property.name()).append(':').append(property.type().getName());
+            if(property.isList()) {
+                descriptor.append('<').append(property.elementType().getName()).append('>');
+            }
+            descriptor.append(';');
+        }
+        descriptor.append('}');
+
+        for (final var property : RegistryProperties.of(klass).all()) {
+            if(property.isList() && property.getter() != null) {
+                describe(property.elementType(), descriptor, visited);
+            }
+        }
+    }
+}
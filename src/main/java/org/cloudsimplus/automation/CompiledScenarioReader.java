@@ -0,0 +1,381 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.cloudsimplus.automation.CompiledScenarioFormat.*;
+
+/**
+ * A {@link ScenarioReader} for the binary files written by the {@link CompiledScenarioWriter}
+ * (see {@link CompiledScenarioFormat}), which is chosen by default for files with the
+ * {@code .yamlc} extension.
+ *
+ * <p>The file is read through a {@link FileChannel} into a reusable buffer and the values
+ * are set directly into the {@link YamlCloudScenario} and registry objects, without any text parsing.
+ * Each distinct string is created just once for the entire file and shared by all scenarios using it,
+ * as are the registries written just once by the {@link CompiledScenarioWriter}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see Start#compile(String[])
+ */
+public class CompiledScenarioReader implements ScenarioReader {
+    /**
+     * The name of this reader.
+     */
+    public static final String NAME = "compiled";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Set.of(EXTENSION);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IOException also when the file is not a compiled scenarios file
+     *                     or it was compiled by an incompatible version of the tool
+     */
+    @Override
+    public Stream<YamlCloudScenario> stream(final Path file) throws IOException {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file + " (No such file or directory)");
+        }
+
+        final var iterator = new CompiledScenarioIterator(channel, file);
+        final var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    /**
+     * Compiled scenarios are binary files, which cannot be read from a text input
+     * (such as the standard input, when the file name is {@code -}).
+     * @throws IllegalArgumentException always
+     */
+    @Override
+    public Stream<YamlCloudScenario> stream(final Reader input, final Path baseDir) {
+        throw new IllegalArgumentException("Compiled scenarios can only be read from a file, not from the standard input.\n");
+    }
+
+    /**
+     * Reads the scenarios from a compiled file, one at a time.
+     */
+    private static final class CompiledScenarioIterator implements Iterator<YamlCloudScenario>, Closeable {
+        private final FileChannel channel;
+        private final Path file;
+        private final ByteBuffer buffer;
+
+        /** The table of strings read so far, whose index 0 is null. */
+        private final List<String> strings;
+
+        /** The last read registries, where the one with index i is at position {@code i % REGISTRY_WINDOW}. */
+        private final Object[] registryWindow;
+
+        private long nextRegistry;
+
+        private YamlCloudScenario next;
+        private boolean finished;
+
+        CompiledScenarioIterator(final FileChannel channel, final Path file) throws IOException {
+            this.channel = channel;
+            this.file = file;
+            this.buffer = ByteBuffer.allocate(1 << 16).flip();
+            this.strings = new ArrayList<>();
+            this.strings.add(null);
+            this.registryWindow = new Object[REGISTRY_WINDOW];
+            try {
+                readHeader();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private void readHeader() throws IOException {
+            try {
+                if(require(4).getInt() != MAGIC) {
+                    throw new IOException(file + " is not a compiled scenarios file\n");
+                }
+                final short version = require(2).getShort();
+                final int schema = require(4).getInt();
+                if(version != VERSION || schema != SCHEMA) {
+                    throw new IOException(file + " was compiled by another version of the tool. Compile it again from the YAML file.\n");
+                }
+            } catch (EOFException e) {
+                throw new IOException(file + " is not a compiled scenarios file\n", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(next == null && !finished) {
+                try {
+                    next = readNextScenario();
+                } catch (EOFException e) {
+                    throw new UncheckedIOException(new IOException(file + " is truncated. Compile it again from the YAML file.", e));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public YamlCloudScenario next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var scenario = next;
+            next = null;
+            return scenario;
+        }
+
+        private YamlCloudScenario readNextScenario() throws IOException {
+            final byte mark = require(1).get();
+            if(mark == END) {
+                finished = true;
+                return null;
+            }
+            if(mark != SCENARIO) {
+                throw invalidContent(position() - 1);
+            }
+
+            final var scenario = readObject(YamlCloudScenario.class);
+            final int parameters = readLength();
+            if(parameters > 0) {
+                final var map = new LinkedHashMap<String, String>();
+                for (int i = 0; i < parameters; i++) {
+                    map.put(readString(), readString());
+                }
+                scenario.setParameters(Collections.unmodifiableMap(map));
+            }
+
+            return scenario;
+        }
+
+        private <T> T readObject(final Class<T> klass) throws IOException {
+            final var registry = RegistryProperties.of(klass);
+            final T object = registry.newInstance();
+            for (final var property : registry.all()) {
+                if(property.getter() != null) {
+                    property.set(object, readValue(property));
+                }
+            }
+
+            return object;
+        }
+
+        private Object readValue(final RegistryProperties.Property property) throws IOException {
+            final Class<?> type = property.type();
+            if(type == String.class) {
+                return readString();
+            }
+
+            if(property.isList()) {
+                final int size = readLength();
+                final var list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readRegistry(property.elementType()));
+                }
+                return list;
+            }
+
+            if(!type.isPrimitive() && require(1).get() == 0) {
+                return null;
+            }
+
+            if(type == int.class || type == Integer.class) {
+                return require(Integer.BYTES).getInt();
+            }
+            if(type == long.class || type == Long.class) {
+                return require(Long.BYTES).getLong();
+            }
+            if(type == double.class || type == Double.class) {
+                return require(Double.BYTES).getDouble();
+            }
+            if(type == boolean.class || type == Boolean.class) {
+                return require(1).get() != 0;
+            }
+
+            throw new IllegalStateException(
+                String.format("Property %s of type %s cannot be compiled", property.name(), type.getName()));
+        }
+
+        private Object readRegistry(final Class<?> type) throws IOException {
+            final long start = position();
+            final int distance = readVarInt();
+            if(distance < 0) {
+                throw invalidContent(start);
+            }
+            if(distance == 0) {
+                final Object registry = readObject(type);
+                registryWindow[(int) (nextRegistry++ % REGISTRY_WINDOW)] = registry;
+                return registry;
+            }
+
+            final Object registry = distance > REGISTRY_WINDOW || distance > nextRegistry ?
+                                        null : registryWindow[(int) ((nextRegistry - distance) % REGISTRY_WINDOW)];
+            if(!type.isInstance(registry)) {
+                throw new IOException(String.format("Invalid %s reference %d in %s", type.getSimpleName(), distance, file));
+            }
+
+            return registry;
+        }
+
+        private String readString() throws IOException {
+            final long start = position();
+            final int index = readVarInt();
+            if(index < 0) {
+                throw invalidContent(start);
+            }
+            if(index < strings.size()) {
+                return strings.get(index);
+            }
+            if(index != strings.size()) {
+                throw new IOException(String.format("Invalid string reference %d in %s", index, file));
+            }
+
+            final byte[] bytes = new byte[readLength()];
+            for (int read = 0; read < bytes.length; ) {
+                final int length = Math.min(bytes.length - read, buffer.capacity());
+                require(length).get(bytes, read, length);
+                read += length;
+            }
+
+            final var value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        /**
+         * Reads the length of a list or string (or the number of entries in a map),
+         * which is never larger than the number of bytes left in the file,
+         * since each item takes at least one byte.
+         * This way, an invalid file doesn't make the reader allocate huge or negative-sized arrays.
+         * @throws IOException when the length is negative or larger than the bytes left
+         */
+        private int readLength() throws IOException {
+            final long start = position();
+            final int length = readVarInt();
+            if(length < 0 || length > channel.size() - position()) {
+                throw invalidContent(start);
+            }
+
+            return length;
+        }
+
+        /**
+         * Gets the position in the file of the next byte to be read.
+         */
+        private long position() throws IOException {
+            return channel.position() - buffer.remaining();
+        }
+
+        private IOException invalidContent(final long position) {
+            return new IOException(String.format("Invalid content in %s at byte %d. Compile it again from the YAML file.", file, position));
+        }
+
+        /**
+         * Reads a non-negative int written using 7 bits of each byte,
+         * where the highest bit indicates there are more bytes.
+         */
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                final byte b = require(1).get();
+                value |= (b & 0x7F) << shift;
+                if(b >= 0) {
+                    return value;
+                }
+            }
+
+            throw new IOException("Invalid number in " + file);
+        }
+
+        /**
+         * Ensures the buffer has a given number of bytes to be read,
+         * reading more bytes from the file if needed.
+         * @param bytes the number of bytes to be read (up to the buffer capacity)
+         * @return the buffer
+         * @throws EOFException when the file ends before the required bytes
+         */
+        private ByteBuffer require(final int bytes) throws IOException {
+            if(buffer.remaining() >= bytes) {
+                return buffer;
+            }
+
+            buffer.compact();
+            try {
+                while (buffer.position() < bytes) {
+                    if(channel.read(buffer) < 0) {
+                        throw new EOFException();
+                    }
+                }
+            } finally {
+                buffer.flip();
+            }
+
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.cloudsimplus.automation.CompiledScenarioFormat.*;
+
+/**
+ * Writes {@link YamlCloudScenario Cloud Simulation Scenarios} in the compact binary format
+ * read by the {@link CompiledScenarioReader} (see {@link CompiledScenarioFormat}).
+ * Since such files are read without any text parsing, scenario files
+ * with thousands of scenarios (or large parameter sweeps) can be compiled once
+ * to be loaded much faster every time they are run.
+ *
+ * <p>Each distinct string (such as policy names) is written just once in the file,
+ * then it's referred to by its index in the table of strings.
+ * Registries shared by multiple scenarios are also written once,
+ * while they are among the last {@link CompiledScenarioFormat#REGISTRY_WINDOW} written ones.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see Start#compile(String[])
+ */
+public class CompiledScenarioWriter implements Closeable {
+    private final DataOutputStream output;
+
+    /**
+     * Each string already written to the file, with its index in the table of strings (starting from 1).
+     */
+    private final Map<String, Integer> strings;
+
+    /** The index of each registry among the last written ones, which can be referred to. */
+    private final Map<Object, Long> registries;
+
+    /** The last written registries, where the one with index i is at position {@code i % REGISTRY_WINDOW}. */
+    private final Object[] registryWindow;
+
+    private long nextRegistry;
+
+    private long scenarios;
+
+    /**
+     * Instantiates a writer for compiled scenarios, writing the header of the file.
+     * @param output where the scenarios will be written to (which is closed when this writer is closed)
+     * @throws IOException when the header cannot be written
+     */
+    public CompiledScenarioWriter(final OutputStream output) throws IOException {
+        this.output = new DataOutputStream(new BufferedOutputStream(Objects.requireNonNull(output), 1 << 16));
+        this.strings = new HashMap<>();
+        this.registries = new IdentityHashMap<>();
+        this.registryWindow = new Object[REGISTRY_WINDOW];
+        this.output.writeInt(MAGIC);
+        this.output.writeShort(VERSION);
+        this.output.writeInt(SCHEMA);
+    }
+
+    /**
+     * Writes a scenario.
+     * @param scenario the scenario to write
+     * @throws IOException when the scenario cannot be written
+     */
+    public void write(final YamlCloudScenario scenario) throws IOException {
+        output.writeByte(SCENARIO);
+        writeObject(scenario);
+        writeVarInt(scenario.getParameters().size());
+        for (final var entry : scenario.getParameters().entrySet()) {
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+        }
+        scenarios++;
+    }
+
+    /**
+     * Gets the number of scenarios written so far.
+     * @return
+     */
+    public long getScenarios() {
+        return scenarios;
+    }
+
+    private void writeObject(final Object object) throws IOException {
+        for (final var property : RegistryProperties.of(object.getClass()).all()) {
+            if(property.getter() != null) {
+                writeValue(property, property.get(object));
+            }
+        }
+    }
+
+    private void writeValue(final RegistryProperties.Property property, final Object value) throws IOException {
+        final Class<?> type = property.type();
+        if(type == String.class) {
+            writeString((String) value);
+            return;
+        }
+
+        if(property.isList()) {
+            final List<?> list = value == null ? List.of() : (List<?>) value;
+            writeVarInt(list.size());
+            for (final Object element : list) {
+                writeRegistry(element);
+            }
+            return;
+        }
+
+        if(!type.isPrimitive()) {
+            output.writeBoolean(value != null);
+            if(value == null) {
+                return;
+            }
+        }
+
+        if(value instanceof Integer number) {
+            output.writeInt(number);
+        } else if(value instanceof Long number) {
+            output.writeLong(number);
+        } else if(value instanceof Double number) {
+            output.writeDouble(number);
+        } else if(value instanceof Boolean bool) {
+            output.writeBoolean(bool);
+        } else {
+            throw new IllegalStateException(
+                String.format("Property %s of type %s cannot be compiled", property.name(), type.getName()));
+        }
+    }
+
+    private void writeRegistry(final Object registry) throws IOException {
+        final Long index = registries.get(registry);
+        if(index != null) {
+            writeVarInt((int) (nextRegistry - index));
+            return;
+        }
+
+        writeVarInt(0);
+        writeObject(registry);
+
+        final int slot = (int) (nextRegistry % REGISTRY_WINDOW);
+        if(registryWindow[slot] != null) {
+            registries.remove(registryWindow[slot]);
+        }
+        registryWindow[slot] = registry;
+        registries.put(registry, nextRegistry++);
+    }
+
+    private void writeString(final String value) throws IOException {
+        if(value == null) {
+            writeVarInt(0);
+            return;
+        }
+
+        final Integer index = strings.get(value);
+        if(index != null) {
+            writeVarInt(index);
+            return;
+        }
+
+        final int newIndex = strings.size() + 1;
+        strings.put(value, newIndex);
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(newIndex);
+        writeVarInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Writes a non-negative int using 7 bits of each byte,
+     * where the highest bit indicates there are more bytes.
+     */
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Writes the end of the file and closes it.
+     */
+    @Override
+    public void close() throws IOException {
+        try (output) {
+            output.writeByte(END);
+        }
+    }
+}
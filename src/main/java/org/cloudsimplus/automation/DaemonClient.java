@@ -0,0 +1,172 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Submits simulation scenarios to a {@link SimulationDaemon} running in the same machine
+ * and prints the results it streams back.
+ * The client doesn't load CloudSim Plus or parse the scenarios, so that it starts quickly.
+ * It is started by the {@code submit} command of the {@link Start} class.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see SimulationDaemon
+ */
+public final class DaemonClient {
+    private final int port;
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * Instantiates a client for the daemon running at a given port,
+     * which prints the results to {@link System#out} and {@link System#err}.
+     * @param port the daemon port
+     */
+    public DaemonClient(final int port) {
+        this(port, System.out, System.err);
+    }
+
+    /**
+     * Instantiates a client for the daemon running at a given port.
+     * @param port the daemon port
+     * @param out where the simulation results are printed
+     * @param err where error messages are printed
+     */
+    public DaemonClient(final int port, final PrintStream out, final PrintStream err) {
+        this.port = port;
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Runs a request in the daemon, blocking until all the scenarios finish.
+     *
+     * @param args the command line options and the YAML file, as they would be given to run the scenarios locally.
+     *             If the file is {@code -}, the scenarios are read from the standard input of the client.
+     * @throws IOException when the daemon is not running or the connection fails
+     */
+    public void submit(final String[] args) throws IOException {
+        /* The arguments aren't parsed here, so the file can be anywhere among them (such as in "- -s").
+         * Since no option value is just "-", the standard input is sent whenever any argument is "-". */
+        final boolean readStdin = Arrays.asList(args).contains("-");
+        submit(args, readStdin ? System.in : null);
+    }
+
+    /**
+     * Runs a request in the daemon, blocking until all the scenarios finish.
+     *
+     * @param args the command line options and the YAML file, as they would be given to run the scenarios locally
+     * @param yaml the stream to read the scenarios from, instead of the file given in the arguments
+     *             (which must be {@code -}); or null to read them from such a file
+     * @throws IOException when the daemon is not running or the connection fails
+     */
+    public void submit(final String[] args, final InputStream yaml) throws IOException {
+        final String token = readToken();
+        try (var socket = connect();
+             var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             var request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())))
+        {
+            request.writeUTF(token);
+            request.writeUTF(Path.of("").toAbsolutePath().toString());
+            request.writeInt(args.length);
+            for (final String arg : args) {
+                request.writeUTF(arg);
+            }
+
+            if(yaml == null) {
+                request.writeInt(-1);
+            } else {
+                final byte[] bytes = yaml.readAllBytes();
+                request.writeInt(bytes.length);
+                request.write(bytes);
+            }
+            request.flush();
+
+            readResponse(in);
+        }
+    }
+
+    /**
+     * Reads the frames of the response, printing them as they arrive.
+     * @param in where to read the response from
+     */
+    private void readResponse(final DataInputStream in) throws IOException {
+        while (true) {
+            final byte stream;
+            try {
+                stream = in.readByte();
+            } catch (EOFException e) {
+                throw new EOFException("The daemon closed the connection before the scenarios finished");
+            }
+
+            final byte[] data = in.readNBytes(in.readInt());
+            switch (stream) {
+                case SimulationDaemon.END -> {
+                    out.flush();
+                    err.flush();
+                    return;
+                }
+                case SimulationDaemon.STDOUT -> { out.write(data); out.flush(); }
+                case SimulationDaemon.STDERR -> { err.write(data); err.flush(); }
+                default -> throw new IOException("Invalid response frame from the daemon: " + stream);
+            }
+        }
+    }
+
+    private String readToken() throws IOException {
+        try {
+            return Files.readString(SimulationDaemon.getTokenFile(port)).trim();
+        } catch (NoSuchFileException e) {
+            throw noDaemon(e);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        try {
+            return new Socket(InetAddress.getLoopbackAddress(), port);
+        } catch (ConnectException e) {
+            throw noDaemon(e);
+        }
+    }
+
+    private IOException noDaemon(final IOException cause) {
+        return new IOException(
+            "There is no daemon running at port " + port + ". Start it using the daemon command.", cause);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses Cloud Computing simulation scenarios from JSON,
+ * binding each entry directly to the {@link YamlCloudScenario} and registry objects
+ * (see {@link RegistryProperties}), without building an intermediate tree.
+ *
+ * <p>The input can have a single scenario object, an array of scenario objects
+ * or a sequence of scenario objects (such as in a JSON Lines file).
+ * Each scenario is parsed only when requested, so that large files don't need to be entirely parsed
+ * before the first scenario is used. The entries have the same names used in YAML files, such as:</p>
+ * <pre>
+ * {"datacenters": [{"amount": 1, "hosts": [{"amount": 8, "pes": 4, "mips": 50000}]}],
+ *  "customers": [{"amount": 4, "vms": [{"amount": 4, "pes": 2}], "cloudlets": [{"amount": 8, "length": 1000}]}]}
+ * </pre>
+ *
+ * <p>The registries of the scenarios are {@link RegistryInterner interned}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see FastScenarioReader
+ * @see JsonScenarioWriter
+ */
+final class FastJsonScenarioParser implements Iterator<YamlCloudScenario>, Closeable {
+    private static final int EOF = -1;
+
+    private final Reader input;
+    private final char[] buffer;
+    private int length;
+    private int index;
+
+    /** The number of the line being read, used to report errors. */
+    private int lineNumber = 1;
+
+    private boolean started;
+
+    /** Indicates if the scenarios are inside an array whose end wasn't reached yet. */
+    private boolean insideArray;
+    private boolean firstArrayItem;
+
+    private YamlCloudScenario nextScenario;
+
+    private final RegistryInterner interner;
+
+    /**
+     * Instantiates a parser to read scenarios from a given input.
+     * @param input the input to read the JSON from
+     */
+    FastJsonScenarioParser(final Reader input) {
+        this.input = input;
+        this.buffer = new char[1 << 16];
+        this.interner = new RegistryInterner();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the JSON cannot be read or parsed
+     */
+    @Override
+    public boolean hasNext() {
+        if(nextScenario == null) {
+            nextScenario = readNextScenario();
+        }
+
+        return nextScenario != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the JSON cannot be read or parsed
+     */
+    @Override
+    public YamlCloudScenario next() {
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+
+        final var scenario = nextScenario;
+        nextScenario = null;
+        return scenario;
+    }
+
+    private YamlCloudScenario readNextScenario() {
+        try {
+            if(!started) {
+                started = true;
+                if(peek() == '[') {
+                    read();
+                    insideArray = true;
+                    firstArrayItem = true;
+                }
+            }
+
+            if(insideArray) {
+                if(peek() == ']') {
+                    read();
+                    insideArray = false;
+                    if(peek() != EOF) {
+                        throw error("Unexpected content after the array of scenarios");
+                    }
+                    return null;
+                }
+
+                if(!firstArrayItem) {
+                    expect(',');
+                }
+                firstArrayItem = false;
+            } else if(peek() == EOF) {
+                return null;
+            }
+
+            return interner.intern(readObject(RegistryProperties.of(YamlCloudScenario.class)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a JSON object into a new object.
+     * @param registry the properties of the object to create
+     * @return the created object
+     */
+    private <T> T readObject(final RegistryProperties<T> registry) throws IOException {
+        expect('{');
+        final T target = registry.newInstance();
+        if(peek() == '}') {
+            read();
+            return target;
+        }
+
+        do {
+            final RegistryProperties.Property property;
+            try {
+                property = registry.get(readString());
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+
+            expect(':');
+            try {
+                property.set(target, property.isList() ? readList(property.elementType()) : property.convert(readScalar()));
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+        } while (readSeparator('}'));
+
+        return target;
+    }
+
+    /**
+     * Reads a JSON array of objects.
+     * @param elementType the class of the objects
+     * @return a List of the created objects or null if the value is null
+     */
+    private List<Object> readList(final Class<?> elementType) throws IOException {
+        if(peek() == 'n') {
+            readLiteral("null");
+            return null;
+        }
+
+        expect('[');
+        final var list = new ArrayList<>();
+        if(peek() == ']') {
+            read();
+            return list;
+        }
+
+        final var registry = RegistryProperties.of(elementType);
+        do {
+            list.add(readObject(registry));
+        } while (readSeparator(']'));
+
+        return list;
+    }
+
+    /**
+     * Reads the separator after an object entry or array item.
+     * @param end the character that ends the object or array
+     * @return true if there is another entry or item, false if the end was reached
+     */
+    private boolean readSeparator(final char end) throws IOException {
+        final int c = read();
+        if(c == ',') {
+            return true;
+        }
+
+        if(c == end) {
+            return false;
+        }
+
+        throw error(String.format("Expected ',' or '%c' but found %s", end, describe(c)));
+    }
+
+    /**
+     * Reads a single value (string, number, boolean or null).
+     * @return the value text or null if the value is null
+     */
+    private String readScalar() throws IOException {
+        final int c = peek();
+        switch (c) {
+            case '"' -> {
+                return readString();
+            }
+            case 'n' -> {
+                readLiteral("null");
+                return null;
+            }
+            case 't' -> {
+                return readLiteral("true");
+            }
+            case 'f' -> {
+                return readLiteral("false");
+            }
+            default -> {
+                if(c != '-' && (c < '0' || c > '9')) {
+                    throw error("Expected a single value but found " + describe(c));
+                }
+                return readNumber();
+            }
+        }
+    }
+
+    private String readNumber() throws IOException {
+        final var number = new StringBuilder();
+        int c;
+        while ((c = peekChar()) != EOF && (c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E')) {
+            number.append((char) c);
+            index++;
+        }
+
+        return number.toString();
+    }
+
+    private String readLiteral(final String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if(readChar() != literal.charAt(i)) {
+                throw error("Invalid value, expected " + literal);
+            }
+        }
+
+        return literal;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        final var string = new StringBuilder();
+        while (true) {
+            final int c = readChar();
+            if(c == '"') {
+                return string.toString();
+            }
+
+            if(c == EOF || c == '\n') {
+                throw error("Unterminated string");
+            }
+
+            if(c != '\\') {
+                string.append((char) c);
+                continue;
+            }
+
+            final int escaped = readChar();
+            switch (escaped) {
+                case '"', '\\', '/' -> string.append((char) escaped);
+                case 'b' -> string.append('\b');
+                case 'f' -> string.append('\f');
+                case 'n' -> string.append('\n');
+                case 'r' -> string.append('\r');
+                case 't' -> string.append('\t');
+                case 'u' -> {
+                    final var hex = new char[4];
+                    for (int i = 0; i < hex.length; i++) {
+                        hex[i] = (char) readChar();
+                    }
+                    try {
+                        string.append((char) Integer.parseInt(new String(hex), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape \\u" + new String(hex));
+                    }
+                }
+                default -> throw error("Invalid escape character " + describe(escaped));
+            }
+        }
+    }
+
+    private void expect(final char expected) throws IOException {
+        final int c = read();
+        if(c != expected) {
+            throw error(String.format("Expected '%c' but found %s", expected, describe(c)));
+        }
+    }
+
+    private static String describe(final int c) {
+        return c == EOF ? "the end of the file" : "'" + (char) c + "'";
+    }
+
+    /**
+     * Gets the next character which is not a whitespace, without consuming it.
+     * @return the character or {@link #EOF}
+     */
+    private int peek() throws IOException {
+        int c;
+        while ((c = peekChar()) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            index++;
+            if(c == '\n') {
+                lineNumber++;
+            }
+        }
+
+        return c;
+    }
+
+    /**
+     * Reads the next character which is not a whitespace.
+     * @return the character or {@link #EOF}
+     */
+    private int read() throws IOException {
+        final int c = peek();
+        if(c != EOF) {
+            index++;
+        }
+
+        return c;
+    }
+
+    private int readChar() throws IOException {
+        final int c = peekChar();
+        if(c != EOF) {
+            index++;
+        }
+
+        return c;
+    }
+
+    private int peekChar() throws IOException {
+        if(index == length) {
+            length = input.read(buffer);
+            index = 0;
+            if(length <= 0) {
+                length = 0;
+                return EOF;
+            }
+        }
+
+        return buffer[index];
+    }
+
+    private IOException error(final String message) {
+        return new IOException(String.format("Error in the JSON input at line %d: %s", lineNumber, message));
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link ScenarioReader} which reads YAML and JSON files with a streaming parser
+ * that binds each entry directly to the {@link YamlCloudScenario} and registry objects.
+ * This way, it's much faster than yamlbeans for large files.
+ * It's chosen by default for JSON files and it can be used for YAML files which don't use
+ * the features not supported by the {@link FastYamlScenarioParser}
+ * (such as {@link ParameterSweep parameter sweeps}).
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see FastYamlScenarioParser
+ * @see FastJsonScenarioParser
+ */
+public class FastScenarioReader implements ScenarioReader {
+    /**
+     * The name of this reader.
+     */
+    public static final String NAME = "fast";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Set.of("json", "jsonl");
+    }
+
+    /**
+     * {@inheritDoc}
+     * Files with the {@code .json} or {@code .jsonl} extensions are parsed as JSON, other ones as YAML.
+     */
+    @Override
+    public Stream<YamlCloudScenario> stream(final Path file) throws IOException {
+        final BufferedReader input;
+        try {
+            input = Files.newBufferedReader(file);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file + " (No such file or directory)");
+        }
+
+        final String fileName = file.getFileName().toString().toLowerCase();
+        final boolean json = fileName.endsWith(".json") || fileName.endsWith(".jsonl");
+        return stream(json ? new FastJsonScenarioParser(input) : new FastYamlScenarioParser(input, file.toAbsolutePath().getParent()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The input is parsed as JSON if it starts with <code>{</code> or {@code [} and as YAML otherwise.
+     */
+    @Override
+    public Stream<YamlCloudScenario> stream(final Reader input, final Path baseDir) {
+        final var reader = input instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(input);
+        try {
+            reader.mark(1 << 16);
+            int c;
+            while ((c = reader.read()) != -1 && Character.isWhitespace(c)) {
+                /* Skips the whitespaces before the first character */
+            }
+            reader.reset();
+
+            return stream(c == '{' || c == '[' ? new FastJsonScenarioParser(reader) : new FastYamlScenarioParser(reader, baseDir));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T extends Iterator<YamlCloudScenario> & Closeable> Stream<YamlCloudScenario> stream(final T parser) {
+        final var spliterator = Spliterators.spliteratorUnknownSize(parser, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses Cloud Computing simulation scenarios from YAML documents,
+ * binding each entry directly to the {@link YamlCloudScenario} and registry objects
+ * (see {@link RegistryProperties}), one document at a time.
+ *
+ * <p>It supports the subset of YAML used by scenario files: block mappings with scalar values
+ * (plain or quoted), block sequences of registries (whose items may have tags such as {@code !host}),
+ * comments and documents separated by {@code ---}.
+ * Registries may be named by anchors (such as {@code - !host &big}) and reused inside the same document
+ * by aliases (such as {@code - *big}), and {@link ScenarioFragments fragments} may be included
+ * (such as {@code - !include hosts.yml}).
+ * Flow collections, anchors for scalars, multi-line scalars and {@link ParameterSweep parameter sweeps}
+ * are not supported (the {@link YamlbeansScenarioReader} must be used for such files).</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see FastScenarioReader
+ */
+final class FastYamlScenarioParser implements Iterator<YamlCloudScenario>, Closeable {
+    private static final String DOCUMENT_START = "---";
+
+    /** The characters represented by escape sequences inside double-quoted values. */
+    private static final Map<Character, Character> ESCAPES = Map.of('n', '\n', 't', '\t', 'r', '\r', '0', '\0');
+
+    /**
+     * A line of a YAML document with some content.
+     * @param number the number of the line inside the file
+     * @param indent the column where the content starts
+     * @param text the content, without comments and surrounding spaces
+     */
+    private record Line(int number, int indent, String text) {
+        boolean isListItem() {
+            return text.charAt(0) == '-' && (text.length() == 1 || text.charAt(1) == ' ');
+        }
+    }
+
+    private final BufferedReader input;
+    private final List<Line> lines;
+
+    /** The directory the paths of included fragments are resolved against. */
+    private final Path baseDir;
+
+    private final RegistryInterner interner;
+
+    /** The registries named by anchors inside the current document. */
+    private final Map<String, Object> anchors;
+
+    /** The number of the last line read from the input. */
+    private int lineNumber;
+    private boolean endOfInput;
+
+    /** The number of the line where the last read document starts. */
+    private int documentFirstLine;
+
+    /** The index of the next line of the document to parse. */
+    private int position;
+
+    /** The line being parsed, used to report errors. */
+    private Line current;
+
+    private YamlCloudScenario nextScenario;
+
+    /**
+     * Instantiates a parser to read scenarios from a given input.
+     * @param input the input to read the YAML documents from
+     * @param baseDir the directory the paths of included fragments are resolved against
+     */
+    FastYamlScenarioParser(final Reader input, final Path baseDir) {
+        this.input = input instanceof BufferedReader reader ? reader : new BufferedReader(input);
+        this.lines = new ArrayList<>();
+        this.baseDir = baseDir;
+        this.interner = new RegistryInterner();
+        this.anchors = new HashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the YAML document cannot be read or parsed
+     */
+    @Override
+    public boolean hasNext() {
+        if(nextScenario == null) {
+            nextScenario = readNextScenario();
+        }
+
+        return nextScenario != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the YAML document cannot be read or parsed
+     */
+    @Override
+    public YamlCloudScenario next() {
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+
+        final var scenario = nextScenario;
+        nextScenario = null;
+        return scenario;
+    }
+
+    private YamlCloudScenario readNextScenario() {
+        try {
+            while (!endOfInput) {
+                readDocument();
+                if(lines.isEmpty()) {
+                    continue;
+                }
+
+                final YamlCloudScenario scenario;
+                try {
+                    scenario = parseDocument();
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(
+                        String.format("Error in the YAML document starting at line %d: Line %d: %s", documentFirstLine, current.number, e.getMessage()), e);
+                }
+
+                try {
+                    ScenarioFragments.resolve(interner.intern(scenario), baseDir);
+                    return scenario;
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(
+                        String.format("Error in the YAML document starting at line %d: %s", documentFirstLine, e.getMessage()), e);
+                }
+            }
+
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the lines of the next YAML document which have some content.
+     * The document ends at the next line starting with {@code ---},
+     * which starts the next document.
+     */
+    private void readDocument() throws IOException {
+        lines.clear();
+        position = 0;
+        /* The line starting the document was read when the previous document ended. */
+        documentFirstLine = Math.max(lineNumber, 1);
+        String line;
+        while ((line = input.readLine()) != null) {
+            lineNumber++;
+            if(line.startsWith(DOCUMENT_START)) {
+                return;
+            }
+
+            int indent = 0;
+            while (indent < line.length() && line.charAt(indent) == ' ') {
+                indent++;
+            }
+
+            final String text = stripComment(line.substring(indent)).stripTrailing();
+            if(text.isEmpty()) {
+                continue;
+            }
+
+            if(text.charAt(0) == '\t') {
+                throw new IOException(String.format("Line %d: tabs cannot be used for indentation", lineNumber));
+            }
+
+            lines.add(new Line(lineNumber, indent, text));
+        }
+
+        endOfInput = true;
+    }
+
+    /**
+     * Removes a comment from the text of a line,
+     * which starts with a # at the beginning of the text or after a space (outside quotes).
+     * @param text the line text
+     * @return the text without the comment
+     */
+    private static String stripComment(final String text) {
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if(quote != 0) {
+                if(c == quote) {
+                    quote = 0;
+                }
+            } else if(c == '"' || c == '\'') {
+                quote = c;
+            } else if(c == '#' && (i == 0 || Character.isWhitespace(text.charAt(i - 1)))) {
+                return text.substring(0, i);
+            }
+        }
+
+        return text;
+    }
+
+    private YamlCloudScenario parseDocument() {
+        anchors.clear();
+        current = lines.get(0);
+        final var scenario = parseMapping(RegistryProperties.of(YamlCloudScenario.class), lines.get(0).indent);
+        if(position < lines.size()) {
+            current = lines.get(position);
+            throw new IllegalArgumentException("Unexpected indentation");
+        }
+
+        return scenario;
+    }
+
+    /**
+     * Parses the entries of a block mapping into a new object.
+     * @param registry the properties of the object to create
+     * @param indent the indentation of the mapping entries
+     * @return the created object
+     */
+    private <T> T parseMapping(final RegistryProperties<T> registry, final int indent) {
+        final T target = registry.newInstance();
+        while (position < lines.size()) {
+            final Line line = lines.get(position);
+            if(line.indent < indent || line.indent == indent && line.isListItem()) {
+                break;
+            }
+
+            current = line;
+            if(line.indent > indent) {
+                throw new IllegalArgumentException("Unexpected indentation");
+            }
+
+            final int separator = keySeparator(line.text);
+            if(separator < 0) {
+                throw new IllegalArgumentException("Expected an entry in the format 'name: value' but found: " + line.text);
+            }
+
+            final var property = registry.get(line.text.substring(0, separator).strip());
+            final String value = line.text.substring(separator + 1).strip();
+            position++;
+            if(property.isList()) {
+                property.set(target, value.isEmpty() ? parseSequence(property.elementType(), indent) : emptyList(value));
+            } else {
+                property.set(target, property.convert(scalar(value)));
+            }
+        }
+
+        return target;
+    }
+
+    /**
+     * Parses the items of a block sequence of registries.
+     * @param elementType the class of the registries
+     * @param parentIndent the indentation of the entry containing the sequence
+     * @return a List of registries or null if the entry has no value
+     */
+    private List<Object> parseSequence(final Class<?> elementType, final int parentIndent) {
+        if(position == lines.size() || !lines.get(position).isListItem() || lines.get(position).indent < parentIndent) {
+            return null;
+        }
+
+        final var registry = RegistryProperties.of(elementType);
+        final int dashIndent = lines.get(position).indent;
+        final var list = new ArrayList<>();
+        while (position < lines.size() && lines.get(position).indent == dashIndent && lines.get(position).isListItem()) {
+            final Line item = lines.get(position);
+            current = item;
+            String content = item.text.substring(1).stripLeading();
+            if(content.startsWith("*")) {
+                list.add(alias(content.substring(1), elementType));
+                position++;
+                continue;
+            }
+
+            if(content.startsWith("!")) {
+                final int end = content.indexOf(' ');
+                final String tag = content.substring(1, end < 0 ? content.length() : end);
+                content = end < 0 ? "" : content.substring(end).stripLeading();
+                if(ScenarioFragments.INCLUDE_TAG.equals(tag)) {
+                    list.add(new ScenarioFragments.Include(scalar(content)));
+                    position++;
+                    continue;
+                }
+                checkTag(tag, elementType);
+            }
+
+            String anchor = null;
+            if(content.startsWith("&")) {
+                final int end = content.indexOf(' ');
+                anchor = content.substring(1, end < 0 ? content.length() : end);
+                content = end < 0 ? "" : content.substring(end).stripLeading();
+            }
+
+            final Object element;
+            if(content.isEmpty()) {
+                position++;
+                final boolean hasEntries = position < lines.size() && lines.get(position).indent > dashIndent;
+                element = hasEntries ? parseMapping(registry, lines.get(position).indent) : registry.newInstance();
+            } else {
+                /* The first entry of the item is in the same line of the dash. */
+                final int indent = item.indent + item.text.length() - content.length();
+                lines.set(position, new Line(item.number, indent, content));
+                element = parseMapping(registry, indent);
+            }
+
+            list.add(element);
+            if(anchor != null) {
+                anchors.put(anchor, element);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Gets the registry named by an anchor.
+     * @param name the anchor name
+     * @param elementType the class of the registries in the list the alias is used
+     */
+    private Object alias(final String name, final Class<?> elementType) {
+        final Object registry = anchors.get(name.strip());
+        if(registry == null) {
+            throw new IllegalArgumentException("Unknown anchor *" + name.strip());
+        }
+
+        if(!elementType.isInstance(registry)) {
+            throw new IllegalArgumentException(String.format(
+                "*%s is a %s, which cannot be used as a %s", name.strip(), registry.getClass().getSimpleName(), elementType.getSimpleName()));
+        }
+
+        return registry;
+    }
+
+    private static void checkTag(final String tag, final Class<?> elementType) {
+        final Class<?> tagClass = RegistryProperties.TAGS.get(tag);
+        if(tagClass == null) {
+            throw new IllegalArgumentException("Unknown tag !" + tag);
+        }
+
+        if(tagClass != elementType) {
+            throw new IllegalArgumentException(String.format("A !%s cannot be used as a %s", tag, elementType.getSimpleName()));
+        }
+    }
+
+    private static List<Object> emptyList(final String value) {
+        if("[]".equals(value)) {
+            return new ArrayList<>();
+        }
+
+        if(scalar(value) == null) {
+            return null;
+        }
+
+        throw new IllegalArgumentException("Expected a list of entries but found: " + value);
+    }
+
+    /**
+     * Gets the index of the colon separating the name and the value of an entry.
+     * @param text the line text
+     * @return the index of the separator or -1 if the line is not an entry
+     */
+    private static int keySeparator(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if(c == ':' && (i == text.length() - 1 || text.charAt(i + 1) == ' ')) {
+                return i;
+            }
+            if(c == '"' || c == '\'' || c == '{' || c == '[') {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the text of a scalar value.
+     * @param value the value as written in the document
+     * @return the value text (without quotes) or null if there is no value
+     */
+    private static String scalar(final String value) {
+        if(value.isEmpty() || "~".equals(value) || "null".equals(value)) {
+            return null;
+        }
+
+        final char first = value.charAt(0);
+        if(first == '{' || first == '[') {
+            throw new IllegalArgumentException(
+                "Flow collections and parameter sweeps are not supported by the fast parser (use the yamlbeans parser): " + value);
+        }
+
+        if((first == '"' || first == '\'') && value.length() > 1 && value.charAt(value.length() - 1) == first) {
+            final String text = value.substring(1, value.length() - 1);
+            return first == '\'' ? text.replace("''", "'") : unescape(text);
+        }
+
+        if(first == '!' || first == '&' || first == '*' || first == '|' || first == '>') {
+            throw new IllegalArgumentException("Tags, anchors and multi-line values are not supported by the fast parser: " + value);
+        }
+
+        return value;
+    }
+
+    private static String unescape(final String text) {
+        if(text.indexOf('\\') < 0) {
+            return text;
+        }
+
+        final var builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if(c != '\\' || i == text.length() - 1) {
+                builder.append(c);
+                continue;
+            }
+
+            final char escaped = text.charAt(++i);
+            builder.append(ESCAPES.getOrDefault(escaped, escaped));
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
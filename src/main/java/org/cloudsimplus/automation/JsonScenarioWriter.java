@@ -0,0 +1,149 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes {@link YamlCloudScenario Cloud Simulation Scenarios} in the JSON format
+ * read by the {@link FastScenarioReader}, using the same entry names of YAML files.
+ * Each scenario is written as a JSON object in a separate line (as in JSON Lines files).
+ *
+ * <p>Only the entries whose values differ from the defaults are written.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see YamlCloudScenarioWriter
+ */
+public class JsonScenarioWriter implements Closeable {
+    private final Writer output;
+
+    /**
+     * Instantiates a writer for JSON scenarios.
+     * @param output where the scenarios will be written to (which is closed when this writer is closed)
+     */
+    public JsonScenarioWriter(final Writer output) {
+        this.output = Objects.requireNonNull(output);
+    }
+
+    /**
+     * Writes a scenario as a JSON object in a new line.
+     * @param scenario the scenario to write
+     * @throws IOException when the scenario cannot be written
+     */
+    public void write(final YamlCloudScenario scenario) throws IOException {
+        writeObject(scenario);
+        output.write('\n');
+    }
+
+    /**
+     * Gets the JSON representation of a scenario.
+     * @param scenario the scenario to get the JSON from
+     * @return the JSON object for the scenario
+     */
+    public static String toJson(final YamlCloudScenario scenario) {
+        final var output = new StringWriter();
+        try (var writer = new JsonScenarioWriter(output)) {
+            writer.writeObject(scenario);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing scenario to JSON", e);
+        }
+
+        return output.toString();
+    }
+
+    private void writeObject(final Object object) throws IOException {
+        final var registry = RegistryProperties.of(object.getClass());
+        output.write('{');
+        boolean first = true;
+        for (final var property : registry.all()) {
+            if(property.getter() == null) {
+                continue;
+            }
+
+            final Object value = property.get(object);
+            if(value == null || value.equals(property.get(registry.getDefaults()))) {
+                continue;
+            }
+
+            if(!first) {
+                output.write(',');
+            }
+            first = false;
+
+            writeString(property.name());
+            output.write(':');
+            if(value instanceof List<?> list) {
+                writeList(list);
+            } else if(value instanceof String || value instanceof Double number && !Double.isFinite(number)) {
+                writeString(value.toString());
+            } else {
+                output.write(value.toString());
+            }
+        }
+        output.write('}');
+    }
+
+    private void writeList(final List<?> list) throws IOException {
+        output.write('[');
+        for (int i = 0; i < list.size(); i++) {
+            if(i > 0) {
+                output.write(',');
+            }
+            writeObject(list.get(i));
+        }
+        output.write(']');
+    }
+
+    private void writeString(final String value) throws IOException {
+        output.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> output.write("\\\"");
+                case '\\' -> output.write("\\\\");
+                case '\n' -> output.write("\\n");
+                case '\r' -> output.write("\\r");
+                case '\t' -> output.write("\\t");
+                default -> {
+                    if(c < ' ') {
+                        output.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        output.write(c);
+                    }
+                }
+            }
+        }
+        output.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
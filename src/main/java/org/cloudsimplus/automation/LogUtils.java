@@ -26,6 +26,7 @@
  */
 package org.cloudsimplus.automation;
 
+import java.io.PrintStream;
 
 /**
  * Useful methods to print log information to the terminal.
@@ -37,46 +38,62 @@ public class LogUtils {
 
     /**
      * Print an array of objects like a table.
+     * @param out the stream where to print data
      * @param captions The captions of the table
      * @param dataArray The data to be printed.
      * @see LogUtils#printCaptions(java.lang.String[])
      */
-    public static void printLine(String[] captions, Object[] dataArray, String colSeparator) {
-        String s;
-        String fmt;
-        String data;
+    public static void printLine(PrintStream out, String[] captions, Object[] dataArray, String colSeparator) {
+        final var line = new StringBuilder(128);
         for (int i = 0; i < captions.length; i++) {
             //The data will be printed with the same size of the caption
             //of the corresponding column.
-            fmt = "%-" + captions[i].length() + "s";
-            data = "";
-            if (i < dataArray.length) {
-                data = dataArray[i].toString();
+            final String data = i < dataArray.length ? dataArray[i].toString() : "";
+            line.append(data);
+            for (int padding = captions[i].length() - data.length(); padding > 0; padding--) {
+                line.append(' ');
             }
-            s = String.format(fmt, data) + colSeparator;
-            System.out.print(s);
+            line.append(colSeparator);
         }
-        System.out.println();
+        out.println(line);
+    }
+
+    public static void printLine(String[] captions, Object[] dataArray, String colSeparator) {
+        printLine(System.out, captions, dataArray, colSeparator);
+    }
+
+    public static void printLine(PrintStream out, String[] captions, Object... dataArray) {
+        printLine(out, captions, dataArray, colSeparator);
     }
 
     public static void printLine(String[] captions, Object... dataArray) {
-        printLine(captions, dataArray, colSeparator);
+        printLine(System.out, captions, dataArray, colSeparator);
     }
 
     /**
      * Print the captions of a table to be presented at the terminal.
+     * @param out the stream where to print captions
      * @param captions Captions of the table
      * @see LogUtils#printCaptions(java.lang.String[])
      */
-    public static void printCaptions(String[] captions, String colSeparator) {
+    public static void printCaptions(PrintStream out, String[] captions, String colSeparator) {
+        final var line = new StringBuilder(128);
         for (String caption : captions) {
-            System.out.print(caption + colSeparator);
+            line.append(caption).append(colSeparator);
         }
-        System.out.println();
+        out.println(line);
+    }
+
+    public static void printCaptions(String[] captions, String colSeparator) {
+        printCaptions(System.out, captions, colSeparator);
+    }
+
+    public static void printCaptions(PrintStream out, String... captions) {
+        printCaptions(out, captions, colSeparator);
     }
 
     public static void printCaptions(String... captions) {
-        printCaptions(captions, colSeparator);
+        printCaptions(System.out, captions, colSeparator);
     }
 
     /**
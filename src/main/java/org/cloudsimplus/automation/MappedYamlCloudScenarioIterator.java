@@ -0,0 +1,363 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Iterates over the Cloud Computing simulation scenarios inside an YAML file,
+ * parsing multiple YAML documents at the same time.
+ *
+ * <p>The file is memory-mapped and the document boundaries (lines starting with {@code ---})
+ * are found by scanning its bytes, without decoding them. Each document is then decoded
+ * and parsed by its own {@link com.esotericsoftware.yamlbeans.YamlReader} in a pool of threads,
+ * a few documents ahead of the one requested by {@link #next()}.
+ * Scenarios are returned in the order they appear in the file, but since just some documents
+ * are parsed in advance, the memory used doesn't depend on the file size.</p>
+ *
+ * <p>Documents are handled as in {@link YamlCloudScenarioIterator}: empty documents are skipped and
+ * documents with {@link ParameterSweep parameter sweeps} are expanded into one scenario
+ * for each combination of the swept values, which are also parsed in parallel.
+ * Errors are thrown just when the invalid scenario is requested.</p>
+ *
+ * <p>The registries of the scenarios are {@link RegistryInterner interned} and
+ * the {@link ScenarioFragments fragments} they include are resolved
+ * in the order the scenarios are returned.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see YamlCloudScenarioReader#stream(String, int)
+ */
+public class MappedYamlCloudScenarioIterator implements Iterator<YamlCloudScenario>, Closeable {
+    private static final String DOCUMENT_START = "---";
+
+    /**
+     * The maximum size of each region of the file mapped into memory,
+     * which is also the maximum size of a single YAML document.
+     */
+    private static final long MAX_WINDOW_BYTES = 1L << 30;
+
+    /**
+     * A YAML document found in the file.
+     * @param bytes the UTF-8 bytes of the document, including the line starting it (if any)
+     * @param firstLine the number of the line where the document starts inside the file
+     * @param mayHaveSweep indicates if the document may have a parameter sweep
+     *                     (which is declared between braces)
+     */
+    private record Document(ByteBuffer bytes, int firstLine, boolean mayHaveSweep) {
+        String text() {
+            final var array = new byte[bytes.remaining()];
+            bytes.duplicate().get(array);
+            return new String(array, StandardCharsets.UTF_8);
+        }
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final ExecutorService executor;
+
+    /** The maximum number of scenarios parsed in advance. */
+    private final int lookahead;
+
+    /**
+     * A parsed scenario.
+     * @param scenario the scenario or null if the document is empty
+     * @param firstLine the number of the line where the scenario document starts inside the file
+     */
+    private record Parsed(YamlCloudScenario scenario, int firstLine) { }
+
+    /** The scenarios being parsed, in the order they appear in the file. */
+    private final Deque<Future<Parsed>> pending;
+
+    /** The directory the paths of included fragments are resolved against. */
+    private final Path baseDir;
+
+    private final RegistryInterner interner;
+
+    private YamlCloudScenario nextScenario;
+
+    /** The region of the file currently mapped into memory and its position inside the file. */
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    /** The position inside the file where the next document starts. */
+    private long position;
+
+    /** The number of the line at the {@link #position}. */
+    private int lineNumber = 1;
+
+    /** The number of the line where the document being scanned starts. */
+    private int documentFirstLine;
+
+    /** Indicates if the file can't be read anymore, due to an error found while scanning it. */
+    private boolean failed;
+
+    /** The sweep for the last scanned document, whose combinations are being parsed. */
+    private ParameterSweep sweep;
+
+    /** The index of the next {@link #sweep} combination to parse. */
+    private long sweepCombination;
+
+    /** The number of the line where the document of the {@link #sweep} starts. */
+    private int sweepFirstLine;
+
+    /**
+     * Instantiates an iterator to read scenarios from a given file.
+     * @param file the YAML file to read
+     * @param parallelism the number of YAML documents to parse at the same time
+     * @throws IOException when the file cannot be opened
+     */
+    public MappedYamlCloudScenarioIterator(final Path file, final int parallelism) throws IOException {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("The number of documents to parse at the same time must be at least 1.");
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.baseDir = file.toAbsolutePath().getParent();
+        this.interner = new RegistryInterner();
+        this.size = channel.size();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final var thread = new Thread(runnable, "yaml-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lookahead = parallelism * 4;
+        this.pending = new ArrayDeque<>(lookahead);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the YAML document cannot be read or parsed.
+     *         The cause is an {@link IOException} (usually a {@link YamlException}).
+     */
+    @Override
+    public boolean hasNext() {
+        if(nextScenario == null) {
+            nextScenario = readNextScenario();
+        }
+
+        return nextScenario != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the YAML document cannot be read or parsed.
+     *         The cause is an {@link IOException} (usually a {@link YamlException}).
+     */
+    @Override
+    public YamlCloudScenario next() {
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+
+        final var scenario = nextScenario;
+        nextScenario = null;
+        return scenario;
+    }
+
+    private YamlCloudScenario readNextScenario() {
+        try {
+            while (true) {
+                submitDocuments();
+                final var parsing = pending.poll();
+                if(parsing == null) {
+                    return null;
+                }
+
+                /* Empty documents have no scenario. */
+                final var parsed = parsing.get();
+                if(parsed.scenario != null) {
+                    return YamlCloudScenarioIterator.link(parsed.scenario, interner, baseDir, parsed.firstLine);
+                }
+            }
+        } catch (YamlException e) {
+            throw new UncheckedIOException(e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while parsing the YAML file"));
+        }
+    }
+
+    /**
+     * Scans the file for the next documents, submitting them to be parsed until
+     * the maximum number of scenarios parsed in advance is reached.
+     * Errors found while scanning are added as a failed parsing,
+     * so that they are thrown just after the previous scenarios are used.
+     */
+    private void submitDocuments() {
+        while (pending.size() < lookahead && !failed) {
+            try {
+                if(sweep != null) {
+                    submitNextCombination();
+                    continue;
+                }
+
+                final Document document = nextDocument();
+                if(document == null) {
+                    return;
+                }
+
+                if(document.mayHaveSweep()) {
+                    /* Sweeps are found before parsing, since each combination is parsed separately. */
+                    final String text = document.text();
+                    if(!isEmpty(text)) {
+                        sweep = YamlCloudScenarioIterator.sweepOf(text, document.firstLine());
+                        sweepCombination = 0;
+                        sweepFirstLine = document.firstLine();
+                    }
+                } else {
+                    pending.add(executor.submit(() -> parse(document)));
+                }
+            } catch (IOException e) {
+                pending.add(CompletableFuture.failedFuture(e));
+                failed = true;
+            }
+        }
+    }
+
+    private void submitNextCombination() {
+        final var current = sweep;
+        final long combination = sweepCombination++;
+        if(sweepCombination == current.getCombinations()) {
+            sweep = null;
+        }
+
+        final int firstLine = sweepFirstLine;
+        pending.add(executor.submit(() -> {
+            final var scenario = YamlCloudScenarioIterator.parse(current.getDocument(combination), firstLine);
+            if(scenario != null) {
+                scenario.setParameters(current.getParameters(combination));
+            }
+            return new Parsed(scenario, firstLine);
+        }));
+    }
+
+    private static Parsed parse(final Document document) throws YamlException {
+        final String text = document.text();
+        return new Parsed(isEmpty(text) ? null : YamlCloudScenarioIterator.parse(text, document.firstLine()), document.firstLine());
+    }
+
+    /**
+     * Checks if a document has just blank lines and comments, besides the line starting it.
+     * @param document the document text
+     * @return
+     */
+    private static boolean isEmpty(final String document) {
+        return document.lines().allMatch(line -> line.startsWith(DOCUMENT_START) || YamlCloudScenarioIterator.isBlankOrComment(line));
+    }
+
+    /**
+     * Scans the bytes of the file to find the next document,
+     * which ends just before the next line starting with {@code ---} or at the end of the file.
+     * @return the next document or null if the end of the file was reached
+     */
+    private Document nextDocument() throws IOException {
+        if(position >= size) {
+            return null;
+        }
+
+        final long start = position;
+        documentFirstLine = lineNumber;
+        boolean mayHaveSweep = false;
+        boolean lineStart = true;
+        long current = start;
+        for (; current < size; current++) {
+            final byte b = byteAt(current, start);
+            if(lineStart && current > start && b == '-' && isDocumentStart(current, start)) {
+                break;
+            }
+
+            lineStart = b == '\n';
+            if(lineStart) {
+                lineNumber++;
+            } else if(b == '{') {
+                mayHaveSweep = true;
+            }
+        }
+
+        position = current;
+        final var bytes = window.slice((int) (start - windowStart), (int) (current - start));
+        return new Document(bytes, documentFirstLine, mayHaveSweep);
+    }
+
+    private boolean isDocumentStart(final long position, final long documentStart) throws IOException {
+        return position + 2 < size && byteAt(position + 1, documentStart) == '-' && byteAt(position + 2, documentStart) == '-';
+    }
+
+    /**
+     * Gets a byte of the file, mapping a new region of the file into memory
+     * (starting at the current document) when the byte isn't in the mapped region.
+     * @param position the position of the byte inside the file
+     * @param documentStart the position where the current document starts
+     * @return
+     */
+    private byte byteAt(final long position, final long documentStart) throws IOException {
+        if(window == null || position >= windowStart + window.limit()) {
+            final long length = Math.min(size - documentStart, MAX_WINDOW_BYTES);
+            if(position >= documentStart + length) {
+                throw new YamlException(
+                    String.format("The YAML document starting at line %d is larger than %d bytes", documentFirstLine, MAX_WINDOW_BYTES));
+            }
+
+            window = channel.map(FileChannel.MapMode.READ_ONLY, documentStart, length);
+            windowStart = documentStart;
+        }
+
+        return window.get((int) (position - windowStart));
+    }
+
+    /**
+     * Stops parsing documents and closes the file.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        channel.close();
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Expands the parameter sweeps declared inside a YAML document into
+ * the cartesian product of all values of the swept entries.
+ * Any registry entry can be swept, by giving one of the following
+ * declarations instead of a single value:
+ * <ul>
+ *   <li>{@code amount: {range: [8, 128, 8]}}: all values from 8 to 128 (inclusive), in steps of 8;</li>
+ *   <li>{@code vmScheduler: {values: [TimeShared, SpaceShared]}}: each one of the given values.</li>
+ * </ul>
+ *
+ * <p>Each combination of values is a {@link #getDocument(long) new YAML document}
+ * where the sweep declarations are replaced by single values,
+ * so that it can be parsed as a regular scenario.
+ * Documents are created only when requested, so that
+ * sweeps with lots of combinations don't use more memory than a single scenario.
+ * The last declared sweep changes faster.</p>
+ *
+ * <p>Each swept entry is identified by the path of registries it belongs to,
+ * such as {@code datacenter[0].host[1].amount}, which means the amount entry inside
+ * the second {@code !host} of the first {@code !datacenter}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class ParameterSweep {
+    private static final Pattern SWEEP_LINE = Pattern.compile(
+        "^(\\s*(?:-\\s+)?)([A-Za-z_]\\w*)\\s*:\\s*\\{\\s*(range|values)\\s*:\\s*\\[(.*)]\\s*}\\s*(#.*)?$");
+    private static final Pattern KEY_LINE = Pattern.compile("^(\\s*)(?:-\\s+)?[A-Za-z_]\\w*\\s*:.*$");
+    private static final Pattern TAG_LINE = Pattern.compile("^(\\s*)-\\s*!(\\w+)\\s*(#.*)?$");
+
+    /**
+     * A sweep declared in a line of the document.
+     * @param line the index of the line containing the sweep declaration
+     * @param prefix the text before the entry name (indentation and list dash)
+     * @param name the path identifying the swept entry
+     * @param key the name of the swept entry
+     * @param values the values for the entry
+     */
+    private record Sweep(int line, String prefix, String name, String key, Values values) {
+        String line(final String value) {
+            return prefix + key + ": " + value;
+        }
+    }
+
+    /**
+     * The values of a sweep, which are computed just when requested,
+     * so that a range with lots of values doesn't use more memory than a small one.
+     */
+    private interface Values {
+        /** @return the number of values */
+        long size();
+
+        /**
+         * @param index the index of the value, from 0 to {@link #size()}-1
+         * @return the value at the given index
+         */
+        String get(long index);
+    }
+
+    /**
+     * The values of a range declaration, computed as {@code start + index * step}.
+     * @param start the first value
+     * @param step the difference between consecutive values
+     * @param size the number of values
+     */
+    private record Range(BigDecimal start, BigDecimal step, long size) implements Values {
+        @Override
+        public String get(final long index) {
+            return start.add(step.multiply(BigDecimal.valueOf(index))).toPlainString();
+        }
+    }
+
+    /**
+     * The values of a list declaration.
+     * @param values the values given in the declaration
+     */
+    private record ValueList(List<String> values) implements Values {
+        @Override
+        public long size() {
+            return values.size();
+        }
+
+        @Override
+        public String get(final long index) {
+            return values.get((int) index);
+        }
+    }
+
+    /** A registry whose entries are being read, used to build the path for swept entries. */
+    private record Registry(int indent, String path, Map<String, Integer> children) {
+        Registry(final int indent, final String path) {
+            this(indent, path, new HashMap<>());
+        }
+    }
+
+    private final String[] lines;
+    private final List<Sweep> sweeps;
+    private final long combinations;
+
+    private ParameterSweep(final String[] lines, final List<Sweep> sweeps) {
+        this.lines = lines;
+        this.sweeps = sweeps;
+        long total = 1;
+        for (final Sweep sweep : sweeps) {
+            try {
+                total = Math.multiplyExact(total, sweep.values.size());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("The parameter sweeps have too many combinations", e);
+            }
+        }
+        this.combinations = total;
+    }
+
+    /**
+     * Finds the sweeps declared inside a YAML document.
+     * @param document the text of the YAML document
+     * @param firstLine the number of the line where the document starts inside the file,
+     *                  used for error messages
+     * @return the sweep for the document, which has just 1 combination if there is no sweep declaration
+     * @throws IllegalArgumentException when a sweep declaration is invalid
+     */
+    public static ParameterSweep of(final String document, final int firstLine) {
+        final String[] lines = document.split("\n", -1);
+        final var sweeps = new ArrayList<Sweep>();
+        final Deque<Registry> registries = new ArrayDeque<>();
+        registries.push(new Registry(-1, ""));
+        for (int i = 0; i < lines.length; i++) {
+            final String line = lines[i];
+            final Matcher tag = TAG_LINE.matcher(line);
+            if(tag.matches()) {
+                final int indent = tag.group(1).length();
+                final Registry parent = enclosingRegistry(registries, indent);
+                final String tagName = tag.group(2);
+                final int index = parent.children.merge(tagName, 1, Integer::sum) - 1;
+                final String path = String.format("%s%s[%d]", parent.path.isEmpty() ? "" : parent.path + ".", tagName, index);
+                registries.push(new Registry(indent, path));
+                continue;
+            }
+
+            final Matcher key = KEY_LINE.matcher(line);
+            if(!key.matches()) {
+                continue;
+            }
+
+            final Registry parent = enclosingRegistry(registries, key.group(1).length());
+            final Matcher sweep = SWEEP_LINE.matcher(line);
+            if(sweep.matches()) {
+                final String name = parent.path.isEmpty() ? sweep.group(2) : parent.path + "." + sweep.group(2);
+                try {
+                    final Values values = "range".equals(sweep.group(3)) ? range(sweep.group(4)) : values(sweep.group(4));
+                    sweeps.add(new Sweep(i, sweep.group(1), name, sweep.group(2), values));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        String.format("Invalid parameter sweep for %s at line %d: %s", name, firstLine + i, e.getMessage()), e);
+                }
+            }
+        }
+
+        return new ParameterSweep(lines, sweeps);
+    }
+
+    /**
+     * Gets the registry containing an entry or registry with a given indentation,
+     * removing from the stack the registries which have already ended.
+     */
+    private static Registry enclosingRegistry(final Deque<Registry> registries, final int indent) {
+        while (registries.peek().indent >= indent) {
+            registries.pop();
+        }
+
+        return registries.peek();
+    }
+
+    /**
+     * Gets the values from a range declaration in the format {@code start, end, step}.
+     * Just the number of values is computed here, the values themselves are computed when requested.
+     */
+    private static Values range(final String declaration) {
+        final String[] parts = declaration.split(",");
+        if(parts.length != 3) {
+            throw new IllegalArgumentException("a range must have 3 numbers: [start, end, step]");
+        }
+
+        final BigDecimal start = number(parts[0]);
+        final BigDecimal end = number(parts[1]);
+        final BigDecimal step = number(parts[2]);
+        if(step.signum() == 0 || end.subtract(start).signum() * step.signum() < 0) {
+            throw new IllegalArgumentException("the range step must be non-zero and go from the start to the end value");
+        }
+
+        final BigInteger size = end.subtract(start).divide(step, 0, RoundingMode.FLOOR).toBigIntegerExact().add(BigInteger.ONE);
+        if(size.bitLength() >= Long.SIZE) {
+            throw new IllegalArgumentException("the range has too many values");
+        }
+
+        return new Range(start, step, size.longValue());
+    }
+
+    private static BigDecimal number(final String value) {
+        try {
+            return new BigDecimal(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + value.strip() + "' is not a number", e);
+        }
+    }
+
+    /**
+     * Gets the values from a list declaration in the format {@code value1, value2, ...}.
+     */
+    private static Values values(final String declaration) {
+        final List<String> values = Arrays.stream(declaration.split(",")).map(String::strip).filter(v -> !v.isEmpty()).toList();
+        if(values.isEmpty()) {
+            throw new IllegalArgumentException("at least one value must be given");
+        }
+
+        return new ValueList(values);
+    }
+
+    /**
+     * Checks if the document has any sweep declaration.
+     * @return
+     */
+    public boolean isSweep() {
+        return !sweeps.isEmpty();
+    }
+
+    /**
+     * Gets the number of combinations of values for the swept entries,
+     * which is the number of documents the sweep expands to.
+     * @return
+     */
+    public long getCombinations() {
+        return combinations;
+    }
+
+    /**
+     * Gets the YAML document for a combination of values.
+     * @param combination the index of the combination, from 0 to {@link #getCombinations()}-1
+     * @return the document where each sweep declaration is replaced by a single value
+     */
+    public String getDocument(final long combination) {
+        if(sweeps.isEmpty()) {
+            return String.join("\n", lines);
+        }
+
+        final String[] document = lines.clone();
+        final var values = values(combination);
+        for (int i = 0; i < sweeps.size(); i++) {
+            final Sweep sweep = sweeps.get(i);
+            document[sweep.line] = sweep.line(values[i]);
+        }
+
+        return String.join("\n", document);
+    }
+
+    /**
+     * Gets the value of each swept entry for a combination,
+     * in the order the sweeps are declared.
+     * @param combination the index of the combination, from 0 to {@link #getCombinations()}-1
+     * @return a map where each key is the path identifying a swept entry and each value is the entry value
+     */
+    public Map<String, String> getParameters(final long combination) {
+        if(sweeps.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final var values = values(combination);
+        final var parameters = new LinkedHashMap<String, String>();
+        for (int i = 0; i < sweeps.size(); i++) {
+            parameters.put(sweeps.get(i).name, unquote(values[i]));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Decodes the index of a combination into the value for each sweep,
+     * as a number where each digit is the index of a sweep value.
+     */
+    private String[] values(long combination) {
+        if(combination < 0 || combination >= combinations) {
+            throw new IndexOutOfBoundsException("Invalid combination " + combination + " for a sweep with " + combinations + " combinations");
+        }
+
+        final String[] values = new String[sweeps.size()];
+        for (int i = sweeps.size() - 1; i >= 0; i--) {
+            final Values sweepValues = sweeps.get(i).values;
+            values[i] = sweepValues.get(combination % sweepValues.size());
+            combination /= sweepValues.size();
+        }
+
+        return values;
+    }
+
+    private static String unquote(final String value) {
+        final boolean quoted = value.length() > 1 &&
+                               (value.startsWith("\"") && value.endsWith("\"") || value.startsWith("'") && value.endsWith("'"));
+        return quoted ? value.substring(1, value.length() - 1) : value;
+    }
+}
@@ -30,15 +30,20 @@ import cloudreports.models.DatacenterRegistry;
 import cloudreports.models.HostRegistry;
 import cloudreports.models.VmRegistry;
 import org.cloudsimplus.allocationpolicies.VmAllocationPolicy;
+import org.cloudsimplus.automation.jfr.PolicyFactoryEvent;
 import org.cloudsimplus.provisioners.PeProvisioner;
 import org.cloudsimplus.provisioners.ResourceProvisioner;
 import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.schedulers.vm.VmScheduler;
 import org.cloudsimplus.utilizationmodels.UtilizationModel;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,138 +52,189 @@ import java.util.logging.Logger;
  * {@link CloudletScheduler}, {@link ResourceProvisioner} and others from the class name of
  * the object to be instantiated.
  *
+ * <p>Reflection is used just once for each class name, to generate a {@link Supplier}
+ * that directly calls the class' default constructor (as a {@code SomeClass::new} method reference would).
+ * Such a factory is cached, so that creating a policy for every Host, PE, VM or Cloudlet
+ * is just a map lookup followed by a regular constructor call.</p>
+ *
  * @author Manoel Campos da Silva Filho
  */
 public class PolicyLoader {
-    /**
-     * Map of already loaded class, which are stored
-     * to speedup getting a class from its name.
-     * This way, after a class is get from the first time,
-     * it isn't used reflection anymore when a class with the same
-     * name is requested again.
-     * Each key is a full class name and each value is the class itself.
-     */
-    private static final Map<String, Class> map = new HashMap<>();
-
     /**
      * The base CloudSim package name.
      */
     private static final String PKG = "org.cloudsimplus";
 
+    private static final FactoryCache<VmScheduler> vmSchedulers =
+        new FactoryCache<>(PKG+".schedulers.vm", "VmScheduler");
+
+    private static final FactoryCache<ResourceProvisioner> resourceProvisioners =
+        new FactoryCache<>(PKG+".provisioners", "ResourceProvisioner");
+
+    private static final FactoryCache<PeProvisioner> peProvisioners =
+        new FactoryCache<>(PKG+".provisioners", "PeProvisioner");
+
+    private static final FactoryCache<VmAllocationPolicy> vmAllocationPolicies =
+        new FactoryCache<>(PKG+".allocationpolicies", "VmAllocationPolicy");
+
+    private static final FactoryCache<CloudletScheduler> cloudletSchedulers =
+        new FactoryCache<>(PKG+".schedulers.cloudlet", "CloudletScheduler");
+
+    private static final FactoryCache<UtilizationModel> utilizationModels =
+        new FactoryCache<>(PKG+".utilizationmodels", "UtilizationModel");
+
     /**
-     * Try to get a class corresponding to its full name from
-     * the map of already loaded classes.
-     * If the class was not loaded yet, try to load
-     * and return it.
-     * @param fullClassName the full qualified name of the class (including package name)
-     * @return the loaded class
+     * Stores the already generated factories for the classes of a given kind of policy,
+     * which are all in the same package and have the same name prefix.
+     * Each key is a class name suffix (as given in the YAML file) and each value
+     * is the factory that creates instances of such a class.
+     *
+     * @param <T> the type of the objects created by the factories
      */
-    private static <T> Class<T> loadClass(final String fullClassName){
-        Class<T> klass = map.get(fullClassName);
-        if(klass == null){
+    private static final class FactoryCache<T> {
+        private final String packageName;
+        private final String classPrefix;
+        private final Map<String, Supplier<T>> factories;
+
+        FactoryCache(final String packageName, final String classPrefix) {
+            this.packageName = packageName;
+            this.classPrefix = classPrefix;
+            this.factories = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Gets the factory for a class from the map of already generated factories.
+         * If the factory was not generated yet, try to generate and store it.
+         * @param classSuffix the class name suffix (such as "Simple" or "TimeShared")
+         * @return the factory to create instances of the class
+         */
+        Supplier<T> get(final String classSuffix) throws RuntimeException {
+            if(classSuffix == null){
+                throw new IllegalArgumentException(classPrefix + " class name suffix was not specified.");
+            }
+
+            return factories.computeIfAbsent(classSuffix, this::createFactory);
+        }
+
+        private Supplier<T> createFactory(final String classSuffix) throws RuntimeException {
+            final String className = generateFullClassName(packageName, classPrefix, classSuffix);
             try {
-                klass = (Class<T>) Class.forName(fullClassName);;
-                map.put(fullClassName, klass);
-                return klass;
+                final Class<?> klass = Class.forName(className);
+                return PolicyLoader.createFactory(klass);
             } catch (ClassNotFoundException e) {
-                Logger.getLogger(PolicyLoader.class.getName()).log(Level.SEVERE, null, e);
-                throw new RuntimeException(e);
+                throw new IllegalArgumentException(
+                    String.format("Unknown %s '%s' (class %s not found)", classPrefix, classSuffix, className), e);
             }
         }
-
-        return klass;
     }
 
-    public static VmScheduler vmScheduler(final String classSuffix) throws RuntimeException {
+    /**
+     * Generates a {@link Supplier} that calls the default constructor of a given class,
+     * using {@link LambdaMetafactory} (the same mechanism used for method references).
+     * This way, after the factory is generated, it doesn't use reflection anymore.
+     *
+     * @param klass the class to generate a factory for
+     * @return the factory to create instances of the class
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> createFactory(final Class<?> klass) throws RuntimeException {
+        final var event = new PolicyFactoryEvent(klass.getName());
         try {
-            final String className = generateFullClassName(PKG+".schedulers.vm","VmScheduler", classSuffix);
-            final Class<VmScheduler> klass = PolicyLoader.<VmScheduler>loadClass(className);
-            final var constructor = klass.getConstructor(new Class[]{});
-            return constructor.newInstance();
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+            final var lookup = MethodHandles.lookup();
+            final MethodHandle constructor = lookup.findConstructor(klass, MethodType.methodType(void.class));
+            final var callSite = LambdaMetafactory.metafactory(
+                lookup, "get", MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class), constructor, MethodType.methodType(klass));
+            return (Supplier<T>) callSite.getTarget().invoke();
+        } catch (Throwable ex) {
             Logger.getLogger(PolicyLoader.class.getName()).log(Level.SEVERE, null, ex);
             throw new RuntimeException(ex);
+        } finally {
+            event.commit();
         }
     }
 
     /**
-     * Gets an instance of a resource provisioner with a given
-     * class name information.
-     *
-     * @param classPrefix The class prefix for the provisioner.
-     * If you want to instantiate the provisioner class BwProvisionerSimple,
-     * the provisioner prefix is "Bw"
-     * @param classSufix The class suffix of the provisioner.
-     * If you want to instantiate the provisioner class BwProvisionerSimple,
+     * Gets a factory for the {@link VmScheduler} class with the given name suffix.
+     * @param classSuffix the class suffix of the scheduler (such as "TimeShared" for VmSchedulerTimeShared)
+     * @return
+     */
+    public static Supplier<VmScheduler> vmSchedulerFactory(final String classSuffix) throws RuntimeException {
+        return vmSchedulers.get(classSuffix);
+    }
+
+    public static VmScheduler vmScheduler(final String classSuffix) throws RuntimeException {
+        return vmSchedulerFactory(classSuffix).get();
+    }
+
+    /**
+     * Gets a factory for the {@link ResourceProvisioner} class with the given name suffix.
+     * @param classSuffix the class suffix of the provisioner.
+     * If you want to instantiate the provisioner class ResourceProvisionerSimple,
      * the provisioner suffix is just "Simple"
-     * @return A new instance of the provisioner with the given name.
-     * For instance, if the class suffix is "Simple",
-     * returns an instance the ResourceProvisionerSimple class.
-     * @throws RuntimeException
+     * @return
      */
-    private static <T extends ResourceProvisioner> T resourceProvisioner(
-        final String classPrefix, final String classSufix) throws RuntimeException {
-        try {
-            final String className = generateFullProvisionerClassName(classPrefix, classSufix);
-            final Class<ResourceProvisioner> klass = PolicyLoader.<ResourceProvisioner>loadClass(className);
-            final var constructor = klass.getConstructor(new Class[]{});
-            return (T)constructor.newInstance();
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            Logger.getLogger(PolicyLoader.class.getName()).log(Level.SEVERE, null, ex);
-            throw new RuntimeException(ex);
-        }
+    public static Supplier<ResourceProvisioner> resourceProvisionerFactory(final String classSuffix) throws RuntimeException {
+        return resourceProvisioners.get(classSuffix);
     }
 
     public static ResourceProvisioner newResourceProvisioner(final HostRegistry hr) throws RuntimeException {
-        return resourceProvisioner("", hr.getBwProvisioner());
+        return resourceProvisionerFactory(hr.getBwProvisioner()).get();
+    }
+
+    /**
+     * Gets a factory for the {@link PeProvisioner} class with the given name suffix.
+     * @param classSuffix the class suffix of the provisioner (such as "Simple" for PeProvisionerSimple)
+     * @return
+     */
+    public static Supplier<PeProvisioner> peProvisionerFactory(final String classSuffix) throws RuntimeException {
+        return peProvisioners.get(classSuffix);
     }
 
     public static PeProvisioner newPeProvisioner(final HostRegistry hr) throws RuntimeException {
-        return resourceProvisioner("Pe", hr.getPeProvisioner());
+        return peProvisionerFactory(hr.getPeProvisioner()).get();
+    }
+
+    /**
+     * Gets a factory for the {@link VmAllocationPolicy} class with the given name suffix.
+     * @param classSuffix the class suffix of the policy (such as "Simple" for VmAllocationPolicySimple)
+     * @return
+     */
+    public static Supplier<VmAllocationPolicy> vmAllocationPolicyFactory(final String classSuffix) throws RuntimeException {
+        return vmAllocationPolicies.get(classSuffix);
     }
 
     public static VmAllocationPolicy vmAllocationPolicy(final DatacenterRegistry dcr) throws RuntimeException {
-        try {
-            final String className = generateFullClassName(PKG+".allocationpolicies","VmAllocationPolicy", dcr.getVmAllocationPolicy());
-            final Class<VmAllocationPolicy> klass = PolicyLoader.<VmAllocationPolicy>loadClass(className);
-            final var constructor = klass.getConstructor(new Class[]{});
-            return constructor.newInstance();
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            Logger.getLogger(PolicyLoader.class.getName()).log(Level.SEVERE, null, ex);
-            throw new RuntimeException(ex);
-        }
+        return vmAllocationPolicyFactory(dcr.getVmAllocationPolicy()).get();
+    }
+
+    /**
+     * Gets a factory for the {@link CloudletScheduler} class with the given name suffix.
+     * @param classSuffix the class suffix of the scheduler (such as "TimeShared" for CloudletSchedulerTimeShared)
+     * @return
+     */
+    public static Supplier<CloudletScheduler> cloudletSchedulerFactory(final String classSuffix) throws RuntimeException {
+        return cloudletSchedulers.get(classSuffix);
     }
 
     public static CloudletScheduler cloudletScheduler(final VmRegistry vmr) throws RuntimeException {
-        try {
-            final String className = generateFullClassName(PKG+".schedulers.cloudlet","CloudletScheduler", vmr.getCloudletScheduler());
-            final Class<CloudletScheduler> klass = PolicyLoader.<CloudletScheduler>loadClass(className);
-            final var constructor = klass.getConstructor();
-            return constructor.newInstance();
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            Logger.getLogger(PolicyLoader.class.getName()).log(Level.SEVERE, null, ex);
-            throw new RuntimeException(ex);
-        }
+        return cloudletSchedulerFactory(vmr.getCloudletScheduler()).get();
     }
 
     private static String generateFullClassName(String packageName, String classPrefix, String classSuffix) {
         return String.format("%s.%s%s", packageName, classPrefix, classSuffix);
     }
 
-    private static String generateFullProvisionerClassName(String classPrefix, String classSuffix) {
-        classPrefix = (classPrefix.isEmpty() ? "ResourceProvisioner" : classPrefix+"Provisioner");
-        return generateFullClassName(PKG+".provisioners", classPrefix, classSuffix);
+    /**
+     * Gets a factory for the {@link UtilizationModel} class with the given name suffix.
+     * @param classSuffix the class suffix of the model (such as "Full" for UtilizationModelFull)
+     * @return
+     */
+    public static Supplier<UtilizationModel> utilizationModelFactory(final String classSuffix) throws RuntimeException {
+        return utilizationModels.get(classSuffix);
     }
 
     public static UtilizationModel utilizationModel(final String classSuffix) throws RuntimeException {
-        try {
-            final String className = generateFullClassName(PKG+".utilizationmodels", "UtilizationModel", classSuffix);
-            final Class<UtilizationModel> klass = PolicyLoader.<UtilizationModel>loadClass(className);
-            final var constructor = klass.getConstructor();
-            return constructor.newInstance();
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            Logger.getLogger(PolicyLoader.class.getName()).log(Level.SEVERE, null, ex);
-            throw new RuntimeException(ex);
-        }
+        return utilizationModelFactory(classSuffix).get();
     }
 }
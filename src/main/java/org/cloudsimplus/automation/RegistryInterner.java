@@ -0,0 +1,163 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the registries of the scenarios read from a file (such as hosts and VMs)
+ * by a single instance for each distinct definition.
+ * This way, when the same definitions are repeated across lots of scenarios
+ * (or parameter sweep combinations), the memory used for registries depends on the number
+ * of distinct definitions, instead of the total number of times they are used.
+ * Such shared instances must not be changed.
+ *
+ * <p>Each reader uses its own instance of this class, from the thread consuming the scenarios.
+ * Just the {@link #MAX_DEFINITIONS} most recently used definitions are kept,
+ * so that the memory used doesn't grow with the number of scenarios.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+final class RegistryInterner {
+    /** The maximum number of distinct definitions kept. */
+    private static final int MAX_DEFINITIONS = 10_000;
+
+    /** The canonical instance for each definition, where the key is the content of the registry. */
+    private final Map<String, Object> definitions;
+
+    /**
+     * A unique id for each canonical instance, which identifies it
+     * inside the content of the registries containing it.
+     */
+    private final Map<Object, Long> ids;
+
+    private long nextId;
+
+    /**
+     * A registry already interned for the current scenario.
+     * @param canonical the canonical instance for the registry definition
+     * @param token the text identifying the canonical instance inside the content of other registries
+     */
+    private record Interned(Object canonical, String token) { }
+
+    RegistryInterner() {
+        this.ids = new IdentityHashMap<>();
+        this.definitions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Object> eldest) {
+                if(size() > MAX_DEFINITIONS) {
+                    ids.remove(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Replaces each registry inside a scenario by the canonical instance for its definition.
+     * @param scenario the scenario to intern the registries
+     * @return the given scenario
+     */
+    YamlCloudScenario intern(final YamlCloudScenario scenario) {
+        internLists(scenario, new IdentityHashMap<>());
+        return scenario;
+    }
+
+    /**
+     * Interns the registries in the lists of an object.
+     * @param object the object whose lists will be interned
+     * @param interned the registries already interned for the current scenario
+     * @return the ids of the registries inside each list, in the format {@code [id, id, ...]},
+     *         which are part of the object content
+     */
+    private String internLists(final Object object, final Map<Object, Interned> interned) {
+        final var content = new StringBuilder();
+        for (final var property : RegistryProperties.of(object.getClass()).all()) {
+            if(!property.isList() || property.getter() == null) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            final List<Object> list = (List<Object>) property.get(object);
+            content.append(property.name()).append('[');
+            if(list != null) {
+                for (int i = 0; i < list.size(); i++) {
+                    final Object element = list.get(i);
+                    final Interned registry = internRegistry(element, interned);
+                    if(registry.canonical != element) {
+                        list.set(i, registry.canonical);
+                    }
+                    content.append(registry.token).append(',');
+                }
+            }
+            content.append(']');
+        }
+
+        return content.toString();
+    }
+
+    private Interned internRegistry(final Object registry, final Map<Object, Interned> interned) {
+        if(registry == null || !RegistryProperties.TAGS.containsValue(registry.getClass())) {
+            /* Such as an !include which is resolved later */
+            return new Interned(registry, String.valueOf(registry));
+        }
+
+        final Interned existing = interned.get(registry);
+        if(existing != null) {
+            return existing;
+        }
+
+        final String key = key(registry, internLists(registry, interned));
+        final Object canonical = definitions.computeIfAbsent(key, k -> {
+            ids.put(registry, nextId++);
+            return registry;
+        });
+        /* The canonical instance was just used, so it's still kept and has an id */
+        final var result = new Interned(canonical, "#" + ids.get(canonical));
+        interned.put(registry, result);
+        return result;
+    }
+
+    /**
+     * Gets the content of a registry, including the class and the value of all properties.
+     * @param registry the registry
+     * @param lists the content of the lists inside the registry
+     */
+    private static String key(final Object registry, final String lists) {
+        final var key = new StringBuilder(registry.getClass().getSimpleName()).append('{');
+        for (final var property : RegistryProperties.of(registry.getClass()).all()) {
+            if(!property.isList() && property.getter() != null) {
+                final Object value = property.get(registry);
+                /* Null is distinguished from the "null" string */
+                key.append(value == null ? "\1" : value).append('\0');
+            }
+        }
+
+        return key.append(lists).append('}').toString();
+    }
+}
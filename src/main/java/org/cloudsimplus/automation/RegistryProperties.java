@@ -0,0 +1,262 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import cloudreports.models.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The properties of the {@link YamlCloudScenario} and registry classes (such as {@link DatacenterRegistry}),
+ * which are used by the {@link FastScenarioReader} to bind the entries of a scenario file
+ * directly to such objects and by the {@link JsonScenarioWriter} to write them.
+ *
+ * <p>The properties of a class are its public setters (as the ones used by yamlbeans).
+ * They are found by reflection just once for each class.</p>
+ *
+ * @param <T> the class the properties belong to
+ * @author Manoel Campos da Silva Filho
+ */
+final class RegistryProperties<T> {
+    /**
+     * The tags identifying the registry classes inside YAML files.
+     * @see YamlCloudScenarioReader#createYamlConfig()
+     */
+    static final Map<String, Class<?>> TAGS = Map.of(
+        "datacenter", DatacenterRegistry.class,
+        "customer", CustomerRegistry.class,
+        "san", SanStorageRegistry.class,
+        "host", HostRegistry.class,
+        "cloudlet", CloudletRegistry.class,
+        "vm", VmRegistry.class);
+
+    private static final Map<Class<?>, RegistryProperties<?>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * A property of a class.
+     * @param name the property name, which is the entry name inside a scenario file
+     * @param getter the method to get the property value, or null if there is no such a method
+     * @param setter the method to set the property value
+     * @param type the property type
+     * @param elementType the type of the elements if the property is a {@link List}, or null otherwise
+     */
+    record Property(String name, Method getter, Method setter, Class<?> type, Class<?> elementType) {
+        boolean isList() {
+            return elementType != null;
+        }
+
+        /**
+         * Sets the value of the property for an object.
+         * @param target the object to set the property value
+         * @param value the value to set
+         */
+        void set(final Object target, final Object value) {
+            try {
+                setter.invoke(target, value);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Error setting " + name + " for " + target.getClass().getSimpleName(), e);
+            }
+        }
+
+        /**
+         * Gets the value of the property for an object.
+         * @param target the object to get the property value
+         * @return
+         */
+        Object get(final Object target) {
+            try {
+                return getter.invoke(target);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Error getting " + name + " for " + target.getClass().getSimpleName(), e);
+            }
+        }
+
+        /**
+         * Converts the text of a scalar value to the type of the property.
+         * @param value the text to convert, or null for no value
+         * @return the converted value
+         * @throws IllegalArgumentException when the text is not a valid value for the property
+         */
+        Object convert(final String value) {
+            if(value == null) {
+                if(type.isPrimitive()) {
+                    throw new IllegalArgumentException("A value is required for " + name);
+                }
+                return null;
+            }
+
+            try {
+                if(type == String.class) {
+                    return value;
+                }
+                if(type == int.class || type == Integer.class) {
+                    return Integer.valueOf(value);
+                }
+                if(type == long.class || type == Long.class) {
+                    return Long.valueOf(value);
+                }
+                if(type == double.class || type == Double.class) {
+                    return Double.valueOf(value);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid %s value for %s: %s", type.getSimpleName(), name, value), e);
+            }
+
+            if(type == boolean.class || type == Boolean.class) {
+                /* As yamlbeans does, any value other than "true" is false (such as "vmMigration: enabled") */
+                return Boolean.valueOf(value);
+            }
+
+            throw new IllegalArgumentException(String.format("Entry %s cannot have a single value", name));
+        }
+    }
+
+    private final Class<T> klass;
+    private final Constructor<T> constructor;
+    private final Map<String, Property> properties;
+
+    /** An instance with the default values of the properties. */
+    private final T defaults;
+
+    private RegistryProperties(final Class<T> klass) {
+        this.klass = klass;
+        try {
+            this.constructor = klass.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(klass.getName() + " has no default constructor", e);
+        }
+
+        this.properties = Collections.unmodifiableMap(findProperties(klass));
+        this.defaults = newInstance();
+    }
+
+    /**
+     * Gets the properties of a given class.
+     * @param klass the class to get the properties
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RegistryProperties<T> of(final Class<T> klass) {
+        return (RegistryProperties<T>) CACHE.computeIfAbsent(klass, RegistryProperties::new);
+    }
+
+    private static Map<String, Property> findProperties(final Class<?> klass) {
+        final var properties = new TreeMap<String, Property>();
+        for (final Method setter : klass.getMethods()) {
+            if(!isSetter(setter)) {
+                continue;
+            }
+
+            final String suffix = setter.getName().substring(3);
+            final String name = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+            final Class<?> type = setter.getParameterTypes()[0];
+            final Class<?> elementType = type == List.class ? elementType(setter) : null;
+            properties.put(name, new Property(name, getter(klass, setter, type), setter, type, elementType));
+        }
+
+        return properties;
+    }
+
+    private static boolean isSetter(final Method method) {
+        return method.getName().startsWith("set") && method.getName().length() > 3 &&
+               method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers());
+    }
+
+    private static Class<?> elementType(final Method setter) {
+        if(setter.getGenericParameterTypes()[0] instanceof ParameterizedType listType &&
+           listType.getActualTypeArguments()[0] instanceof Class<?> elementClass)
+        {
+            return elementClass;
+        }
+
+        throw new IllegalArgumentException("Unknown element type for the list in " + setter);
+    }
+
+    private static Method getter(final Class<?> klass, final Method setter, final Class<?> type) {
+        final String suffix = setter.getName().substring(3);
+        for (final String prefix : type == boolean.class ? new String[]{"is", "get"} : new String[]{"get"}) {
+            try {
+                final Method getter = klass.getMethod(prefix + suffix);
+                if(getter.getReturnType() == type) {
+                    return getter;
+                }
+            } catch (NoSuchMethodException e) {
+                /* Tries the next prefix */
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a property by its name.
+     * @param name the property name
+     * @return the property
+     * @throws IllegalArgumentException when the class has no such a property
+     */
+    Property get(final String name) {
+        final var property = properties.get(name);
+        if(property == null) {
+            throw new IllegalArgumentException(String.format("Unknown entry '%s' for %s", name, klass.getSimpleName()));
+        }
+
+        return property;
+    }
+
+    /**
+     * Gets all the properties, sorted by name.
+     * @return
+     */
+    Iterable<Property> all() {
+        return properties.values();
+    }
+
+    /**
+     * Creates an object with the default values for all properties.
+     * @return
+     */
+    T newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Error creating " + klass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Gets an object with the default values for all properties, which must not be changed.
+     * @return
+     */
+    T getDefaults() {
+        return defaults;
+    }
+}
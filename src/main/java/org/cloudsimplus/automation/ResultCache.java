@@ -0,0 +1,302 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.automation.results.ResultSink;
+import org.cloudsimplus.automation.results.RunMetrics;
+import org.cloudsimplus.core.CloudSimPlus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A local on-disk cache for the results of simulations,
+ * so that running a scenario that hasn't changed just prints the results from its last run.
+ *
+ * <p>Each entry is identified by a SHA-256 hash of the scenario (as canonical YAML,
+ * with the entries sorted by name and without default values),
+ * the simulation seed and settings, the CloudSim Plus and CloudSim Plus Automation versions
+ * and the {@link #CACHE_FORMAT}.
+ * The simulation label and the {@link YamlCloudScenario#getReplications() replications} entry
+ * aren't part of the hash, so that the same scenario (or replication seed) gets the same entry
+ * in different files.</p>
+ *
+ * <p>Entries store the simulation output and {@link RunMetrics}. Simulations whose results
+ * are written elsewhere (to a {@link CloudSimulation#setResultSink(ResultSink) result sink}
+ * or {@link CloudSimulation#setBinaryResultsDir(Path) binary files}) or that have the log enabled
+ * aren't cached, since just the printed results are stored.
+ * Simulations aren't cached either when the CloudSim Plus Automation version is unknown
+ * (such as when running from an IDE instead of the jar file),
+ * since then the results of different versions couldn't be told apart.</p>
+ *
+ * <p>The total size of the cache is bounded: when it is exceeded,
+ * the least recently used entries are removed.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class ResultCache {
+    private static final Logger LOGGER = Logger.getLogger(ResultCache.class.getName());
+    private static final String EXTENSION = ".result";
+
+    /**
+     * The version of the simulation behaviour, which is part of every key.
+     * It must be increased whenever a change makes the same scenario produce different results,
+     * so that entries stored by previous builds are not used.
+     */
+    static final int CACHE_FORMAT = 2;
+
+    /**
+     * The CloudSim Plus Automation version, read from the jar manifest,
+     * or null when it isn't available.
+     */
+    private static final String VERSION = CloudSimulation.class.getPackage().getImplementationVersion();
+
+    /**
+     * A cached simulation result.
+     * @param metrics the metrics of the simulation
+     * @param output the text printed by the simulation
+     */
+    public record Entry(RunMetrics metrics, String output) {}
+
+    private final Path dir;
+    private final long maxBytes;
+    private long totalBytes;
+
+    /**
+     * Opens a cache in a given directory, creating it if it doesn't exist.
+     * @param dir the directory to store the cache entries
+     * @param maxBytes the maximum size for all entries, in bytes
+     * @throws IOException when the directory cannot be created or read
+     */
+    public ResultCache(final Path dir, final long maxBytes) throws IOException {
+        if(maxBytes <= 0) {
+            throw new IllegalArgumentException("The maximum cache size must be greater than zero.");
+        }
+
+        this.dir = Files.createDirectories(dir);
+        this.maxBytes = maxBytes;
+        this.totalBytes = entries().stream().mapToLong(ResultCache::size).sum();
+    }
+
+    /**
+     * Gets the default directory for the cache, inside the user cache directory.
+     * @return
+     */
+    public static Path getDefaultDir() {
+        return Path.of(System.getProperty("user.home"), ".cache", "cloudsimplus-automation");
+    }
+
+    /**
+     * Computes the key identifying the results of a simulation in the cache.
+     * @param simulation the simulation to compute the key for
+     * @return the key or null if the results of the simulation cannot be cached
+     */
+    public String key(final CloudSimulation simulation) {
+        if(VERSION == null || simulation.isLogEnabled() || simulation.getResultSink() != ResultSink.NULL || simulation.getBinaryResultsDir() != null) {
+            return null;
+        }
+
+        return contentKey(simulation);
+    }
+
+    /**
+     * Computes a key that identifies the content of a simulation (its scenario, seed, settings,
+     * the tool versions and the {@link #CACHE_FORMAT}), which changes only when the simulation may produce different results.
+     * @param simulation the simulation to compute the key for
+     * @return
+     * @see #key(CloudSimulation)
+     */
+    static String contentKey(final CloudSimulation simulation) {
+        final var content = new StringBuilder()
+            .append("cloudsimplus: ").append(CloudSimPlus.VERSION).append('\n')
+            .append("automation: ").append(VERSION).append(' ').append(CACHE_FORMAT).append('\n')
+            .append("seed: ").append(simulation.getSeed()).append('\n')
+            .append("settings: ")
+            .append(simulation.getCloudletBatchSize()).append(' ')
+            .append(simulation.isShowResults()).append(' ')
+            .append(simulation.isStatisticsEnabled()).append(' ')
+            .append(simulation.isPrintScenariosConfiguration()).append(' ')
+            .append(simulation.isShareUtilizationModels()).append('\n')
+            .append(canonicalYaml(simulation.getPlan().getScenario()));
+
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the YAML for a scenario without the entries that don't change its results
+     * (the top-level replications and seed, since each replication has its own seed).
+     */
+    private static String canonicalYaml(final YamlCloudScenario scenario) {
+        return YamlCloudScenarioWriter.toYaml(scenario)
+            .lines()
+            .filter(line -> !line.startsWith("replications:") && !line.startsWith("seed:"))
+            .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Gets the message printed after the results loaded from the cache.
+     * @param key the key of the cached results
+     * @return
+     */
+    static String loadedMessage(final String key) {
+        return String.format("Results loaded from the cache (entry %s)%n%n", key);
+    }
+
+    /**
+     * Gets a cached result, marking it as recently used.
+     * @param key the key of the result
+     * @return the cached result or null if it isn't in the cache
+     */
+    public synchronized Entry get(final String key) {
+        final Path file = file(key);
+        if(!Files.exists(file)) {
+            return null;
+        }
+
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final var result = SimulationWorker.readResult(reader);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new Entry(result.metrics(), result.output());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Removing invalid cache entry " + file, e);
+            remove(file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a result into the cache, removing the least recently used entries
+     * if the maximum cache size is exceeded.
+     * Failures to write the entry are just logged, since the result is still available.
+     * @param key the key of the result
+     * @param metrics the metrics of the simulation
+     * @param output the text printed by the simulation
+     */
+    public synchronized void put(final String key, final RunMetrics metrics, final String output) {
+        final Path file = file(key);
+        try {
+            final Path tmp = Files.createTempFile(dir, key, ".tmp");
+            try (var writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                SimulationWorker.writeDone(writer, 0, metrics, output);
+            }
+
+            final long previousSize = Files.exists(file) ? size(file) : 0;
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            totalBytes += size(file) - previousSize;
+            evict();
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Error storing cache entry " + file, e);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the total size is within the limit.
+     */
+    private void evict() throws IOException {
+        if(totalBytes <= maxBytes) {
+            return;
+        }
+
+        final List<Path> entries = entries();
+        entries.sort(Comparator.comparing(ResultCache::lastModified));
+        for (final Path entry : entries) {
+            if(totalBytes <= maxBytes) {
+                break;
+            }
+
+            remove(entry);
+        }
+    }
+
+    private void remove(final Path file) {
+        try {
+            final long size = size(file);
+            if(Files.deleteIfExists(file)) {
+                totalBytes -= size;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Error removing cache entry " + file, e);
+        }
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).collect(Collectors.toList());
+        }
+    }
+
+    private Path file(final String key) {
+        return dir.resolve(key + EXTENSION);
+    }
+
+    private static long size(final Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileTime lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Gets the current size of all entries in the cache, in bytes.
+     * @return
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+}
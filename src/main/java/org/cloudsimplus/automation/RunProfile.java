@@ -0,0 +1,246 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.automation.jfr.PhaseEvent;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the time, memory allocation and garbage collection spent in each
+ * {@link Phase} of a simulation run, from parsing the YAML file to printing the results.
+ *
+ * <p>The wall-clock time is measured with {@link System#nanoTime()}.
+ * The allocated bytes are measured just for the thread running each phase
+ * (when supported by the JVM). The number of garbage collections and their time
+ * are measured for the entire JVM, so they include collections caused by other
+ * simulations running at the same time.</p>
+ *
+ * <p>Each measured phase also emits a {@link PhaseEvent} for the JDK Flight Recorder.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see CloudSimulation#getProfile()
+ */
+public final class RunProfile {
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+    private static final List<GarbageCollectorMXBean> GC_BEANS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /**
+     * The phases of a simulation run.
+     */
+    public enum Phase {
+        PARSE("YAML parse"),
+        DATACENTERS("Datacenter/Host build"),
+        ENTITIES("Broker/VM/Cloudlet build"),
+        SUBMISSION("Submission"),
+        SIMULATION("Simulation"),
+        REPORT("Results");
+
+        private final String description;
+
+        Phase(final String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * The resources spent in a phase.
+     * @param wallNanos the elapsed wall-clock time (in nanoseconds)
+     * @param allocatedBytes the bytes allocated by the thread running the phase, or -1 if not supported
+     * @param gcCount the number of garbage collections
+     * @param gcMillis the time spent in garbage collections (in milliseconds)
+     */
+    public record PhaseStats(long wallNanos, long allocatedBytes, long gcCount, long gcMillis) {
+        public static final PhaseStats ZERO = new PhaseStats(0, 0, 0, 0);
+
+        PhaseStats plus(final PhaseStats other) {
+            final long allocated = allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes;
+            return new PhaseStats(wallNanos + other.wallNanos, allocated, gcCount + other.gcCount, gcMillis + other.gcMillis);
+        }
+
+        /**
+         * Gets the elapsed wall-clock time in seconds.
+         * @return
+         */
+        public double wallSeconds() {
+            return wallNanos / 1e9;
+        }
+    }
+
+    /**
+     * The values of the measured counters at a given instant,
+     * used to compute the resources spent since then.
+     */
+    public static final class Snapshot {
+        private final long nanos;
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Snapshot() {
+            this.nanos = System.nanoTime();
+            this.allocatedBytes = THREAD_BEAN == null ? -1 : THREAD_BEAN.getCurrentThreadAllocatedBytes();
+            long count = 0, millis = 0;
+            for (final var gc : GC_BEANS) {
+                count += Math.max(gc.getCollectionCount(), 0);
+                millis += Math.max(gc.getCollectionTime(), 0);
+            }
+            this.gcCount = count;
+            this.gcMillis = millis;
+        }
+
+        /**
+         * Takes a snapshot of the counters for the current thread.
+         * @return
+         */
+        public static Snapshot take() {
+            return new Snapshot();
+        }
+
+        /**
+         * Gets the resources spent since this snapshot was taken.
+         * Must be called from the same thread that took the snapshot.
+         * @return
+         */
+        public PhaseStats elapsed() {
+            final var now = new Snapshot();
+            final long allocated = allocatedBytes < 0 ? -1 : now.allocatedBytes - allocatedBytes;
+            return new PhaseStats(now.nanos - nanos, allocated, now.gcCount - gcCount, now.gcMillis - gcMillis);
+        }
+    }
+
+    private final String label;
+    private final Map<Phase, PhaseStats> phases;
+    private Phase currentPhase;
+    private Snapshot phaseStart;
+    private PhaseEvent phaseEvent;
+
+    /**
+     * Instantiates a profile for a simulation run.
+     * @param label the label of the simulation scenario
+     */
+    public RunProfile(final String label) {
+        this.label = label;
+        this.phases = new EnumMap<>(Phase.class);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean &&
+           bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled())
+        {
+            return bean;
+        }
+
+        return null;
+    }
+
+    /**
+     * Starts measuring a phase, ending the current one (if any).
+     * @param phase the phase to start
+     */
+    public void begin(final Phase phase) {
+        end();
+        currentPhase = phase;
+        phaseEvent = new PhaseEvent(label, phase.getDescription());
+        phaseStart = Snapshot.take();
+    }
+
+    /**
+     * Ends the current phase (if any), adding the resources spent since it started.
+     */
+    public void end() {
+        if(currentPhase != null){
+            add(currentPhase, phaseStart.elapsed());
+            phaseEvent.commit();
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * Adds the resources spent in a phase, which were measured elsewhere.
+     * @param phase the phase to add the resources to
+     * @param stats the resources spent
+     */
+    public void add(final Phase phase, final PhaseStats stats) {
+        phases.merge(phase, stats, PhaseStats::plus);
+    }
+
+    /**
+     * Gets the resources spent in a phase.
+     * @param phase the phase to get the stats
+     * @return the stats, which are zero if the phase didn't run
+     */
+    public PhaseStats get(final Phase phase) {
+        return phases.getOrDefault(phase, PhaseStats.ZERO);
+    }
+
+    /**
+     * Gets the resources spent in all phases.
+     * @return
+     */
+    public PhaseStats getTotal() {
+        return phases.values().stream().reduce(PhaseStats.ZERO, PhaseStats::plus);
+    }
+
+    /**
+     * Gets the resources spent in all phases, except parsing the YAML file.
+     * @return
+     */
+    public PhaseStats getRunTotal() {
+        return phases.entrySet().stream()
+                     .filter(e -> e.getKey() != Phase.PARSE)
+                     .map(Map.Entry::getValue)
+                     .reduce(PhaseStats.ZERO, PhaseStats::plus);
+    }
+
+    /**
+     * Prints a table with the resources spent in each phase.
+     * @param out the stream to print the table to
+     */
+    public void print(final PrintStream out) {
+        final String[] captions = {"Phase                   ", "Time (ms)  ", "Allocated (MB)", "GCs   ", "GC time (ms)"};
+        LogUtils.printCaptions(out, captions);
+        for (final Phase phase : Phase.values()) {
+            printLine(out, captions, phase.getDescription(), get(phase));
+        }
+        printLine(out, captions, "Total", getTotal());
+    }
+
+    private static void printLine(final PrintStream out, final String[] captions, final String phase, final PhaseStats stats) {
+        LogUtils.printLine(out, captions,
+            phase,
+            String.format("%.3f", stats.wallNanos() / 1e6),
+            stats.allocatedBytes() < 0 ? "-" : String.format("%.2f", stats.allocatedBytes() / (1024.0 * 1024.0)),
+            stats.gcCount(),
+            stats.gcMillis());
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import com.esotericsoftware.yamlbeans.YamlConfig;
+import com.esotericsoftware.yamlbeans.YamlReader;
+import com.esotericsoftware.yamlbeans.scalar.ScalarSerializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the {@code !include} entries inside scenarios, which insert the registries defined in
+ * a fragment file into a list of registries (such as the hosts of a datacenter), as below:
+ *
+ * <pre>
+ * hosts:
+ *   - !include hosts.yml            # all the registries in the file
+ *   - !include fragments.yml#bigHost # just the registry (or list of registries) named bigHost
+ * </pre>
+ *
+ * <p>A fragment file is a YAML document with a single registry (such as a {@code !host}),
+ * a list of registries or a mapping where each key is the name of a registry or list of registries.
+ * Fragments may include other fragments and relative paths are resolved against the directory
+ * of the including file.</p>
+ *
+ * <p>Each fragment file is parsed just once and its registries are cached,
+ * being shared by all scenarios that include them (so they must not be changed).
+ * A cached fragment is parsed again only if its file changes.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+final class ScenarioFragments {
+    /** The tag used to include fragments. */
+    static final String INCLUDE_TAG = "include";
+
+    /** The maximum number of fragment files kept in the cache. */
+    private static final int MAX_CACHED_FILES = 256;
+
+    /**
+     * An {@code !include} entry, which is added to a list of registries when a scenario is parsed,
+     * to be replaced by the registries of a fragment.
+     * @param spec the fragment file path, optionally followed by {@code #} and the name of a definition inside it
+     */
+    record Include(String spec) { }
+
+    /**
+     * A parsed fragment file.
+     * @param modified the last modification time of the file when it was parsed
+     * @param size the size of the file when it was parsed
+     * @param definitions the registries in the file, where the key is the name of the definition
+     *                    (or an empty string for all the registries in the file)
+     */
+    private record Fragment(FileTime modified, long size, Map<String, List<Object>> definitions) { }
+
+    private static final Map<Path, Fragment> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Path, Fragment> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    };
+
+    private ScenarioFragments() {/**/}
+
+    /**
+     * Configures a {@link YamlConfig} to create an {@link Include} for each {@code !include} entry.
+     * @param cfg the configuration to set
+     */
+    static void configure(final YamlConfig cfg) {
+        cfg.setClassTag(INCLUDE_TAG, Include.class);
+        cfg.setScalarSerializer(Include.class, new ScalarSerializer<Include>() {
+            @Override
+            public String write(final Include include) {
+                return include.spec();
+            }
+
+            @Override
+            public Include read(final String value) {
+                return new Include(value);
+            }
+        });
+    }
+
+    /**
+     * Replaces the {@link Include}s inside a scenario by the registries of the included fragments.
+     * @param scenario the scenario to resolve the includes
+     * @param baseDir the directory relative fragment paths are resolved against
+     * @throws IllegalArgumentException when some fragment cannot be found or parsed,
+     *         or it has registries of a type which cannot be used where it's included
+     */
+    static void resolve(final YamlCloudScenario scenario, final Path baseDir) {
+        resolve(scenario, baseDir, new HashSet<>());
+    }
+
+    private static void resolve(final Object object, final Path baseDir, final Set<Path> including) {
+        for (final var property : RegistryProperties.of(object.getClass()).all()) {
+            if(!property.isList() || property.getter() == null) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            final List<Object> list = (List<Object>) property.get(object);
+            if(list == null) {
+                continue;
+            }
+
+            if(list.stream().anyMatch(Include.class::isInstance)) {
+                final var resolved = new ArrayList<>(list.size());
+                for (final Object element : list) {
+                    if(element instanceof Include include) {
+                        resolved.addAll(registries(include, property.elementType(), baseDir, including));
+                    } else {
+                        resolved.add(element);
+                    }
+                }
+                property.set(object, resolved);
+                continue;
+            }
+
+            for (final Object element : list) {
+                resolve(element, baseDir, including);
+            }
+        }
+    }
+
+    /**
+     * Gets the registries included by an {@link Include}.
+     * @param include the include entry
+     * @param elementType the type of the registries in the list the fragment is included into
+     * @param baseDir the directory relative paths are resolved against
+     * @param including the fragment files being loaded, to detect cyclic includes
+     */
+    private static List<Object> registries(
+        final Include include, final Class<?> elementType, final Path baseDir, final Set<Path> including)
+    {
+        final String spec = include.spec() == null ? "" : include.spec().strip();
+        final int separator = spec.lastIndexOf('#');
+        final String fileName = separator < 0 ? spec : spec.substring(0, separator);
+        final String name = separator < 0 ? "" : spec.substring(separator + 1);
+        if(fileName.isEmpty()) {
+            throw new IllegalArgumentException("The fragment file to include was not specified: !include " + spec);
+        }
+
+        final Path file = baseDir.resolve(fileName).toAbsolutePath().normalize();
+        final List<Object> registries = load(file, including).get(name);
+        if(registries == null) {
+            throw new IllegalArgumentException(name.isEmpty() ?
+                String.format("The fragment %s has named definitions. Use !include %s#NAME to include one of them", fileName, fileName) :
+                String.format("The fragment %s has no definition named '%s'", fileName, name));
+        }
+
+        for (final Object registry : registries) {
+            if(!elementType.isInstance(registry)) {
+                throw new IllegalArgumentException(String.format(
+                    "!include %s has a %s, which cannot be used as a %s",
+                    spec, registry.getClass().getSimpleName(), elementType.getSimpleName()));
+            }
+        }
+
+        return registries;
+    }
+
+    /**
+     * Gets the definitions of a fragment file from the cache,
+     * parsing the file if it isn't cached or it has changed since it was parsed.
+     */
+    private static synchronized Map<String, List<Object>> load(final Path file, final Set<Path> including) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Fragment file not found: " + file);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error reading the fragment file " + file + ": " + e.getMessage(), e);
+        }
+
+        final Fragment cached = CACHE.get(file);
+        if(cached != null && cached.modified.equals(attributes.lastModifiedTime()) && cached.size == attributes.size()) {
+            return cached.definitions;
+        }
+
+        if(!including.add(file)) {
+            throw new IllegalArgumentException("The fragment file " + file + " includes itself");
+        }
+
+        try {
+            final var definitions = parse(file, including);
+            CACHE.put(file, new Fragment(attributes.lastModifiedTime(), attributes.size(), definitions));
+            return definitions;
+        } finally {
+            including.remove(file);
+        }
+    }
+
+    private static Map<String, List<Object>> parse(final Path file, final Set<Path> including) {
+        final Object content;
+        try (var input = Files.newBufferedReader(file)) {
+            content = new YamlReader(input, YamlCloudScenarioReader.createYamlConfig()).read();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error parsing the fragment file " + file + ": " + e.getMessage(), e);
+        }
+
+        if(content == null) {
+            throw new IllegalArgumentException("The fragment file " + file + " is empty");
+        }
+
+        final Path dir = file.getParent();
+        final var definitions = new LinkedHashMap<String, List<Object>>();
+        if(content instanceof Map<?, ?> map) {
+            for (final var entry : map.entrySet()) {
+                definitions.put(String.valueOf(entry.getKey()), registries(file, entry.getValue(), dir, including));
+            }
+        } else {
+            definitions.put("", registries(file, content, dir, including));
+        }
+
+        return definitions;
+    }
+
+    /**
+     * Gets the registries from a value parsed from a fragment file,
+     * which may be a single registry or a list of registries (and includes).
+     */
+    private static List<Object> registries(final Path file, final Object value, final Path dir, final Set<Path> including) {
+        final List<?> values = value instanceof List<?> list ? list : List.of(value);
+        final var registries = new ArrayList<>(values.size());
+        for (final Object registry : values) {
+            if(registry instanceof Include include) {
+                registries.addAll(registries(include, Object.class, dir, including));
+            } else if(registry != null && RegistryProperties.TAGS.containsValue(registry.getClass())) {
+                resolve(registry, dir, including);
+                registries.add(registry);
+            } else {
+                throw new IllegalArgumentException(String.format(
+                    "The fragment file %s must have registries with tags such as !host, but it has: %s", file, registry));
+            }
+        }
+
+        return List.copyOf(registries);
+    }
+}
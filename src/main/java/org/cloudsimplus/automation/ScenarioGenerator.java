@@ -0,0 +1,378 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import cloudreports.models.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic {@link YamlCloudScenario Cloud Simulation Scenarios}
+ * of any size, to evaluate how the simulation scales when each dimension
+ * (number of Datacenters, Hosts, customers, VMs or Cloudlets) grows.
+ * The scenarios can be used directly or {@link #write(Writer) written as YAML}.
+ *
+ * <p>Each dimension is defined by the {@code amount} entry of a registry,
+ * so that the generated scenario is small, even for millions of Cloudlets.
+ * The heterogeneity of the scenario is defined by the number of host, VM
+ * and Cloudlet types, whose configurations are randomly drawn from the
+ * {@link #setSeed(long) seed}. The amount of each kind of entity is evenly
+ * split among its types. The same parameters and seed always generate
+ * the same scenario.</p>
+ *
+ * <p>The number of PEs and MIPS of VMs are drawn so that any VM fits
+ * into any type of Host and the number of PEs of Cloudlets
+ * doesn't exceed the PEs of any VM.
+ * However, the generator doesn't ensure that the Hosts have capacity
+ * for all VMs: that depends on the number of VMs for each Host.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class ScenarioGenerator {
+    private static final int[] HOST_PES = {16, 32, 64};
+    private static final int[] VM_PES = {1, 2, 4, 8};
+    private static final int[] VM_RAM = {512, 1024, 2048, 4096};
+
+    private int datacenters;
+    private int hostsPerDatacenter;
+    private int customers;
+    private int vmsPerCustomer;
+    private int cloudletsPerVm;
+    private int hostTypes;
+    private int vmTypes;
+    private int cloudletTypes;
+    private long seed;
+    private String vmAllocationPolicy;
+    private String cloudletScheduler;
+
+    /**
+     * Instantiates a generator for a tiny scenario with
+     * 1 Datacenter with 10 Hosts, 1 customer with 10 VMs and 10 Cloudlets per VM,
+     * where all entities of the same kind are equal.
+     */
+    public ScenarioGenerator() {
+        this.datacenters = 1;
+        this.hostsPerDatacenter = 10;
+        this.customers = 1;
+        this.vmsPerCustomer = 10;
+        this.cloudletsPerVm = 10;
+        this.hostTypes = 1;
+        this.vmTypes = 1;
+        this.cloudletTypes = 1;
+        this.vmAllocationPolicy = "Simple";
+        this.cloudletScheduler = "SpaceShared";
+    }
+
+    /**
+     * Generates a new scenario with the current parameters.
+     * @return the generated scenario
+     */
+    public YamlCloudScenario generate() {
+        final var random = new Random(seed);
+        final var hosts = createHosts(random);
+        final int minHostMips = (int) hosts.stream().mapToDouble(HostRegistry::getMips).min().orElse(0);
+        final int minHostPes = hosts.stream().mapToInt(HostRegistry::getPes).min().orElse(0);
+        final var vms = createVms(random, minHostPes, minHostMips);
+        final int minVmPes = vms.stream().mapToInt(VmRegistry::getPes).min().orElse(0);
+
+        final var dc = new DatacenterRegistry();
+        dc.setAmount(datacenters);
+        dc.setVmAllocationPolicy(vmAllocationPolicy);
+        dc.setCostPerSec(0.1);
+        dc.setCostPerMem(0.05);
+        dc.setCostPerStorage(0.001);
+        dc.setCostPerBw(0.1);
+        dc.setHosts(hosts);
+
+        final var customer = new CustomerRegistry();
+        customer.setAmount(customers);
+        customer.setVms(vms);
+        customer.setCloudlets(createCloudlets(random, minVmPes));
+
+        final var scenario = new YamlCloudScenario();
+        scenario.setDatacenters(new ArrayList<>(List.of(dc)));
+        scenario.setCustomers(new ArrayList<>(List.of(customer)));
+        return scenario;
+    }
+
+    /**
+     * Generates a new scenario with the current parameters and writes it as a YAML document.
+     * @param output where to write the scenario to
+     * @throws IOException when the scenario cannot be written
+     */
+    public void write(final Writer output) throws IOException {
+        try (var writer = new YamlCloudScenarioWriter(output)) {
+            writer.write(generate());
+        }
+    }
+
+    /**
+     * Generates a new scenario with the current parameters and writes it as JSON.
+     * @param output where to write the scenario to
+     * @throws IOException when the scenario cannot be written
+     * @see JsonScenarioWriter
+     */
+    public void writeJson(final Writer output) throws IOException {
+        try (var writer = new JsonScenarioWriter(output)) {
+            writer.write(generate());
+        }
+    }
+
+    private List<HostRegistry> createHosts(final Random random) {
+        final var list = new ArrayList<HostRegistry>(hostTypes);
+        for (int type = 0; type < hostTypes; type++) {
+            final int amount = amountForType(hostsPerDatacenter, hostTypes, type);
+            if(amount == 0) {
+                continue;
+            }
+
+            final var host = new HostRegistry();
+            host.setAmount(amount);
+            host.setPes(pick(random, HOST_PES));
+            host.setMips(2000 + 500 * random.nextInt(5));
+            host.setRam(host.getPes() * VM_RAM[VM_RAM.length-1]);
+            host.setBw(100_000);
+            host.setStorage(1_000_000);
+            host.setVmScheduler("TimeShared");
+            host.setRamProvisioner("Simple");
+            host.setBwProvisioner("Simple");
+            host.setPeProvisioner("Simple");
+            list.add(host);
+        }
+
+        return list;
+    }
+
+    private List<VmRegistry> createVms(final Random random, final int maxPes, final int maxMips) {
+        final var list = new ArrayList<VmRegistry>(vmTypes);
+        for (int type = 0; type < vmTypes; type++) {
+            final int amount = amountForType(vmsPerCustomer, vmTypes, type);
+            if(amount == 0) {
+                continue;
+            }
+
+            final var vm = new VmRegistry();
+            vm.setAmount(amount);
+            vm.setPes(Math.min(pick(random, VM_PES), maxPes));
+            vm.setMips(Math.min(500 + 250 * random.nextInt(7), maxMips));
+            vm.setRam(pick(random, VM_RAM));
+            vm.setBw(1000);
+            vm.setSize(10_000);
+            vm.setVmm("Xen");
+            vm.setCloudletScheduler(cloudletScheduler);
+            list.add(vm);
+        }
+
+        return list;
+    }
+
+    private List<CloudletRegistry> createCloudlets(final Random random, final int maxPes) {
+        final long cloudletsPerCustomer = (long) vmsPerCustomer * cloudletsPerVm;
+        if(cloudletsPerCustomer > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The number of Cloudlets for each customer cannot exceed " + Integer.MAX_VALUE);
+        }
+
+        final var list = new ArrayList<CloudletRegistry>(cloudletTypes);
+        for (int type = 0; type < cloudletTypes; type++) {
+            final int amount = amountForType((int) cloudletsPerCustomer, cloudletTypes, type);
+            if(amount == 0) {
+                continue;
+            }
+
+            final var cloudlet = new CloudletRegistry();
+            cloudlet.setAmount(amount);
+            cloudlet.setPes(1 + random.nextInt(Math.max(maxPes, 1)));
+            /* Lengths from 1.000 to 1.000.000 MI, uniformly distributed in the log scale. */
+            cloudlet.setLength((long) Math.pow(10, 3 + 3 * random.nextDouble()));
+            cloudlet.setFileSize(300);
+            cloudlet.setOutputSize(300);
+            cloudlet.setUtilizationModelCpu("Full");
+            cloudlet.setUtilizationModelRam("Full");
+            cloudlet.setUtilizationModelBw("Full");
+            list.add(cloudlet);
+        }
+
+        return list;
+    }
+
+    /**
+     * Evenly splits a total amount of entities among their types,
+     * giving the remainder to the first types.
+     */
+    private static int amountForType(final int total, final int types, final int type) {
+        return total / types + (type < total % types ? 1 : 0);
+    }
+
+    private static int pick(final Random random, final int[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int requirePositive(final int value, final String description) {
+        if(value <= 0) {
+            throw new IllegalArgumentException("The " + description + " must be greater than zero.");
+        }
+
+        return value;
+    }
+
+    public int getDatacenters() {
+        return datacenters;
+    }
+
+    public ScenarioGenerator setDatacenters(final int datacenters) {
+        this.datacenters = requirePositive(datacenters, "number of Datacenters");
+        return this;
+    }
+
+    public int getHostsPerDatacenter() {
+        return hostsPerDatacenter;
+    }
+
+    public ScenarioGenerator setHostsPerDatacenter(final int hostsPerDatacenter) {
+        this.hostsPerDatacenter = requirePositive(hostsPerDatacenter, "number of Hosts per Datacenter");
+        return this;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public ScenarioGenerator setCustomers(final int customers) {
+        this.customers = requirePositive(customers, "number of customers");
+        return this;
+    }
+
+    public int getVmsPerCustomer() {
+        return vmsPerCustomer;
+    }
+
+    public ScenarioGenerator setVmsPerCustomer(final int vmsPerCustomer) {
+        this.vmsPerCustomer = requirePositive(vmsPerCustomer, "number of VMs per customer");
+        return this;
+    }
+
+    public int getCloudletsPerVm() {
+        return cloudletsPerVm;
+    }
+
+    public ScenarioGenerator setCloudletsPerVm(final int cloudletsPerVm) {
+        this.cloudletsPerVm = requirePositive(cloudletsPerVm, "number of Cloudlets per VM");
+        return this;
+    }
+
+    public int getHostTypes() {
+        return hostTypes;
+    }
+
+    /**
+     * Sets the number of different Host configurations to generate.
+     * @param hostTypes the number of Host types (1 makes all Hosts equal)
+     * @return
+     */
+    public ScenarioGenerator setHostTypes(final int hostTypes) {
+        this.hostTypes = requirePositive(hostTypes, "number of Host types");
+        return this;
+    }
+
+    public int getVmTypes() {
+        return vmTypes;
+    }
+
+    /**
+     * Sets the number of different VM configurations to generate.
+     * @param vmTypes the number of VM types (1 makes all VMs equal)
+     * @return
+     */
+    public ScenarioGenerator setVmTypes(final int vmTypes) {
+        this.vmTypes = requirePositive(vmTypes, "number of VM types");
+        return this;
+    }
+
+    public int getCloudletTypes() {
+        return cloudletTypes;
+    }
+
+    /**
+     * Sets the number of different Cloudlet configurations to generate.
+     * @param cloudletTypes the number of Cloudlet types (1 makes all Cloudlets equal)
+     * @return
+     */
+    public ScenarioGenerator setCloudletTypes(final int cloudletTypes) {
+        this.cloudletTypes = requirePositive(cloudletTypes, "number of Cloudlet types");
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed used to draw the configuration of each type of Host, VM and Cloudlet.
+     * @param seed the seed to set
+     * @return
+     */
+    public ScenarioGenerator setSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public String getVmAllocationPolicy() {
+        return vmAllocationPolicy;
+    }
+
+    /**
+     * Sets the class suffix of the VmAllocationPolicy for the Datacenters (such as "Simple").
+     * @param vmAllocationPolicy the policy to set
+     * @return
+     */
+    public ScenarioGenerator setVmAllocationPolicy(final String vmAllocationPolicy) {
+        this.vmAllocationPolicy = vmAllocationPolicy;
+        return this;
+    }
+
+    public String getCloudletScheduler() {
+        return cloudletScheduler;
+    }
+
+    /**
+     * Sets the class suffix of the CloudletScheduler for the VMs (such as "SpaceShared" or "TimeShared").
+     * @param cloudletScheduler the scheduler to set
+     * @return
+     */
+    public ScenarioGenerator setCloudletScheduler(final String cloudletScheduler) {
+        this.cloudletScheduler = cloudletScheduler;
+        return this;
+    }
+
+    /**
+     * Gets the total number of Cloudlets the generated scenario will have.
+     * @return
+     */
+    public long getTotalCloudlets() {
+        return (long) customers * vmsPerCustomer * cloudletsPerVm;
+    }
+}
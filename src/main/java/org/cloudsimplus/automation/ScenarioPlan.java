@@ -0,0 +1,474 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import cloudreports.models.*;
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicy;
+import org.cloudsimplus.provisioners.PeProvisioner;
+import org.cloudsimplus.provisioners.ResourceProvisioner;
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
+import org.cloudsimplus.schedulers.vm.VmScheduler;
+import org.cloudsimplus.utilizationmodels.UtilizationModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.lang.Math.multiplyExact;
+
+/**
+ * A validated plan to build a {@link YamlCloudScenario} in CloudSim Plus.
+ * It is compiled from the registries read from the YAML file before any simulation entity is created.
+ *
+ * <p>The plan stores the amounts, IDs and policy factories computed when it is compiled,
+ * but it refers to the registries for the other attributes of each entity
+ * (such as {@code pes}, {@code mips}, {@code ram}, {@code bw} and {@code length}), which are read when the simulation is built.
+ * Such registries may be shared among scenarios (see {@link RegistryInterner} and {@link ScenarioFragments}),
+ * so they must not be modified after the plan is compiled.</p>
+ *
+ * <p>Compiling a scenario resolves all policy names (such as {@code vmScheduler: TimeShared})
+ * into the {@link PolicyLoader} factories that will create such policies,
+ * validates amounts and resources, and precomputes the number of entities to be created
+ * and the position of each registry inside its parent.
+ * This way, a typo in the YAML file is reported right after the file is read,
+ * instead of after part of a large scenario is already built.
+ * Building the simulation is then just a loop over the plan.</p>
+ *
+ * <p>The IDs of Hosts, VMs and Cloudlets are also allocated when the scenario is compiled.
+ * Each registry gets a contiguous range of IDs, which doesn't overlap with the range of any other registry.
+ * The ranges are allocated in the order the registries are declared in the YAML file,
+ * starting from 0. Therefore, the IDs are dense (they go from 0 to the total number
+ * of entities of a given kind, minus 1) and the same scenario always gets the same IDs.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see #compile(YamlCloudScenario)
+ */
+public final class ScenarioPlan {
+    private final YamlCloudScenario scenario;
+    private final List<DatacenterPlan> datacenters;
+    private final List<CustomerPlan> customers;
+    private final int totalDatacenters;
+    private final int totalHosts;
+    private final int totalBrokers;
+    private final int totalVms;
+    private final int totalCloudlets;
+
+    /**
+     * The plan for creating the Datacenters from a {@link DatacenterRegistry}.
+     * @param registry the registry read from the YAML file
+     * @param amount the number of Datacenters to create from the registry, read when the scenario was compiled
+     * @param vmAllocationPolicy the factory for the Datacenter {@link VmAllocationPolicy}
+     * @param hosts the plans to create the Hosts for each Datacenter
+     * @param hostsPerDatacenter the number of Hosts in each Datacenter created from the registry
+     * @param firstHostId the ID of the first Host in the first Datacenter created from the registry
+     */
+    public record DatacenterPlan(
+        DatacenterRegistry registry,
+        int amount,
+        Supplier<VmAllocationPolicy> vmAllocationPolicy,
+        List<HostPlan> hosts,
+        int hostsPerDatacenter,
+        int firstHostId)
+    {
+        /**
+         * Gets the ID of a Host.
+         * @param datacenterIndex the index of the Datacenter, among the ones created from this registry
+         * @param hp the plan for the registry the Host is created from
+         * @param hostIndex the index of the Host, among the ones created from the {@link HostPlan} for that Datacenter
+         * @return the Host ID
+         */
+        public int hostId(final int datacenterIndex, final HostPlan hp, final int hostIndex) {
+            return firstHostId + datacenterIndex * hostsPerDatacenter + hp.offset() + hostIndex;
+        }
+    }
+
+    /**
+     * The plan for creating the Hosts from a {@link HostRegistry}.
+     * @param registry the registry read from the YAML file
+     * @param amount the number of Hosts to create from the registry, read when the scenario was compiled
+     * @param vmScheduler the factory for the Host {@link VmScheduler}
+     * @param ramProvisioner the factory for the Host RAM {@link ResourceProvisioner}
+     * @param bwProvisioner the factory for the Host Bandwidth {@link ResourceProvisioner}
+     * @param peProvisioner the factory for the {@link PeProvisioner} of each Host PE
+     * @param offset the index of the first Host created from this registry inside its Datacenter
+     */
+    public record HostPlan(
+        HostRegistry registry,
+        int amount,
+        Supplier<VmScheduler> vmScheduler,
+        Supplier<ResourceProvisioner> ramProvisioner,
+        Supplier<ResourceProvisioner> bwProvisioner,
+        Supplier<PeProvisioner> peProvisioner,
+        int offset) {}
+
+    /**
+     * The plan for creating the brokers (customers), their VMs and Cloudlets from a {@link CustomerRegistry}.
+     * @param registry the registry read from the YAML file
+     * @param amount the number of brokers to create from the registry, read when the scenario was compiled
+     * @param vms the plans to create the VMs for each broker
+     * @param cloudlets the plans to create the Cloudlets for each broker
+     * @param vmsPerCustomer the number of VMs for each broker created from the registry
+     * @param cloudletsPerCustomer the number of Cloudlets for each broker created from the registry
+     * @param firstVmId the ID of the first VM of the first broker created from the registry
+     * @param firstCloudletId the ID of the first Cloudlet of the first broker created from the registry
+     */
+    public record CustomerPlan(
+        CustomerRegistry registry,
+        int amount,
+        List<VmPlan> vms,
+        List<CloudletPlan> cloudlets,
+        int vmsPerCustomer,
+        int cloudletsPerCustomer,
+        int firstVmId,
+        int firstCloudletId)
+    {
+        /**
+         * Gets the ID of a VM.
+         * @param brokerIndex the index of the broker, among the ones created from this registry
+         * @param vp the plan for the registry the VM is created from
+         * @param vmIndex the index of the VM, among the ones created from the {@link VmPlan} for that broker
+         * @return the VM ID
+         */
+        public int vmId(final int brokerIndex, final VmPlan vp, final int vmIndex) {
+            return firstVmId + brokerIndex * vmsPerCustomer + vp.offset() + vmIndex;
+        }
+
+        /**
+         * Gets the ID of a Cloudlet.
+         * @param brokerIndex the index of the broker, among the ones created from this registry
+         * @param clp the plan for the registry the Cloudlet is created from
+         * @param cloudletIndex the index of the Cloudlet, among the ones created from the {@link CloudletPlan} for that broker
+         * @return the Cloudlet ID
+         */
+        public int cloudletId(final int brokerIndex, final CloudletPlan clp, final int cloudletIndex) {
+            return firstCloudletId + brokerIndex * cloudletsPerCustomer + clp.offset() + cloudletIndex;
+        }
+    }
+
+    /**
+     * The plan for creating the VMs from a {@link VmRegistry}.
+     * @param registry the registry read from the YAML file
+     * @param amount the number of VMs to create from the registry, read when the scenario was compiled
+     * @param cloudletScheduler the factory for the VM {@link CloudletScheduler}
+     * @param offset the index of the first VM created from this registry inside its broker
+     */
+    public record VmPlan(VmRegistry registry, int amount, Supplier<CloudletScheduler> cloudletScheduler, int offset) {}
+
+    /**
+     * The plan for creating the Cloudlets from a {@link CloudletRegistry}.
+     * @param registry the registry read from the YAML file
+     * @param amount the number of Cloudlets to create from the registry, read when the scenario was compiled
+     * @param utilizationModelCpu the factory for the Cloudlet CPU {@link UtilizationModel}
+     * @param utilizationModelRam the factory for the Cloudlet RAM {@link UtilizationModel}
+     * @param utilizationModelBw the factory for the Cloudlet Bandwidth {@link UtilizationModel}
+     * @param offset the index of the first Cloudlet created from this registry inside its broker
+     */
+    public record CloudletPlan(
+        CloudletRegistry registry,
+        int amount,
+        Supplier<UtilizationModel> utilizationModelCpu,
+        Supplier<UtilizationModel> utilizationModelRam,
+        Supplier<UtilizationModel> utilizationModelBw,
+        int offset) {}
+
+    private ScenarioPlan(
+        final YamlCloudScenario scenario,
+        final List<DatacenterPlan> datacenters,
+        final List<CustomerPlan> customers)
+    {
+        this.scenario = scenario;
+        this.datacenters = List.copyOf(datacenters);
+        this.customers = List.copyOf(customers);
+        this.totalDatacenters = datacenters.stream().mapToInt(DatacenterPlan::amount).reduce(0, Math::addExact);
+        this.totalHosts = datacenters.stream().mapToInt(dcp -> multiplyExact(dcp.amount(), dcp.hostsPerDatacenter())).reduce(0, Math::addExact);
+        this.totalBrokers = customers.stream().mapToInt(CustomerPlan::amount).reduce(0, Math::addExact);
+        this.totalVms = customers.stream().mapToInt(cp -> multiplyExact(cp.amount(), cp.vmsPerCustomer())).reduce(0, Math::addExact);
+        this.totalCloudlets = customers.stream().mapToInt(cp -> multiplyExact(cp.amount(), cp.cloudletsPerCustomer())).reduce(0, Math::addExact);
+    }
+
+    /**
+     * Compiles a {@link YamlCloudScenario} into a plan to build it,
+     * validating all its registries.
+     *
+     * @param scenario the scenario read from an YAML file
+     * @return the compiled plan
+     * @throws IllegalArgumentException when the scenario has any invalid value,
+     *         such as an unknown policy name or a negative amount.
+     *         The exception message lists all the problems found.
+     */
+    public static ScenarioPlan compile(final YamlCloudScenario scenario) throws IllegalArgumentException {
+        return new Compiler(scenario).compile();
+    }
+
+    /**
+     * Walks through all the registries of a scenario, collecting every error found,
+     * so that all of them can be reported at once.
+     */
+    private static final class Compiler {
+        private final YamlCloudScenario scenario;
+        private final List<String> errors = new ArrayList<>();
+
+        /** The next IDs to be allocated for each kind of entity. */
+        private int nextHostId, nextVmId, nextCloudletId;
+
+        Compiler(final YamlCloudScenario scenario) {
+            this.scenario = scenario;
+        }
+
+        ScenarioPlan compile() {
+            if(scenario.getReplications() < 1){
+                errors.add("replications: must be at least 1, but it is " + scenario.getReplications());
+            }
+
+            final var datacenters = new ArrayList<DatacenterPlan>(scenario.getDatacenters().size());
+            for (int i = 0; i < scenario.getDatacenters().size(); i++) {
+                datacenters.add(datacenter(scenario.getDatacenters().get(i), "datacenters[" + i + "]"));
+            }
+
+            final var customers = new ArrayList<CustomerPlan>(scenario.getCustomers().size());
+            for (int i = 0; i < scenario.getCustomers().size(); i++) {
+                customers.add(customer(scenario.getCustomers().get(i), "customers[" + i + "]"));
+            }
+
+            if(!errors.isEmpty()){
+                throw new IllegalArgumentException(
+                    "Invalid simulation scenario:\n  " + String.join("\n  ", errors) + "\n");
+            }
+
+            try {
+                return new ScenarioPlan(scenario, datacenters, customers);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("The scenario has more entities than supported.\n", e);
+            }
+        }
+
+        private DatacenterPlan datacenter(final DatacenterRegistry dcr, final String path) {
+            final int amount = checkAmount(dcr.getAmount(), path);
+            final var policy = factory(() -> PolicyLoader.vmAllocationPolicyFactory(dcr.getVmAllocationPolicy()), path + ".vmAllocationPolicy");
+
+            final var hosts = new ArrayList<HostPlan>(dcr.getHosts().size());
+            int offset = 0;
+            for (int i = 0; i < dcr.getHosts().size(); i++) {
+                final var hp = host(dcr.getHosts().get(i), path + ".hosts[" + i + "]", offset);
+                hosts.add(hp);
+                offset = addExact(offset, hp.amount(), path);
+            }
+
+            final int firstHostId = nextHostId;
+            nextHostId = allocateIds(nextHostId, amount, offset, path);
+            return new DatacenterPlan(dcr, amount, policy, hosts, offset, firstHostId);
+        }
+
+        private HostPlan host(final HostRegistry hr, final String path, final int offset) {
+            final int amount = checkAmount(hr.getAmount(), path);
+            checkPositive(hr.getPes(), path + ".pes");
+            checkPositive(hr.getMips(), path + ".mips");
+
+            /* The RAM provisioner used to be always created from the bwProvisioner entry,
+             * so it's still used when the ramProvisioner is not given. */
+            final String ramProvisioner = hr.getRamProvisioner() == null ? hr.getBwProvisioner() : hr.getRamProvisioner();
+            return new HostPlan(
+                hr,
+                amount,
+                factory(() -> PolicyLoader.vmSchedulerFactory(hr.getVmScheduler()), path + ".vmScheduler"),
+                factory(() -> PolicyLoader.resourceProvisionerFactory(ramProvisioner), path + ".ramProvisioner"),
+                factory(() -> PolicyLoader.resourceProvisionerFactory(hr.getBwProvisioner()), path + ".bwProvisioner"),
+                factory(() -> PolicyLoader.peProvisionerFactory(hr.getPeProvisioner()), path + ".peProvisioner"),
+                offset);
+        }
+
+        private CustomerPlan customer(final CustomerRegistry cr, final String path) {
+            final int amount = checkAmount(cr.getAmount(), path);
+
+            final var vms = new ArrayList<VmPlan>(cr.getVms().size());
+            int vmOffset = 0;
+            for (int i = 0; i < cr.getVms().size(); i++) {
+                final var vp = vm(cr.getVms().get(i), path + ".vms[" + i + "]", vmOffset);
+                vms.add(vp);
+                vmOffset = addExact(vmOffset, vp.amount(), path);
+            }
+
+            final var cloudlets = new ArrayList<CloudletPlan>(cr.getCloudlets().size());
+            int cloudletOffset = 0;
+            for (int i = 0; i < cr.getCloudlets().size(); i++) {
+                final var clp = cloudlet(cr.getCloudlets().get(i), path + ".cloudlets[" + i + "]", cloudletOffset);
+                cloudlets.add(clp);
+                cloudletOffset = addExact(cloudletOffset, clp.amount(), path);
+            }
+
+            final int firstVmId = nextVmId, firstCloudletId = nextCloudletId;
+            nextVmId = allocateIds(nextVmId, amount, vmOffset, path);
+            nextCloudletId = allocateIds(nextCloudletId, amount, cloudletOffset, path);
+            return new CustomerPlan(cr, amount, vms, cloudlets, vmOffset, cloudletOffset, firstVmId, firstCloudletId);
+        }
+
+        private VmPlan vm(final VmRegistry vmr, final String path, final int offset) {
+            final int amount = checkAmount(vmr.getAmount(), path);
+            checkPositive(vmr.getPes(), path + ".pes");
+            checkPositive(vmr.getMips(), path + ".mips");
+            final var scheduler = factory(() -> PolicyLoader.cloudletSchedulerFactory(vmr.getCloudletScheduler()), path + ".cloudletScheduler");
+            return new VmPlan(vmr, amount, scheduler, offset);
+        }
+
+        private CloudletPlan cloudlet(final CloudletRegistry clr, final String path, final int offset) {
+            final int amount = checkAmount(clr.getAmount(), path);
+            checkPositive(clr.getPes(), path + ".pes");
+            return new CloudletPlan(
+                clr,
+                amount,
+                factory(() -> PolicyLoader.utilizationModelFactory(clr.getUtilizationModelCpu()), path + ".utilizationModelCpu"),
+                factory(() -> PolicyLoader.utilizationModelFactory(clr.getUtilizationModelRam()), path + ".utilizationModelRam"),
+                factory(() -> PolicyLoader.utilizationModelFactory(clr.getUtilizationModelBw()), path + ".utilizationModelBw"),
+                offset);
+        }
+
+        /**
+         * Resolves the factory for a policy, recording an error if it cannot be resolved.
+         * @param resolver the function that resolves the factory
+         * @param path the path of the YAML entry containing the policy name
+         * @return the resolved factory or null if it could not be resolved
+         */
+        private <T> Supplier<T> factory(final Supplier<Supplier<T>> resolver, final String path) {
+            try {
+                return resolver.get();
+            } catch (RuntimeException e) {
+                errors.add(path + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Checks the amount of entities to create from a registry.
+         * @return the amount to store in the plan, so that later changes to the registry don't affect it;
+         *         or 0 when it's invalid (then the plan isn't created at all)
+         */
+        private int checkAmount(final Integer amount, final String path) {
+            if(amount == null || amount < 0){
+                errors.add(path + ".amount: must be zero or a positive number, but it is " + amount);
+                return 0;
+            }
+
+            return amount;
+        }
+
+        private void checkPositive(final double value, final String path) {
+            if(value <= 0){
+                errors.add(path + ": must be a positive number, but it is " + value);
+            }
+        }
+
+        /**
+         * Allocates the range of IDs for the entities created from a registry.
+         * @param nextId the first ID available
+         * @param amount the number of parent entities created from the registry (such as Datacenters or brokers)
+         * @param entitiesPerParent the number of entities for each parent (such as Hosts or VMs)
+         * @param path the path of the registry in the YAML file
+         * @return the first ID available after the allocated range
+         */
+        private int allocateIds(final int nextId, final int amount, final int entitiesPerParent, final String path) {
+            if(amount <= 0){
+                return nextId;
+            }
+
+            try {
+                return addExact(nextId, multiplyExact(amount, entitiesPerParent), path);
+            } catch (ArithmeticException e) {
+                errors.add(path + ": has more entities than supported");
+                return nextId;
+            }
+        }
+
+        private int addExact(final int total, final int value, final String path) {
+            try {
+                return Math.addExact(total, Math.max(value, 0));
+            } catch (ArithmeticException e) {
+                errors.add(path + ": has more entities than supported");
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Gets the scenario this plan was compiled from.
+     * @return
+     */
+    public YamlCloudScenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Gets the plans for creating the Datacenters, in the order they were declared in the YAML file.
+     * @return
+     */
+    public List<DatacenterPlan> getDatacenters() {
+        return datacenters;
+    }
+
+    /**
+     * Gets the plans for creating the customers (brokers), in the order they were declared in the YAML file.
+     * @return
+     */
+    public List<CustomerPlan> getCustomers() {
+        return customers;
+    }
+
+    /**
+     * Gets the number of Datacenters to be created from all {@link DatacenterRegistry}.
+     * @return
+     */
+    public int getTotalDatacenters() {
+        return totalDatacenters;
+    }
+
+    /**
+     * Gets the number of Hosts to be created for all Datacenters.
+     * @return
+     */
+    public int getTotalHosts() {
+        return totalHosts;
+    }
+
+    /**
+     * Gets the number of brokers to be created from all {@link CustomerRegistry}.
+     * @return
+     */
+    public int getTotalBrokers() {
+        return totalBrokers;
+    }
+
+    /**
+     * Gets the number of VMs to be created for all customers.
+     * @return
+     */
+    public int getTotalVms() {
+        return totalVms;
+    }
+
+    /**
+     * Gets the number of Cloudlets to be created for all customers.
+     * @return
+     */
+    public int getTotalCloudlets() {
+        return totalCloudlets;
+    }
+}
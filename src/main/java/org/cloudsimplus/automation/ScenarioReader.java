@@ -0,0 +1,142 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads Cloud Computing simulation scenarios from files in some format, such as YAML or JSON.
+ * Implementations are found using the {@link ServiceLoader} mechanism, so that other parsers
+ * can be plugged in by adding a jar with an implementation of this interface,
+ * declared in a {@code META-INF/services/org.cloudsimplus.automation.ScenarioReader} file.
+ *
+ * <p>The reader for a file is chosen by the file extension (see {@link #forFile(Path)})
+ * or by its name (see {@link #of(String)}).</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see YamlbeansScenarioReader
+ * @see FastScenarioReader
+ */
+public interface ScenarioReader {
+    /**
+     * The name of the reader used for files whose extension isn't supported by any reader.
+     */
+    String DEFAULT = YamlbeansScenarioReader.NAME;
+
+    /**
+     * Gets the name identifying the reader, such as {@code yamlbeans}.
+     * @return
+     */
+    String getName();
+
+    /**
+     * Gets the file extensions (without the dot) of the files this reader is chosen for by default.
+     * @return
+     */
+    Set<String> getExtensions();
+
+    /**
+     * Gets a lazy {@link Stream} of the scenarios inside a file,
+     * in the order they appear in the file.
+     * The stream must be closed after used, to close the file.
+     * Errors parsing the file are thrown when the invalid scenario is requested,
+     * as an {@link java.io.UncheckedIOException}.
+     *
+     * @param file the file to read
+     * @return a Stream of the scenarios inside the file
+     * @throws java.io.FileNotFoundException when the file is not found
+     * @throws IOException when the file cannot be opened
+     */
+    Stream<YamlCloudScenario> stream(Path file) throws IOException;
+
+    /**
+     * Gets a lazy {@link Stream} of the scenarios read from a {@link Reader}, such as the standard input,
+     * resolving the paths of {@link ScenarioFragments included fragments} against the current directory.
+     * The stream must be closed after used, to close the reader.
+     *
+     * @param input the reader to get the scenarios from
+     * @return a Stream of the scenarios in the order they are read
+     * @see #stream(Reader, Path)
+     */
+    default Stream<YamlCloudScenario> stream(final Reader input) {
+        return stream(input, Path.of(""));
+    }
+
+    /**
+     * Gets a lazy {@link Stream} of the scenarios read from a {@link Reader}, such as the standard input.
+     * The stream must be closed after used, to close the reader.
+     *
+     * @param input the reader to get the scenarios from
+     * @param baseDir the directory the paths of included fragments are resolved against
+     * @return a Stream of the scenarios in the order they are read
+     * @throws IllegalArgumentException when the format isn't read from text (such as compiled scenarios)
+     */
+    Stream<YamlCloudScenario> stream(Reader input, Path baseDir);
+
+    /**
+     * Gets all the available readers.
+     * @return
+     */
+    static List<ScenarioReader> getAll() {
+        return ServiceLoader.load(ScenarioReader.class).stream().map(ServiceLoader.Provider::get).toList();
+    }
+
+    /**
+     * Gets a reader by its name.
+     * @param name the name of the reader
+     * @return the reader
+     * @throws IllegalArgumentException when there is no reader with the given name
+     */
+    static ScenarioReader of(final String name) {
+        final var readers = getAll();
+        return readers.stream()
+                      .filter(reader -> reader.getName().equals(name))
+                      .findFirst()
+                      .orElseThrow(() -> new IllegalArgumentException(String.format(
+                          "Unknown parser '%s'. Available parsers: %s%n", name,
+                          readers.stream().map(ScenarioReader::getName).collect(Collectors.joining(", ")))));
+    }
+
+    /**
+     * Gets the reader for a file, according to its extension.
+     * If no reader is chosen for the extension, the {@link #DEFAULT} one is returned.
+     * @param file the file to get a reader for
+     * @return the reader for the file
+     */
+    static ScenarioReader forFile(final Path file) {
+        final String fileName = file.getFileName() == null ? "" : file.getFileName().toString();
+        final int dot = fileName.lastIndexOf('.');
+        final String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase();
+        return getAll().stream()
+                       .filter(reader -> reader.getExtensions().contains(extension))
+                       .findFirst()
+                       .orElseGet(() -> of(DEFAULT));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches a YAML file for changes, so that its scenarios can be run again
+ * every time the file is saved, without restarting the JVM.
+ * Just the scenarios whose content changed since the previous run
+ * (or which failed) are run again; the other ones are skipped.
+ * It is used by the {@code --watch} option of the {@link Start} class.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see ResultCache#contentKey(CloudSimulation)
+ */
+final class ScenarioWatcher implements Closeable {
+    /**
+     * Time to wait for no more changes after the file is changed, before running it again.
+     * Editors usually save a file with multiple writes (or by replacing it by a new file),
+     * which must not start multiple runs.
+     */
+    private static final long QUIET_MILLIS = 200;
+
+    private final Path file;
+    private final WatchService service;
+
+    /** The keys of the simulations finished in the previous run. */
+    private Set<String> previousKeys = Set.of();
+
+    /** The keys of the simulations finished or skipped in the current run. */
+    private Set<String> keys = ConcurrentHashMap.newKeySet();
+
+    /** The keys of the simulations running in the current run. */
+    private final Map<CloudSimulation, String> running = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private int skipped;
+
+    /**
+     * Instantiates a watcher for a given file.
+     * @param file the YAML file to watch
+     * @throws IOException when the directory of the file cannot be watched
+     */
+    ScenarioWatcher(final Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.service = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(service, ENTRY_CREATE, ENTRY_MODIFY);
+    }
+
+    /**
+     * Starts a new run, getting just the simulations which have changed since the previous run.
+     * @param simulations the simulations from the watched file
+     * @param onSkip a {@link Consumer} called for every simulation which is skipped
+     * @return an {@link Iterator} with just the changed simulations
+     */
+    Iterator<CloudSimulation> changed(final Iterator<CloudSimulation> simulations, final Consumer<CloudSimulation> onSkip) {
+        previousKeys = keys;
+        keys = ConcurrentHashMap.newKeySet();
+        running.clear();
+        skipped = 0;
+
+        return new Iterator<>() {
+            private CloudSimulation next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && simulations.hasNext()) {
+                    final var simulation = simulations.next();
+                    final String key = ResultCache.contentKey(simulation);
+                    if(previousKeys.contains(key)) {
+                        keys.add(key);
+                        skipped++;
+                        onSkip.accept(simulation);
+                    } else {
+                        running.put(simulation, key);
+                        next = simulation;
+                    }
+                }
+
+                return next != null;
+            }
+
+            @Override
+            public CloudSimulation next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final var simulation = next;
+                next = null;
+                return simulation;
+            }
+        };
+    }
+
+    /**
+     * Records that a simulation returned by {@link #changed(Iterator, Consumer)} has finished,
+     * so that it's skipped in the next run if it doesn't change.
+     * Failed simulations are always run again.
+     * @param simulation the finished simulation
+     */
+    void finished(final CloudSimulation simulation) {
+        final String key = running.remove(simulation);
+        if(key != null && simulation.getMetrics() != null) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Gets the number of unchanged simulations skipped in the current run.
+     * @return
+     */
+    int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Blocks until the watched file is changed.
+     */
+    void awaitChange() throws InterruptedException {
+        while (!isFileChanged(service.take())) {
+            /* Waits for a change to the watched file, instead of other files in the same directory. */
+        }
+
+        WatchKey key;
+        while ((key = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+            isFileChanged(key);
+        }
+    }
+
+    private boolean isFileChanged(final WatchKey key) {
+        boolean changed = false;
+        for (final var event : key.pollEvents()) {
+            changed |= event.kind() == OVERFLOW || file.getFileName().equals(event.context());
+        }
+
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.core.CloudSimPlus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a JVM running to execute the simulation scenarios submitted by a {@link DaemonClient},
+ * so that every run doesn't need to pay for the JVM startup,
+ * class loading and the just-in-time compilation of CloudSim Plus and the YAML parser.
+ * Since the daemon runs multiple requests, the {@link PolicyLoader} factories and the compiled code
+ * are reused by all of them, and each request runs as if the tool was started with the same command line options.
+ * It is started by the {@code daemon} command of the {@link Start} class.
+ *
+ * <p>The daemon only listens on the loopback interface. When started, it writes a random token
+ * to a {@link #getTokenFile(int) file} readable just by the current user,
+ * which clients must send, so that other users of the same machine cannot submit scenarios.
+ * Relative paths given in the command line options are resolved against the client working directory.</p>
+ *
+ * <p>This class also defines the binary protocol between the daemon and clients
+ * (using {@link DataOutputStream} types). A request is:</p>
+ * <pre>
+ * token (UTF)
+ * workingDir (UTF)
+ * argCount (int), followed by each command line argument (UTF)
+ * yamlLength (int, -1 if the scenarios are read from the file given in the arguments), followed by the UTF-8 YAML bytes
+ * </pre>
+ *
+ * <p>The response is a sequence of frames, streamed while the scenarios run.
+ * Each frame is the stream it's meant to (byte), the data length (int) and the data,
+ * where the stream is {@link #STDOUT}, {@link #STDERR} or {@link #END} (which is the last frame and has no data).</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class SimulationDaemon implements Closeable {
+    /**
+     * The default port the daemon listens to.
+     */
+    public static final int DEFAULT_PORT = 7821;
+
+    static final byte END = 0;
+    static final byte STDOUT = 1;
+    static final byte STDERR = 2;
+
+    private final ServerSocket server;
+    private final Path tokenFile;
+    private final String token;
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a daemon listening on a given port of the loopback interface.
+     * @param port the port to listen to
+     * @throws IOException when the port is already in use or the token file cannot be written
+     */
+    public SimulationDaemon(final int port) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.tokenFile = getTokenFile(server.getLocalPort());
+        this.token = newToken();
+        this.executor = Executors.newCachedThreadPool();
+        writeTokenFile();
+    }
+
+    private static String newToken() {
+        final var bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    /**
+     * Gets the file with the token clients must send to the daemon listening on a given port.
+     * @param port the daemon port
+     * @return
+     */
+    static Path getTokenFile(final int port) {
+        return ResultCache.getDefaultDir().resolve("daemon-" + port + ".token");
+    }
+
+    private void writeTokenFile() throws IOException {
+        Files.createDirectories(tokenFile.getParent());
+        Files.deleteIfExists(tokenFile);
+        if(FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(tokenFile);
+        }
+
+        Files.writeString(tokenFile, token);
+    }
+
+    /**
+     * Gets the port the daemon is listening to.
+     * @return
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Accepts requests until the daemon is {@link #close() closed}.
+     * Each request runs in its own thread, so that a long simulation doesn't block other clients.
+     */
+    public void run() throws IOException {
+        System.out.printf(
+            "CloudSim Plus Automation daemon (CloudSim Plus %s) listening on %s:%d%n",
+            CloudSimPlus.VERSION, server.getInetAddress().getHostAddress(), getPort());
+        try {
+            while (true) {
+                final Socket socket = server.accept();
+                executor.execute(() -> handle(socket));
+            }
+        } catch (SocketException e) {
+            if(!server.isClosed()) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reads a request and runs it, streaming back everything it prints.
+     * @param socket the client connection
+     */
+    private void handle(final Socket socket) {
+        try (socket;
+             var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())))
+        {
+            final boolean authorized = MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), in.readUTF().getBytes(StandardCharsets.UTF_8));
+            if(!authorized) {
+                writeFrame(out, STDERR, "Invalid daemon token. Was the daemon restarted?\n".getBytes(StandardCharsets.UTF_8));
+                writeFrame(out, END, new byte[0]);
+                out.flush();
+                return;
+            }
+
+            final Path workingDir = Path.of(in.readUTF());
+            final var args = new String[in.readInt()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = in.readUTF();
+            }
+
+            final int yamlLength = in.readInt();
+            final String yaml = yamlLength < 0 ? null : new String(in.readNBytes(yamlLength), StandardCharsets.UTF_8);
+
+            System.out.printf("Running %s from %s%n", String.join(" ", args), workingDir);
+            final var stdout = new PrintStream(new FrameOutputStream(out, STDOUT), true, StandardCharsets.UTF_8);
+            final var stderr = new PrintStream(new FrameOutputStream(out, STDERR), true, StandardCharsets.UTF_8);
+            try {
+                Start.run(args, stdout, stderr, workingDir, yaml);
+            } finally {
+                stdout.flush();
+                stderr.flush();
+                writeFrame(out, END, new byte[0]);
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.printf("Error handling a daemon request: %s%n", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a frame of the response, which is sent when the stream is flushed.
+     * @param out where to write the frame to
+     * @param stream the stream the data is meant to
+     * @param data the data to write
+     */
+    private static void writeFrame(final DataOutputStream out, final byte stream, final byte[] data) throws IOException {
+        synchronized (out) {
+            out.writeByte(stream);
+            out.writeInt(data.length);
+            out.write(data);
+        }
+    }
+
+    /**
+     * An {@link OutputStream} that sends everything written to it as response frames
+     * for a given stream.
+     */
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte stream;
+
+        FrameOutputStream(final DataOutputStream out, final byte stream) {
+            this.out = out;
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if(length > 0) {
+                writeFrame(out, stream, Arrays.copyOfRange(bytes, offset, offset + length));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting requests and removes the token file.
+     * Requests already running are finished.
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        executor.shutdown();
+        Files.deleteIfExists(tokenFile);
+    }
+}
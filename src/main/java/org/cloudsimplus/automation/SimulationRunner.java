@@ -0,0 +1,186 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs a sequence of {@link CloudSimulation}s, either one after another
+ * or concurrently on a bounded pool of worker threads.
+ *
+ * <p>Each simulation builds its own {@link org.cloudsimplus.core.CloudSimPlus} instance,
+ * so independent scenarios can safely run at the same time.
+ * When running in parallel, the results of each simulation are written to its own buffer,
+ * which is printed only after the simulation finishes.
+ * Buffers are printed in the order simulations were given, so that results
+ * never interleave and appear in the same order as in the YAML file.
+ * For the same reason, the {@link #setOnFinish(Consumer) finish listener} is notified in that order too.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see CloudSimulation#setOutput(PrintStream)
+ */
+public class SimulationRunner {
+    private final int parallelism;
+    private final PrintStream out;
+    private Consumer<CloudSimulation> onFinish;
+
+    /**
+     * Instantiates a runner that prints simulation results to {@link System#out}.
+     * @param parallelism the maximum number of simulations to run at the same time
+     */
+    public SimulationRunner(final int parallelism) {
+        this(parallelism, System.out);
+    }
+
+    /**
+     * Instantiates a runner.
+     * @param parallelism the maximum number of simulations to run at the same time
+     * @param out the stream where results of all simulations are printed
+     */
+    public SimulationRunner(final int parallelism, final PrintStream out) {
+        if(parallelism < 1){
+            throw new IllegalArgumentException("The number of parallel simulations must be at least 1.");
+        }
+
+        this.parallelism = parallelism;
+        this.out = out;
+        this.onFinish = simulation -> {};
+    }
+
+    /**
+     * Sets a listener to be notified after each simulation finishes and its results are printed.
+     * Simulations are notified in the order they were given, even when running in parallel.
+     * @param onFinish the listener to set
+     * @return
+     */
+    public SimulationRunner setOnFinish(final Consumer<CloudSimulation> onFinish) {
+        this.onFinish = Objects.requireNonNull(onFinish);
+        return this;
+    }
+
+    /**
+     * Runs all the given simulations.
+     * Simulations are requested from the iterator only when there is room to run them,
+     * so that at most a few of them are kept in memory at a time.
+     *
+     * @param simulations the simulations to run
+     * @return the number of executed simulations
+     */
+    public int run(final Iterator<CloudSimulation> simulations) {
+        if(parallelism == 1){
+            return runSequentially(simulations);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            return runInParallel(simulations, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int runSequentially(final Iterator<CloudSimulation> simulations) {
+        int count = 0;
+        while (simulations.hasNext()) {
+            final var simulation = simulations.next();
+            simulation.setOutput(out).run();
+            onFinish.accept(simulation);
+            count++;
+        }
+
+        return count;
+    }
+
+    private int runInParallel(final Iterator<CloudSimulation> simulations, final ExecutorService executor) {
+        /* Keeps some simulations waiting in the executor queue so that workers are never idle,
+         * but doesn't build all of them at once. */
+        final int maxPending = parallelism * 2;
+        final Queue<PendingSimulation> pending = new ArrayDeque<>(maxPending);
+        int count = 0;
+        while (simulations.hasNext()) {
+            if(pending.size() == maxPending) {
+                printResults(pending.remove());
+            }
+
+            pending.add(new PendingSimulation(simulations.next(), executor));
+            count++;
+        }
+
+        while (!pending.isEmpty()) {
+            printResults(pending.remove());
+        }
+
+        return count;
+    }
+
+    /**
+     * Waits for a simulation to finish and prints its buffered results.
+     * @param simulation the simulation to wait for
+     */
+    private void printResults(final PendingSimulation simulation) {
+        try {
+            simulation.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for simulation " + simulation.label(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(
+                String.format("Simulation %s failed: %s", simulation.label(), e.getCause().getMessage()), e.getCause());
+        } finally {
+            out.print(simulation.buffer.toString());
+            out.flush();
+        }
+
+        onFinish.accept(simulation.simulation);
+    }
+
+    /**
+     * A simulation submitted to the executor, together with the buffer storing its results.
+     */
+    private static final class PendingSimulation {
+        private final CloudSimulation simulation;
+        private final ByteArrayOutputStream buffer;
+        private final Future<?> future;
+
+        PendingSimulation(final CloudSimulation simulation, final ExecutorService executor) {
+            this.simulation = simulation;
+            this.buffer = new ByteArrayOutputStream();
+            simulation.setOutput(new PrintStream(buffer, true));
+            this.future = executor.submit(simulation);
+        }
+
+        String label() {
+            return simulation.getLabel();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.automation.results.RunMetrics;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Runs simulations received from a {@link WorkerPool} coordinator, inside a separate JVM process.
+ * The worker reads tasks from the standard input and writes the results to the standard output,
+ * one task at a time, until the standard input is closed.
+ * It is started by the {@code worker} command of the {@link Start} class
+ * (which isn't meant to be used directly).
+ *
+ * <p>This class also defines the text protocol between the coordinator and workers.
+ * A task is a header line followed by the simulation label and the directory for binary results
+ * (an empty line if not set) in separate lines, then the scenario as a YAML document:</p>
+ * <pre>
+ * TASK id seed|- batchSize showResults printConfiguration log statistics yamlLength
+ * label
+ * binaryResultsDir
+ * yaml document (with yamlLength chars)
+ * </pre>
+ *
+ * <p>The result is either a line with the {@link RunMetrics} followed by the simulation output
+ * or a line reporting a failure followed by the error message:</p>
+ * <pre>
+ * DONE id finishedCloudlets makespan meanResponseTime totalCost outputLength
+ * output (with outputLength chars)
+ *
+ * FAILED id messageLength
+ * message (with messageLength chars)
+ * </pre>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class SimulationWorker {
+    static final String TASK = "TASK";
+    static final String DONE = "DONE";
+    static final String FAILED = "FAILED";
+
+    /**
+     * A simulation task received by a worker.
+     * @param id the task id
+     * @param settings the fields of the task header
+     * @param label the simulation label
+     * @param binaryResultsDir the directory for binary results or an empty string
+     * @param yaml the YAML document with the simulation scenario
+     */
+    private record Task(long id, String[] settings, String label, String binaryResultsDir, String yaml) {
+        /**
+         * Parses the scenario and creates the simulation with the received settings.
+         * @throws IllegalArgumentException when the scenario is invalid
+         * @throws java.io.UncheckedIOException when the scenario cannot be parsed
+         */
+        CloudSimulation createSimulation() {
+            /* The iterator doesn't need to be closed, since it reads from a String. */
+            final var scenario = new YamlCloudScenarioIterator(new StringReader(yaml)).next();
+            return new CloudSimulation(ScenarioPlan.compile(scenario), label)
+                .setSeed("-".equals(settings[2]) ? null : Long.valueOf(settings[2]))
+                .setCloudletBatchSize(Integer.parseInt(settings[3]))
+                .setShowResults(Boolean.parseBoolean(settings[4]))
+                .setPrintScenariosConfiguration(Boolean.parseBoolean(settings[5]))
+                .setLogEnabled(Boolean.parseBoolean(settings[6]))
+                .setStatisticsEnabled(Boolean.parseBoolean(settings[7]))
+                .setBinaryResultsDir(binaryResultsDir.isEmpty() ? null : Path.of(binaryResultsDir));
+        }
+    }
+
+    /**
+     * The result of a task received by the coordinator.
+     * @param id the task id
+     * @param metrics the metrics of the simulation, or null if it failed
+     * @param output the text printed by the simulation or the error message if it failed
+     */
+    record Result(long id, RunMetrics metrics, String output) {
+        boolean isFailed() {
+            return metrics == null;
+        }
+    }
+
+    private SimulationWorker(){/**/}
+
+    /**
+     * Runs the tasks received from the standard input until it is closed.
+     * Anything the simulations print to the standard output is redirected to the standard error,
+     * so that it doesn't interfere with the protocol.
+     */
+    static void run() throws IOException {
+        final var protocolOut = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        final var in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+
+        Task task;
+        while ((task = readTask(in)) != null) {
+            final var buffer = new ByteArrayOutputStream();
+            try {
+                final var simulation = task.createSimulation();
+                simulation.setOutput(new PrintStream(buffer, true, StandardCharsets.UTF_8)).run();
+                writeDone(protocolOut, task.id, simulation.getMetrics(), buffer.toString(StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                writeFailed(protocolOut, task.id, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sends a simulation to a worker.
+     * The simulation scenario is sent as YAML, together with the simulation settings.
+     * @param out where to write the task to
+     * @param id the task id
+     * @param simulation the simulation to be run by the worker
+     */
+    static void writeTask(final Writer out, final long id, final CloudSimulation simulation) throws IOException {
+        final String yaml = YamlCloudScenarioWriter.toYaml(simulation.getPlan().getScenario());
+        final Path binaryResultsDir = simulation.getBinaryResultsDir();
+        out.write(String.format("%s %d %s %d %b %b %b %b %d%n",
+            TASK, id, simulation.getSeed() == null ? "-" : simulation.getSeed(), simulation.getCloudletBatchSize(),
+            simulation.isShowResults(), simulation.isPrintScenariosConfiguration(), simulation.isLogEnabled(),
+            simulation.isStatisticsEnabled(), yaml.length()));
+        out.write(simulation.getLabel() + "\n");
+        out.write((binaryResultsDir == null ? "" : binaryResultsDir.toString()) + "\n");
+        out.write(yaml);
+        out.flush();
+    }
+
+    /**
+     * Reads a task sent by the coordinator.
+     * @param in where to read the task from
+     * @return the task or null if there are no more tasks
+     */
+    private static Task readTask(final BufferedReader in) throws IOException {
+        final String header = in.readLine();
+        if(header == null) {
+            return null;
+        }
+
+        final String[] fields = header.split(" ");
+        if(fields.length != 9 || !TASK.equals(fields[0])) {
+            throw new IOException("Invalid task header: " + header);
+        }
+
+        final String label = requireLine(in);
+        final String binaryResultsDir = requireLine(in);
+        final String yaml = readChars(in, Integer.parseInt(fields[8]));
+        return new Task(Long.parseLong(fields[1]), fields, label, binaryResultsDir, yaml);
+    }
+
+    /**
+     * Writes the result of a simulation that finished successfully.
+     * @param out where to write the result to
+     * @param id the task id
+     * @param metrics the metrics of the simulation
+     * @param output the text printed by the simulation
+     */
+    static void writeDone(final Writer out, final long id, final RunMetrics metrics, final String output) throws IOException {
+        out.write(String.format("%s %d %d %s %s %s %d%n",
+            DONE, id, metrics.finishedCloudlets(), metrics.makespan(), metrics.meanResponseTime(), metrics.totalCost(), output.length()));
+        out.write(output);
+        out.flush();
+    }
+
+    private static void writeFailed(final Writer out, final long id, final String message) throws IOException {
+        out.write(String.format("%s %d %d%n", FAILED, id, message.length()));
+        out.write(message);
+        out.flush();
+    }
+
+    /**
+     * Reads the result of a task sent by a worker.
+     * @param in where to read the result from
+     * @return the result
+     * @throws EOFException when the worker process finished before sending the result
+     */
+    static Result readResult(final BufferedReader in) throws IOException {
+        final String header = requireLine(in);
+        final String[] fields = header.split(" ");
+        final long id = Long.parseLong(fields[1]);
+        if(DONE.equals(fields[0]) && fields.length == 7) {
+            final var metrics = new RunMetrics(
+                Long.parseLong(fields[2]), Double.parseDouble(fields[3]),
+                Double.parseDouble(fields[4]), Double.parseDouble(fields[5]));
+            return new Result(id, metrics, readChars(in, Integer.parseInt(fields[6])));
+        }
+
+        if(FAILED.equals(fields[0]) && fields.length == 3) {
+            return new Result(id, null, readChars(in, Integer.parseInt(fields[2])));
+        }
+
+        throw new IOException("Invalid result header: " + header);
+    }
+
+    private static String requireLine(final BufferedReader in) throws IOException {
+        final String line = in.readLine();
+        if(line == null) {
+            throw new EOFException("Unexpected end of the worker stream");
+        }
+
+        return line;
+    }
+
+    private static String readChars(final Reader in, final int length) throws IOException {
+        final char[] chars = new char[length];
+        int read = 0;
+        while (read < length) {
+            final int count = in.read(chars, read, length - read);
+            if(count < 0) {
+                throw new EOFException("Unexpected end of the worker stream");
+            }
+            read += count;
+        }
+
+        return new String(chars);
+    }
+}
@@ -22,12 +22,38 @@
  */
 package org.cloudsimplus.automation;
 
-import com.esotericsoftware.yamlbeans.YamlException;
 import org.apache.commons.cli.*;
+import org.cloudsimplus.automation.jfr.FlightRecording;
+import org.cloudsimplus.automation.jfr.JfrSummary;
+import org.cloudsimplus.automation.results.ReplicationSummary;
+import org.cloudsimplus.automation.results.ResultSink;
 import org.cloudsimplus.core.CloudSimPlus;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.StringJoiner;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Starts the tool by loading a Cloud Computing simulation scenario from an YAML file given by command line.
@@ -37,49 +63,331 @@ import java.util.regex.Pattern;
  * @see YamlCloudScenarioReader
  */
 public final class Start {
+    /**
+     * The command to generate a synthetic scenario instead of running one.
+     * @see ScenarioGenerator
+     */
+    private static final String GENERATE_CMD = "generate";
+
+    /**
+     * The command to start a worker process, used internally by the {@link WorkerPool}.
+     * @see SimulationWorker
+     */
+    static final String WORKER_CMD = "worker";
+
+    /**
+     * The command to start a daemon that runs the scenarios submitted by clients.
+     * @see SimulationDaemon
+     */
+    private static final String DAEMON_CMD = "daemon";
+
+    /**
+     * The command to submit scenarios to a running daemon.
+     * @see DaemonClient
+     */
+    private static final String SUBMIT_CMD = "submit";
+
+    /**
+     * The command to compile a scenarios file to a binary file that is loaded without text parsing.
+     * @see CompiledScenarioWriter
+     */
+    private static final String COMPILE_CMD = "compile";
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * The directory to resolve relative paths against,
+     * or null to use the current directory.
+     */
+    private final Path workingDir;
+
+    /**
+     * The YAML text with the scenarios to run when the file name is {@code -},
+     * or null to read them from the standard input.
+     */
+    private final String yaml;
+
     private Options options;
-    private YamlCloudScenarioReader reader;
+    private File file;
     private CommandLine cmd;
 
+    /**
+     * Watches the YAML file to run its changed scenarios again, or null if the file isn't watched.
+     */
+    private ScenarioWatcher watcher;
+
     /**
      * Executes the command line interface of the applications.
      *
      * @param args command line arguments.
      */
     public static void main(String[] args) {
-        new Start(args);
+        new Start(args, System.out, System.err, null, null);
+    }
+
+    /**
+     * Runs the scenarios of a request received by a {@link SimulationDaemon}.
+     * Since the daemon is already running, the commands to start the tool in other modes are not accepted.
+     *
+     * @param args the command line options and the YAML file
+     * @param out where to print the simulation results
+     * @param err where to print error messages
+     * @param workingDir the directory to resolve relative paths against
+     * @param yaml the YAML text with the scenarios to run when the file name is {@code -};
+     *             or null if the scenarios are read from the given file
+     */
+    static void run(final String[] args, final PrintStream out, final PrintStream err, final Path workingDir, final String yaml) {
+        new Start(args, out, err, workingDir, yaml);
     }
 
     /**
      * Default constructor that parses command line parameters
      * and actually execute the tool.
      * @param args command line parameters (see {@link #main(String[])})
+     * @param out where to print the simulation results
+     * @param err where to print error messages
+     * @param workingDir the directory to resolve relative paths against,
+     *                   which is set just for requests received by a {@link SimulationDaemon}
+     * @param yaml the YAML text with the scenarios to run when the file name is {@code -}
      */
-    private Start(final String[] args){
+    private Start(final String[] args, final PrintStream out, final PrintStream err, final Path workingDir, final String yaml){
+        this.out = out;
+        this.err = err;
+        this.workingDir = workingDir;
+        this.yaml = yaml;
         try {
+            if(workingDir == null && args.length > 0 && runCommand(args[0], Arrays.copyOfRange(args, 1, args.length))){
+                return;
+            }
+
             if(!parseCommandLineOptions(args)){
                 return;
             }
 
-            this.reader = new YamlCloudScenarioReader(getFileNameFromCommandLine());
-            if(reader.getScenarios().isEmpty()) {
-                System.err.println("Your YAML file is empty.\n");
+            this.file = resolvePath(getFileNameFromCommandLine()).toFile();
+            if(cmd.hasOption("check")) {
+                check();
+            } else if(cmd.hasOption("watch")) {
+                watch();
+            } else {
+                build();
             }
-            build();
         } catch (IllegalArgumentException|FileNotFoundException e){
-            System.err.printf("%s", e.getMessage());
-        } catch (YamlException e){
-            System.err.printf("Error trying to parse the YAML file: %s\n", e.getMessage());
+            err.printf("%s", e.getMessage());
+        } catch (UncheckedIOException e){
+            err.printf("Error trying to parse the YAML file: %s\n", e.getCause().getMessage());
+        } catch (IOException e){
+            err.printf("Error writing simulation results: %s\n", e.getMessage());
         } catch (ParseException e){
-            System.err.printf("Error parsing command line arguments. %s\n", e.getMessage());
+            err.printf("Error parsing command line arguments. %s\n", e.getMessage());
         } catch (Exception e){
-            System.err.printf("An unexpected error happened: %s\n", e.getMessage());
+            err.printf("An unexpected error happened: %s\n", e.getMessage());
         }
     }
 
+    /**
+     * Runs one of the commands that start the tool in a mode other than running scenarios.
+     * @param command the command, which is the first command line argument
+     * @param args the command line arguments after the command
+     * @return true if the command was run, false if the argument is not a command
+     */
+    private boolean runCommand(final String command, final String[] args) throws ParseException, IOException {
+        switch (command) {
+            case GENERATE_CMD -> generate(args);
+            case WORKER_CMD -> SimulationWorker.run();
+            case DAEMON_CMD -> daemon(args);
+            case SUBMIT_CMD -> submit(args);
+            case COMPILE_CMD -> compile(args);
+            default -> {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private void showUsageHelp() {
         final var formatter = new HelpFormatter();
-        formatter.printHelp(getApplicationStartCmd() +" [options] YamlFilePath", options);
+        final var writer = new PrintWriter(out);
+        formatter.printHelp(
+            writer, formatter.getWidth(), getApplicationStartCmd() +" [options] YamlFilePath", null,
+            options, formatter.getLeftPadding(), formatter.getDescPadding(), null);
+        writer.flush();
+        out.printf("%nTo generate a synthetic scenario, use: %s %s -h%n", getApplicationStartCmd(), GENERATE_CMD);
+        out.printf("To compile a scenarios file to be loaded faster, use: %s %s -h%n", getApplicationStartCmd(), COMPILE_CMD);
+        out.printf(
+            "To keep a JVM running scenarios, use: %s %s [--port N]%n" +
+            "then submit scenarios to it using: %s %s [--port N] [options] YamlFilePath|-%n",
+            getApplicationStartCmd(), DAEMON_CMD, getApplicationStartCmd(), SUBMIT_CMD);
+    }
+
+    /**
+     * Starts a daemon that runs the scenarios submitted by clients until the JVM is stopped.
+     * @param args the command line options after the {@link #DAEMON_CMD}
+     * @see SimulationDaemon
+     */
+    private void daemon(final String[] args) throws ParseException, IOException {
+        options = new Options();
+        options.addOption(
+            Option.builder().longOpt("port").hasArg().argName("N")
+                  .desc("Port to listen to on the loopback interface (default " + SimulationDaemon.DEFAULT_PORT + ")").build());
+        this.cmd = new DefaultParser().parse(options, args);
+
+        final var daemon = new SimulationDaemon(getIntOption("port", SimulationDaemon.DEFAULT_PORT, "port"));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                daemon.close();
+            } catch (IOException e) {
+                err.printf("Error stopping the daemon: %s%n", e.getMessage());
+            }
+        }));
+        daemon.run();
+    }
+
+    /**
+     * Submits scenarios to a running daemon, printing the results it sends back.
+     * The arguments are the same used to run scenarios locally, optionally preceded by the daemon port.
+     * @param args the command line arguments after the {@link #SUBMIT_CMD}
+     * @see DaemonClient
+     */
+    private void submit(final String[] args) throws IOException {
+        int port = SimulationDaemon.DEFAULT_PORT;
+        String[] request = args;
+        if(args.length > 1 && "--port".equals(args[0])) {
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid port: " + args[1] + "\n");
+            }
+            request = Arrays.copyOfRange(args, 2, args.length);
+        }
+
+        try {
+            new DaemonClient(port, out, err).submit(request);
+        } catch (IOException e) {
+            err.printf("%s%n", e.getMessage());
+        }
+    }
+
+    /**
+     * Compiles a scenarios file (expanding its parameter sweeps) to the binary format read by the
+     * {@link CompiledScenarioReader}, which is written to the given file or to a file with the same name
+     * and the {@code .yamlc} extension.
+     * The file is written to a temporary file first, so that a failure doesn't leave a partial file.
+     * @param args the command line options after the {@link #COMPILE_CMD}
+     * @see CompiledScenarioWriter
+     */
+    private void compile(final String[] args) throws ParseException, IOException {
+        options = new Options();
+        options.addOption("h", "Show usage help");
+        options.addOption(
+            Option.builder().longOpt("parser").hasArg().argName("NAME")
+                  .desc("Parser for the scenarios file (see the options to run scenarios)").build());
+        this.cmd = new DefaultParser().parse(options, args);
+        if(cmd.hasOption("h") || cmd.getArgs().length == 0 || cmd.getArgs().length > 2){
+            new HelpFormatter().printHelp(
+                getApplicationStartCmd() + " " + COMPILE_CMD + " [options] YamlFilePath [OutputFilePath]",
+                "Compiles a scenarios file to a binary file that can be run just as the original one, " +
+                "but which is loaded much faster. Parameter sweeps are expanded to all their scenarios.\n\n",
+                options, "");
+            return;
+        }
+
+        final Path input = Path.of(cmd.getArgs()[0]);
+        final Path output = cmd.getArgs().length > 1 ?
+                                Path.of(cmd.getArgs()[1]) :
+                                input.resolveSibling(input.getFileName().toString().replaceFirst("\\.[^.]*$", "") + "." + CompiledScenarioFormat.EXTENSION);
+        final ScenarioReader reader = cmd.hasOption("parser") ? ScenarioReader.of(cmd.getOptionValue("parser")) : ScenarioReader.forFile(input);
+        final Path tmp = output.resolveSibling(output.getFileName() + ".tmp");
+        final long scenarios;
+        try (var stream = reader.stream(input);
+             var writer = new CompiledScenarioWriter(Files.newOutputStream(tmp)))
+        {
+            for (final var scenario : (Iterable<YamlCloudScenario>) stream::iterator) {
+                writer.write(scenario);
+            }
+            scenarios = writer.getScenarios();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, output, StandardCopyOption.REPLACE_EXISTING);
+        out.printf("%d scenario(s) compiled to %s%n", scenarios, output);
+    }
+
+    /**
+     * Generates a synthetic scenario from the command line options
+     * and writes it as YAML to the given file or to the standard output.
+     * @param args the command line options after the {@link #GENERATE_CMD}
+     * @see ScenarioGenerator
+     */
+    private void generate(final String[] args) throws ParseException {
+        options = new Options();
+        options.addOption("h", "Show usage help");
+        addGeneratorOption("datacenters", "Number of Datacenters (default 1)");
+        addGeneratorOption("hosts", "Number of Hosts for each Datacenter (default 10)");
+        addGeneratorOption("customers", "Number of customers (brokers) (default 1)");
+        addGeneratorOption("vms", "Number of VMs for each customer (default 10)");
+        addGeneratorOption("cloudlets", "Number of Cloudlets for each VM (default 10)");
+        addGeneratorOption("host-types", "Number of different Host configurations, among which Hosts are evenly split (default 1)");
+        addGeneratorOption("vm-types", "Number of different VM configurations, among which VMs are evenly split (default 1)");
+        addGeneratorOption("cloudlet-types", "Number of different Cloudlet configurations, among which Cloudlets are evenly split (default 1)");
+        options.addOption(
+            Option.builder().longOpt("seed").hasArg().argName("SEED")
+                  .desc("Seed to draw the configuration of each Host, VM and Cloudlet type (default 0)").build());
+        options.addOption(
+            Option.builder().longOpt("scheduler").hasArg().argName("NAME")
+                  .desc("CloudletScheduler for VMs, such as SpaceShared or TimeShared (default SpaceShared)").build());
+        options.addOption(
+            Option.builder().longOpt("json")
+                  .desc("Writes the scenario as JSON instead of YAML (the default for output files ending with .json)").build());
+
+        this.cmd = new DefaultParser().parse(options, args);
+        if(cmd.hasOption("h")){
+            new HelpFormatter().printHelp(
+                getApplicationStartCmd() + " " + GENERATE_CMD + " [options] [OutputYamlFilePath]",
+                "Generates a synthetic simulation scenario, printing it if no output file is given.\n\n",
+                options, "");
+            return;
+        }
+
+        final var generator = new ScenarioGenerator()
+            .setDatacenters(getIntOption("datacenters", 1, "number of Datacenters"))
+            .setHostsPerDatacenter(getIntOption("hosts", 10, "number of Hosts"))
+            .setCustomers(getIntOption("customers", 1, "number of customers"))
+            .setVmsPerCustomer(getIntOption("vms", 10, "number of VMs"))
+            .setCloudletsPerVm(getIntOption("cloudlets", 10, "number of Cloudlets"))
+            .setHostTypes(getIntOption("host-types", 1, "number of Host types"))
+            .setVmTypes(getIntOption("vm-types", 1, "number of VM types"))
+            .setCloudletTypes(getIntOption("cloudlet-types", 1, "number of Cloudlet types"))
+            .setCloudletScheduler(cmd.getOptionValue("scheduler", "SpaceShared"));
+        try {
+            generator.setSeed(Long.parseLong(cmd.getOptionValue("seed", "0")));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid seed: " + cmd.getOptionValue("seed") + "\n");
+        }
+
+        final String outputFile = getFileNameFromCommandLine();
+        try (Writer writer = outputFile.isEmpty() ? new OutputStreamWriter(out) : Files.newBufferedWriter(Path.of(outputFile))) {
+            if(outputFile.endsWith(".json") || cmd.hasOption("json")) {
+                generator.writeJson(writer);
+            } else {
+                generator.write(writer);
+            }
+        } catch (IOException e) {
+            err.printf("Error writing the generated scenario: %s\n", e.getMessage());
+            return;
+        }
+
+        if(!outputFile.isEmpty()) {
+            out.printf("Scenario with %d Cloudlets written to %s%n", generator.getTotalCloudlets(), outputFile);
+        }
+    }
+
+    private void addGeneratorOption(final String longOpt, final String description) {
+        options.addOption(Option.builder().longOpt(longOpt).hasArg().argName("N").desc(description).build());
     }
 
     /**
@@ -95,6 +403,91 @@ public final class Start {
         options.addOption("s", "Suppress simulation results");
         options.addOption("h", "Show usage help");
         options.addOption("c", "Print scenario configuration");
+        options.addOption(
+            Option.builder("p").longOpt("parallel").hasArg().argName("N")
+                  .desc("Runs up to N scenarios from the YAML file at the same time (default 1). " +
+                        "Results of each scenario are printed in the order they appear in the file.")
+                  .build());
+        options.addOption(
+            Option.builder("b").longOpt("batch").hasArg().argName("N")
+                  .desc("Creates Cloudlets lazily, N at a time for each cloudlet entry, " +
+                        "just before their submission time (defined by the submissionDelay entry). " +
+                        "By default, all Cloudlets are created before the simulation starts.")
+                  .build());
+        options.addOption(
+            Option.builder("o").longOpt("output").hasArg().argName("FORMAT:FILE")
+                  .desc("Writes the results of all finished Cloudlets to a file, besides printing them. " +
+                        "FORMAT is csv or jsonl (JSON Lines). FILE can be - for the standard output " +
+                        "(then the other messages go to the standard error) and it's compressed with gzip if it ends with .gz. " +
+                        "Examples: csv:results.csv, jsonl:results.jsonl.gz, jsonl:-")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("binary").hasArg().argName("DIR")
+                  .desc("Writes the results of all finished Cloudlets of each scenario to a compact columnar binary file " +
+                        "inside the given directory, which can be read without parsing by the ColumnarResultReader class.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("stats")
+                  .desc("Shows statistics for the response, wait and execution time of Cloudlets " +
+                        "(mean, min, max and percentiles), grouped by customer and VM entry, " +
+                        "instead of a table with every Cloudlet.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("workers").hasArg().argName("N")
+                  .desc("Runs the scenarios in N separate JVM processes (instead of threads as in -p), " +
+                        "so that each one has its own heap. If a worker process crashes, " +
+                        "just the scenario it was running fails (after being tried again).")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("worker-heap").hasArg().argName("SIZE")
+                  .desc("Maximum heap size for each worker process, such as 4g (see --workers).")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("attempts").hasArg().argName("N")
+                  .desc("Maximum number of times a scenario is tried when its worker process crashes (default 2).")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("no-cache")
+                  .desc("Always runs the scenarios, instead of printing the results from previous runs of unchanged scenarios. " +
+                        "Scenarios whose results are written to files (-o or --binary) or with the log enabled (-v) are always run.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("cache-dir").hasArg().argName("DIR")
+                  .desc("Directory for the results of previous runs (default " + ResultCache.getDefaultDir() + ").")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("cache-size").hasArg().argName("MB")
+                  .desc("Maximum size of the results cache in megabytes (default 1024). " +
+                        "The least recently used results are removed when it is exceeded.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("parser").hasArg().argName("NAME")
+                  .desc("Parser for the scenarios file: yamlbeans (the default for YAML files) or fast " +
+                        "(the default for .json files), which also reads YAML files much faster, " +
+                        "but doesn't support parameter sweeps and other advanced YAML features.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("watch")
+                  .desc("Keeps running, watching the YAML file for changes. Every time it's saved, " +
+                        "just the scenarios which were changed (or failed) are run again.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("check")
+                  .desc("Just prints a capacity analysis of each scenario, without running them: " +
+                        "the total CPU, RAM, BW and storage demand of VMs against the supply of Hosts, " +
+                        "the VMs which don't fit in any Host and how many VMs a first-fit decreasing estimate can place.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("skip-infeasible")
+                  .desc("Skips the scenarios whose capacity analysis shows VMs that cannot be placed, " +
+                        "instead of just printing a warning before running them.")
+                  .build());
+        options.addOption(
+            Option.builder().longOpt("jfr").hasArg().argName("FILE")
+                  .desc("Records the execution with the JDK Flight Recorder into the given file " +
+                        "and prints a summary with the top allocation sites, hottest methods " +
+                        "and the duration of each simulation phase when finished.")
+                  .build());
 
         final var parser = new DefaultParser();
         this.cmd = parser.parse(options, args);
@@ -147,20 +540,379 @@ public final class Start {
 
     /**
      * Builds and run Cloud Computing simulation scenarios loaded from the YAML file.
+     * Each scenario is parsed and {@link ScenarioPlan#compile(YamlCloudScenario) compiled}
+     * just before it is built, so that it can start running without waiting for the entire file to be parsed.
+     */
+    public void build() throws IOException {
+        final String output = cmd.getOptionValue("o");
+        /* If results are written to the standard output, other messages are printed to the standard error,
+         * so that the output can be piped to other tools. */
+        final PrintStream console = output != null && output.endsWith(":-") ? err : out;
+        if(console == err && workingDir != null) {
+            throw new IllegalArgumentException("The daemon cannot write results to the standard output. Use a file instead.\n");
+        }
+
+        console.printf(
+            "Starting Simulation Scenario(s) from file %s in CloudSim Plus %s\n",
+            file, CloudSimPlus.VERSION);
+
+        final int cloudletBatchSize = getIntOption("b", 0, "Cloudlet batch size");
+        final int parallelism = getIntOption("p", 1, "number of parallel scenarios");
+        final int workers = getIntOption("workers", 0, "number of workers");
+        if(workers > 0 && output != null) {
+            throw new IllegalArgumentException("The results of scenarios run by worker processes cannot be written to an output file. Use the --binary option instead.\n");
+        }
+        final Path binaryResultsDir = cmd.hasOption("binary") ? Files.createDirectories(resolvePath(cmd.getOptionValue("binary"))) : null;
+        final Path jfrFile = cmd.hasOption("jfr") ? resolvePath(cmd.getOptionValue("jfr")) : null;
+        final ResultCache resultCache = cmd.hasOption("no-cache") ? null : openResultCache();
+        try (var recording = jfrFile == null ? null : FlightRecording.start(jfrFile);
+             var scenarioStream = openScenarios();
+             var resultSink = output == null ? ResultSink.NULL : ResultSink.open(resolveOutput(output)))
+        {
+            final var scenarios = scenarioStream.iterator();
+            /* The summary for the replications of each simulation, used to aggregate their results. */
+            final Map<CloudSimulation, ReplicationSummary> summaries = new IdentityHashMap<>();
+            final var simulations = new Iterator<CloudSimulation>() {
+                private int i = 0;
+
+                /** Measures the time to parse and compile the next scenario, which is parsed when checking if it exists. */
+                private RunProfile parseProfile;
+
+                /** The last compiled scenario and its replications. */
+                private ScenarioPlan plan;
+                private String scenarioName;
+                private int replication, replications;
+                private SplittableRandom seeds;
+                private boolean generatedSeed;
+                private ReplicationSummary summary;
+
+                /** The number of scenarios skipped because their VMs cannot be placed. */
+                private int infeasible;
+
+                /**
+                 * Checks if there is another simulation to run,
+                 * parsing and compiling the next scenario when all replications of the last one were returned.
+                 */
+                @Override
+                public boolean hasNext() {
+                    if(replication < replications) {
+                        return true;
+                    }
+
+                    beginParse();
+                    try {
+                        while (scenarios.hasNext()) {
+                            if(nextScenario()) {
+                                return true;
+                            }
+
+                            /* The parse time of a skipped scenario isn't added to the next one. */
+                            parseProfile.end();
+                            parseProfile = null;
+                            beginParse();
+                        }
+
+                        return false;
+                    } finally {
+                        parseProfile.end();
+                    }
+                }
+
+                @Override
+                public CloudSimulation next() {
+                    if(!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final int current = replication++;
+                    final String label = replications == 1 ? scenarioName : String.format("%s [replication %d/%d]", scenarioName, current+1, replications);
+                    final var simulation = new CloudSimulation(plan, label);
+                    if(parseProfile != null) {
+                        simulation.getProfile().add(RunProfile.Phase.PARSE, parseProfile.get(RunProfile.Phase.PARSE));
+                        parseProfile = null;
+                    }
+
+                    if(summary != null) {
+                        summaries.put(simulation, summary);
+                    }
+
+                    return simulation
+                        .setSeed(seeds == null ? null : seeds.nextLong())
+                        /* Results from generated seeds are never run again, so they aren't cached. */
+                        .setResultCache(generatedSeed ? null : resultCache)
+                        .setShowResults(!cmd.hasOption("s"))
+                        .setLogEnabled(isToEnableLog())
+                        .setPrintScenariosConfiguration(isToPrintScenariosConfiguration() && current == 0)
+                        .setCloudletBatchSize(cloudletBatchSize)
+                        .setResultSink(resultSink)
+                        .setBinaryResultsDir(binaryResultsDir)
+                        .setStatisticsEnabled(cmd.hasOption("stats"));
+                }
+
+                /**
+                 * Parses and compiles the next scenario, defining the seed for each one of its replications.
+                 * @return true if the scenario is going to run, false if it was skipped by its {@link CapacityAnalysis}
+                 */
+                private boolean nextScenario() {
+                    final var scenario = scenarios.next();
+                    scenarioName = getScenarioName(i++, scenario);
+                    plan = compile(scenario, scenarioName);
+                    if(!checkCapacity(plan, scenarioName)) {
+                        infeasible++;
+                        return false;
+                    }
+
+                    replication = 0;
+                    replications = scenario.getReplications();
+                    /* A single run is seeded only if the scenario has a seed.
+                     * Multiple replications always need seeds, so that each one is different and
+                     * the printed seed can be used to reproduce them. */
+                    generatedSeed = replications > 1 && scenario.getSeed() == null;
+                    final Long seed = generatedSeed ? Long.valueOf(System.nanoTime()) : scenario.getSeed();
+                    seeds = seed == null ? null : new SplittableRandom(seed);
+                    summary = replications > 1 ? new ReplicationSummary(scenarioName, replications, seed) : null;
+                    return true;
+                }
+
+                private void beginParse() {
+                    if(parseProfile == null) {
+                        parseProfile = new RunProfile(String.format("%d - %s", i, file.getName()));
+                    }
+                    parseProfile.begin(RunProfile.Phase.PARSE);
+                }
+            };
+
+            final Consumer<CloudSimulation> onFinish = simulation -> {
+                if(watcher != null) {
+                    watcher.finished(simulation);
+                }
+
+                final var summary = summaries.remove(simulation);
+                if(summary == null) {
+                    return;
+                }
+
+                /* Simulations that failed in a worker process have no metrics. */
+                if(simulation.getMetrics() == null) {
+                    summary.addFailed();
+                } else {
+                    summary.add(simulation.getMetrics(), simulation.getStatistics());
+                }
+
+                if(summary.isComplete()) {
+                    summary.print(console);
+                }
+            };
+
+            /* When watching the file, just the scenarios changed since the previous run are run. */
+            final Iterator<CloudSimulation> toRun = watcher == null ? simulations : watcher.changed(simulations, summaries::remove);
+            final int count = workers > 0 ?
+                new WorkerPool(workers, console)
+                    .setMaxHeap(cmd.getOptionValue("worker-heap"))
+                    .setMaxAttempts(getIntOption("attempts", 2, "number of attempts"))
+                    .setOnFinish(onFinish)
+                    .run(toRun) :
+                new SimulationRunner(parallelism, console).setOnFinish(onFinish).run(toRun);
+            if(simulations.infeasible > 0) {
+                console.printf("%d scenario(s) skipped by the capacity analysis%n", simulations.infeasible);
+            }
+
+            final int skipped = watcher == null ? 0 : watcher.getSkipped();
+            if(skipped > 0) {
+                console.printf("%d unchanged scenario(s) skipped%n", skipped);
+            } else if(count == 0 && simulations.infeasible == 0) {
+                err.println("Your YAML file is empty.\n");
+            }
+        }
+
+        if(jfrFile != null) {
+            JfrSummary.print(jfrFile, console);
+        }
+    }
+
+    /**
+     * Checks if the VMs of a scenario can be placed into its Hosts,
+     * printing a warning when they cannot.
+     * @param plan the plan of the scenario to check
+     * @param scenarioName the name identifying the scenario
+     * @return true if the scenario is going to run,
+     *         false if it has to be skipped because some VMs cannot be placed
+     * @see CapacityAnalysis
+     */
+    private boolean checkCapacity(final ScenarioPlan plan, final String scenarioName) {
+        final var analysis = CapacityAnalysis.of(plan);
+        if(!analysis.hasProblems()) {
+            return true;
+        }
+
+        final boolean skip = cmd.hasOption("skip-infeasible");
+        err.printf("%s scenario %s: %s%n", skip ? "Skipping" : "Warning for", scenarioName, analysis.getSummary());
+        return !skip;
+    }
+
+    /**
+     * Prints the {@link CapacityAnalysis} of each scenario from the YAML file, without running them.
      */
-    public void build() {
-        System.out.printf(
-            "Starting %d Simulation Scenario(s) from file %s in CloudSim Plus %s\n",
-            reader.getScenarios().size(), reader.getFile(), CloudSimPlus.VERSION);
-
-        int i = 0;
-        for (YamlCloudScenario scenario : reader.getScenarios()) {
-            final String scenarioName = String.format("%d - %s", i++, reader.getFile().getName());
-            new CloudSimulation(scenario, scenarioName)
-                .setShowResults(!cmd.hasOption("s"))
-                .setLogEnabled(isToEnableLog())
-                .setPrintScenariosConfiguration(isToPrintScenariosConfiguration())
-                .run();
+    private void check() throws IOException {
+        try (var scenarioStream = openScenarios()) {
+            final var scenarios = scenarioStream.iterator();
+            int i = 0;
+            for (; scenarios.hasNext(); i++) {
+                final var scenario = scenarios.next();
+                final String scenarioName = getScenarioName(i, scenario);
+                CapacityAnalysis.of(compile(scenario, scenarioName)).print(out, scenarioName);
+            }
+
+            if(i == 0) {
+                err.println("Your YAML file is empty.\n");
+            }
+        }
+    }
+
+    /**
+     * Runs the scenarios from the YAML file every time it changes, until the JVM is stopped.
+     * After the first run, just the scenarios whose content changed are run again.
+     * Errors in the file are printed and the file is watched again,
+     * so that they can be fixed without restarting.
+     * @see ScenarioWatcher
+     */
+    private void watch() throws IOException, InterruptedException {
+        if(workingDir != null || "-".equals(getFileNameFromCommandLine())) {
+            throw new IllegalArgumentException("Only YAML files given by command line can be watched.\n");
+        }
+
+        try (var scenarioWatcher = new ScenarioWatcher(file.toPath())) {
+            this.watcher = scenarioWatcher;
+            while (true) {
+                try {
+                    build();
+                } catch (IllegalArgumentException|FileNotFoundException e){
+                    err.printf("%s", e.getMessage());
+                } catch (UncheckedIOException e){
+                    err.printf("Error trying to parse the YAML file: %s\n", e.getCause().getMessage());
+                } catch (RuntimeException e){
+                    err.printf("An unexpected error happened: %s\n", e.getMessage());
+                }
+
+                out.printf("%nWatching %s for changes. Press Ctrl+C to stop.%n", file);
+                watcher.awaitChange();
+            }
+        }
+    }
+
+    /**
+     * Opens the cache for the results of previous runs.
+     * @return
+     */
+    private ResultCache openResultCache() throws IOException {
+        final Path dir = cmd.hasOption("cache-dir") ? resolvePath(cmd.getOptionValue("cache-dir")) : ResultCache.getDefaultDir();
+        final long maxMegabytes = getIntOption("cache-size", 1024, "cache size");
+        return new ResultCache(dir, maxMegabytes * 1024 * 1024);
+    }
+
+    /**
+     * Opens a lazy stream of the scenarios to run, which are read from the standard input
+     * (or the YAML text received by the daemon) when the file name is {@code -}.
+     * The scenarios are parsed by the {@link ScenarioReader} given by command line
+     * or the one chosen for the file extension.
+     * @return
+     */
+    private Stream<YamlCloudScenario> openScenarios() throws IOException {
+        final boolean stdin = "-".equals(getFileNameFromCommandLine());
+        final ScenarioReader reader;
+        if(cmd.hasOption("parser")) {
+            reader = ScenarioReader.of(cmd.getOptionValue("parser"));
+        } else {
+            reader = stdin ? ScenarioReader.of(ScenarioReader.DEFAULT) : ScenarioReader.forFile(file.toPath());
+        }
+
+        if(!stdin) {
+            return reader.stream(file.toPath());
+        }
+
+        /* A daemon must never read its own standard input, which isn't the client's one. */
+        if(yaml == null && workingDir != null) {
+            throw new IllegalArgumentException("The scenarios to read from the standard input were not sent to the daemon.\n");
+        }
+
+        final Reader input = yaml == null ? new InputStreamReader(System.in, StandardCharsets.UTF_8) : new StringReader(yaml);
+        return reader.stream(input, workingDir == null ? Path.of("") : workingDir);
+    }
+
+    /**
+     * Gets a path given by command line, resolving it against the client working directory
+     * when running a request received by a {@link SimulationDaemon}.
+     * @param path the path to resolve
+     * @return
+     */
+    private Path resolvePath(final String path) {
+        return workingDir == null ? Path.of(path) : workingDir.resolve(path);
+    }
+
+    /**
+     * Resolves the file in an output specification (see {@link ResultSink#open(String)}).
+     * @param output the output specification in the format {@code format:file}
+     * @return
+     * @see #resolvePath(String)
+     */
+    private String resolveOutput(final String output) {
+        final int separator = output.indexOf(':');
+        if(separator <= 0 || separator == output.length() - 1) {
+            return output;
+        }
+
+        return output.substring(0, separator + 1) + resolvePath(output.substring(separator + 1));
+    }
+
+    /**
+     * Compiles a scenario read from the YAML file, so that invalid scenarios are reported
+     * before starting to build them.
+     *
+     * @param scenario the scenario to compile
+     * @param scenarioName the name identifying the scenario
+     * @return the plan to build the scenario
+     * @throws IllegalArgumentException when the scenario is invalid
+     * @see ScenarioPlan#compile(YamlCloudScenario)
+     */
+    private ScenarioPlan compile(final YamlCloudScenario scenario, final String scenarioName) {
+        try {
+            return ScenarioPlan.compile(scenario);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Scenario " + scenarioName + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the name identifying a scenario, including the values of the swept entries
+     * when the scenario is one of the combinations of a {@link ParameterSweep}.
+     * @param index the index of the scenario in the file
+     * @param scenario the scenario to get the name
+     * @return
+     */
+    private String getScenarioName(final int index, final YamlCloudScenario scenario) {
+        final String name = String.format("%d - %s", index, file.getName());
+        if(scenario.getParameters().isEmpty()) {
+            return name;
+        }
+
+        final var parameters = new StringJoiner(", ", " (", ")");
+        scenario.getParameters().forEach((key, value) -> parameters.add(key + "=" + value));
+        return name + parameters;
+    }
+
+    /**
+     * Gets the integer value of a command line option.
+     * @param option the name of the option
+     * @param defaultValue the value to return when the option is not given
+     * @param description the description of the option value, used for error messages
+     * @return
+     */
+    private int getIntOption(final String option, final int defaultValue, final String description) {
+        final String value = cmd.getOptionValue(option, String.valueOf(defaultValue));
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + description + ": " + value + "\n");
         }
     }
 
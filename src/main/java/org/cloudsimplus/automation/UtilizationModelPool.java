@@ -0,0 +1,157 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.utilizationmodels.UtilizationModel;
+import org.cloudsimplus.utilizationmodels.UtilizationModelStochastic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Provides the {@link UtilizationModel}s for Cloudlets of a simulation,
+ * sharing a single instance of each stateless model among all Cloudlets
+ * (as in the flyweight pattern).
+ *
+ * <p>A model such as {@code UtilizationModelFull} always returns the same utilization
+ * and doesn't store anything about the Cloudlet using it.
+ * Creating one instance for every resource of every Cloudlet just produces
+ * millions of identical objects for large scenarios.
+ * Models which keep some state or generate random values
+ * (such as {@code UtilizationModelStochastic} or {@code UtilizationModelDynamic})
+ * are still created for each Cloudlet.</p>
+ *
+ * <p>Each simulation must have its own pool, since the shared instances
+ * may be bound to the simulation they are used in.</p>
+ *
+ * <p>If the pool is created with a random number generator,
+ * each {@code Stochastic} model gets its own seed from it, so that the utilization
+ * of every Cloudlet is reproducible by using the same seed for the generator.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class UtilizationModelPool {
+    /**
+     * The class name suffixes of {@link UtilizationModel}s known to be stateless,
+     * whose instances can be safely shared among Cloudlets.
+     */
+    private static final Set<String> STATELESS_MODELS = Set.of("Full");
+
+    /**
+     * An estimate of the memory used by a stateless {@link UtilizationModel} instance, in bytes:
+     * an object header and a few fields, with compressed references.
+     */
+    private static final int ESTIMATED_INSTANCE_SIZE = 24;
+
+    /**
+     * The class name suffix of the {@link UtilizationModel} which generates random values.
+     */
+    private static final String STOCHASTIC_MODEL = "Stochastic";
+
+    private final boolean sharingEnabled;
+    private final Map<String, UtilizationModel> sharedModels;
+    private final SplittableRandom random;
+    private long reusedInstances;
+
+    /**
+     * Instantiates a pool.
+     * @param sharingEnabled true to share instances of stateless models,
+     *                       false to always create a new instance for each request
+     */
+    public UtilizationModelPool(final boolean sharingEnabled) {
+        this(sharingEnabled, null);
+    }
+
+    /**
+     * Instantiates a pool which creates {@code Stochastic} models with seeds from a given generator.
+     * @param sharingEnabled true to share instances of stateless models,
+     *                       false to always create a new instance for each request
+     * @param random the generator for the seeds of {@code Stochastic} models,
+     *               or null to let the models use their default seeds
+     */
+    public UtilizationModelPool(final boolean sharingEnabled, final SplittableRandom random) {
+        this.sharingEnabled = sharingEnabled;
+        this.sharedModels = new HashMap<>();
+        this.random = random;
+    }
+
+    /**
+     * Checks if instances of a given {@link UtilizationModel} class can be shared among Cloudlets.
+     * @param classSuffix the class name suffix of the model (such as "Full" for UtilizationModelFull)
+     * @return
+     */
+    public static boolean isStateless(final String classSuffix) {
+        return STATELESS_MODELS.contains(classSuffix);
+    }
+
+    /**
+     * Gets a {@link UtilizationModel} to be used by a Cloudlet.
+     * @param classSuffix the class name suffix of the model (such as "Full" for UtilizationModelFull)
+     * @param factory the factory to create a new model instance, when it cannot be shared
+     *                or there isn't a shared instance yet
+     * @return the shared model instance or a new one
+     */
+    public UtilizationModel get(final String classSuffix, final Supplier<UtilizationModel> factory) {
+        if(random != null && STOCHASTIC_MODEL.equals(classSuffix)){
+            return new UtilizationModelStochastic(UtilizationModel.Unit.PERCENTAGE, random.nextLong());
+        }
+
+        if(!sharingEnabled || !isStateless(classSuffix)){
+            return factory.get();
+        }
+
+        final UtilizationModel model = sharedModels.get(classSuffix);
+        if(model == null) {
+            final UtilizationModel newModel = factory.get();
+            sharedModels.put(classSuffix, newModel);
+            return newModel;
+        }
+
+        reusedInstances++;
+        return model;
+    }
+
+    /**
+     * Gets the number of times an already existing model was returned,
+     * instead of creating a new instance.
+     * @return
+     */
+    public long getReusedInstances() {
+        return reusedInstances;
+    }
+
+    /**
+     * Gets an estimate of the memory saved by sharing model instances, in bytes.
+     * @return
+     */
+    public long getEstimatedSavedBytes() {
+        return reusedInstances * ESTIMATED_INSTANCE_SIZE;
+    }
+
+    public boolean isSharingEnabled() {
+        return sharingEnabled;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import org.cloudsimplus.automation.SimulationWorker.Result;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs a sequence of {@link CloudSimulation}s in a pool of worker JVM processes
+ * on the local machine, each one running a {@link SimulationWorker}.
+ * Since each worker has its own heap (whose maximum size can be set),
+ * large scenarios don't compete for the memory and garbage collector of a single JVM.
+ *
+ * <p>Each simulation is sent to an idle worker as YAML, together with its settings,
+ * through the worker standard input; the results come back through its standard output.
+ * As in the {@link SimulationRunner}, results are printed in the order simulations were given.</p>
+ *
+ * <p>If a worker process crashes (for instance, because it ran out of memory),
+ * just the simulation it was running is affected: the worker is restarted and
+ * the simulation is tried again, up to a maximum number of attempts.
+ * Then the simulation is reported as failed and the other ones continue running.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class WorkerPool {
+    private final int workers;
+    private final PrintStream out;
+    private String maxHeap;
+    private int maxAttempts;
+    private Consumer<CloudSimulation> onFinish;
+
+    /**
+     * A simulation to be run by a worker, together with its result.
+     * @param cacheKey the key for the simulation results in its {@link CloudSimulation#getResultCache() cache}
+     *                 or null if they aren't cached
+     */
+    private record Task(long id, CloudSimulation simulation, CompletableFuture<Result> result, String cacheKey) {
+        /** A task used to signal workers there are no more simulations to run. */
+        static final Task END = new Task(-1, null, null, null);
+
+        Task(final long id, final CloudSimulation simulation) {
+            this(id, simulation, new CompletableFuture<>(),
+                 simulation.getResultCache() == null ? null : simulation.getResultCache().key(simulation));
+        }
+
+        /**
+         * Completes the task with the result from the simulation cache, if available.
+         * @return true if the result was in the cache, false otherwise
+         */
+        boolean completeFromCache() {
+            final var cached = cacheKey == null ? null : simulation.getResultCache().get(cacheKey);
+            if(cached == null) {
+                return false;
+            }
+
+            final String output = cached.output() + ResultCache.loadedMessage(cacheKey);
+            return result.complete(new Result(id, cached.metrics(), output));
+        }
+
+        void complete(final Result taskResult) {
+            if(cacheKey != null && !taskResult.isFailed()) {
+                simulation.getResultCache().put(cacheKey, taskResult.metrics(), taskResult.output());
+            }
+
+            result.complete(taskResult);
+        }
+    }
+
+    /**
+     * Instantiates a pool of worker processes.
+     * @param workers the number of worker processes, which is the maximum number of simulations running at the same time
+     * @param out the stream where results of all simulations are printed
+     */
+    public WorkerPool(final int workers, final PrintStream out) {
+        if(workers < 1){
+            throw new IllegalArgumentException("The number of workers must be at least 1.");
+        }
+
+        this.workers = workers;
+        this.out = out;
+        this.maxAttempts = 2;
+        this.onFinish = simulation -> {};
+    }
+
+    /**
+     * Runs all the given simulations in the worker processes.
+     * Simulations are requested from the iterator only when there is room to run them.
+     *
+     * @param simulations the simulations to run
+     * @return the number of executed simulations (including the failed ones)
+     */
+    public int run(final Iterator<CloudSimulation> simulations) {
+        final BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+        final List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            final var thread = new Thread(new Worker(tasks), "simulation-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        try {
+            /* Keeps some simulations waiting so that workers are never idle, but doesn't build all of them at once. */
+            final int maxPending = workers * 2;
+            final Queue<Task> pending = new ArrayDeque<>(maxPending);
+            int count = 0;
+            while (simulations.hasNext()) {
+                if(pending.size() == maxPending) {
+                    printResults(pending.remove());
+                }
+
+                final var task = new Task(count++, simulations.next());
+                pending.add(task);
+                if(!task.completeFromCache()) {
+                    tasks.add(task);
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                printResults(pending.remove());
+            }
+
+            return count;
+        } finally {
+            threads.forEach(thread -> tasks.add(Task.END));
+        }
+    }
+
+    /**
+     * Waits for a simulation to finish and prints its results.
+     * @param task the task of the simulation to wait for
+     */
+    private void printResults(final Task task) {
+        final Result result = task.result.join();
+        if(result.isFailed()) {
+            out.printf("%nSimulation %s failed: %s%n", task.simulation.getLabel(), result.output());
+        } else {
+            task.simulation.setMetrics(result.metrics());
+            out.print(result.output());
+        }
+
+        out.flush();
+        onFinish.accept(task.simulation);
+    }
+
+    /**
+     * Sends tasks to a worker process, starting it again if it crashes.
+     */
+    private final class Worker implements Runnable {
+        private final BlockingQueue<Task> tasks;
+        private Process process;
+        private BufferedWriter toWorker;
+        private BufferedReader fromWorker;
+
+        Worker(final BlockingQueue<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Task task;
+                while ((task = tasks.take()) != Task.END) {
+                    task.complete(execute(task));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                stop();
+            }
+        }
+
+        /**
+         * Runs a simulation in the worker process, trying again in a new process if the worker crashes.
+         * @return the result of the simulation
+         */
+        private Result execute(final Task task) {
+            String error = "";
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                try {
+                    start();
+                    SimulationWorker.writeTask(toWorker, task.id, task.simulation);
+                    final Result result = SimulationWorker.readResult(fromWorker);
+                    if(result.id() != task.id) {
+                        throw new IOException("Unexpected result for task " + result.id() + " instead of " + task.id);
+                    }
+
+                    return result;
+                } catch (IOException | RuntimeException e) {
+                    error = String.format("worker process crashed (%s) in attempt %d of %d", exitStatus(), attempt, maxAttempts);
+                    stop();
+                }
+            }
+
+            return new Result(task.id, null, error);
+        }
+
+        /**
+         * Starts the worker process if it isn't running.
+         */
+        private void start() throws IOException {
+            if(process != null) {
+                return;
+            }
+
+            final var command = new ArrayList<String>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            if(maxHeap != null) {
+                command.add("-Xmx" + maxHeap);
+            }
+            /* Makes the worker process finish when it runs out of memory, instead of keep running in an unstable state. */
+            command.add("-XX:+ExitOnOutOfMemoryError");
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(Start.class.getName());
+            command.add(Start.WORKER_CMD);
+
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            toWorker = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            fromWorker = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        private String exitStatus() {
+            if(process == null) {
+                return "not started";
+            }
+
+            try {
+                process.waitFor(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return process.isAlive() ? "still running" : "exit code " + process.exitValue();
+        }
+
+        /**
+         * Finishes the worker process by closing its standard input,
+         * forcing it to finish if it doesn't.
+         */
+        private void stop() {
+            if(process == null) {
+                return;
+            }
+
+            try {
+                toWorker.close();
+            } catch (IOException e) {
+                /* The process has already finished. */
+            }
+
+            try {
+                if(!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+
+            process = null;
+        }
+    }
+
+    /**
+     * Sets a listener to be notified after each simulation finishes (or fails) and its results are printed.
+     * Simulations are notified in the order they were given.
+     * Since simulations run in other processes, just their {@link CloudSimulation#getMetrics() metrics}
+     * are available for the listener.
+     * @param onFinish the listener to set
+     * @return
+     */
+    public WorkerPool setOnFinish(final Consumer<CloudSimulation> onFinish) {
+        this.onFinish = Objects.requireNonNull(onFinish);
+        return this;
+    }
+
+    public String getMaxHeap() {
+        return maxHeap;
+    }
+
+    /**
+     * Sets the maximum heap size for each worker process.
+     * @param maxHeap the size in the format accepted by the -Xmx JVM option (such as "4g"),
+     *                or null to use the JVM default
+     * @return
+     */
+    public WorkerPool setMaxHeap(final String maxHeap) {
+        this.maxHeap = maxHeap;
+        return this;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the maximum number of times a simulation is tried when the worker process crashes.
+     * @param maxAttempts the maximum number of attempts (at least 1)
+     * @return
+     */
+    public WorkerPool setMaxAttempts(final int maxAttempts) {
+        if(maxAttempts < 1){
+            throw new IllegalArgumentException("The maximum number of attempts must be at least 1.");
+        }
+
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+}
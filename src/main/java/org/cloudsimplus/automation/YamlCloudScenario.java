@@ -46,6 +46,10 @@ import java.util.*;
  * <center><b>---</b></center>
  * </p>
  *
+ * <p>Registries with identical definitions (such as the same host configuration declared in
+ * multiple scenarios or included from a {@link ScenarioFragments fragment file}) are shared
+ * by the scenarios read from the same file, so they must not be changed.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @see YamlCloudScenarioReader
  */
@@ -56,6 +60,15 @@ public class YamlCloudScenario {
     /** @see #getCustomers() */
     private List<CustomerRegistry> customers;
 
+    /** @see #getReplications() */
+    private int replications;
+
+    /** @see #getSeed() */
+    private Long seed;
+
+    /** @see #getParameters() */
+    private Map<String, String> parameters;
+
     /**
      * A default constructor that is called by a {@link YamlReader} using
      * reflection. This way, usually objects of this class don't have to be created manually.
@@ -65,6 +78,8 @@ public class YamlCloudScenario {
     public YamlCloudScenario() {
         this.customers = new ArrayList<>();
         this.datacenters = new ArrayList<>();
+        this.parameters = Collections.emptyMap();
+        this.replications = 1;
     }
 
     /**
@@ -122,4 +137,64 @@ public class YamlCloudScenario {
         }
         this.customers = customers;
     }
+
+    /**
+     * Gets the number of times the scenario has to be run,
+     * each time with a different random seed derived from the {@link #getSeed() scenario seed}.
+     * Running multiple replications is useful when the scenario has random behaviour
+     * (such as Cloudlets using a {@code Stochastic} utilization model),
+     * to compute confidence intervals for the results.
+     * @return the number of replications (1 by default)
+     */
+    public int getReplications() {
+        return replications;
+    }
+
+    /**
+     * Sets the number of times the scenario has to be run.
+     * @param replications the number of replications to set
+     * @see #getReplications()
+     */
+    public void setReplications(final int replications) {
+        this.replications = replications;
+    }
+
+    /**
+     * Gets the seed used to generate the random values for the scenario,
+     * so that running it again produces the same results.
+     * Each replication of the scenario uses a different seed, derived from this one.
+     * @return the seed or null if it wasn't set (when the seed is different for every run)
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed used to generate the random values for the scenario.
+     * @param seed the seed to set (or null to use a different seed for every run)
+     * @see #getSeed()
+     */
+    public void setSeed(final Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the values of the entries swept to create this scenario,
+     * when it is one of the combinations of a {@link ParameterSweep}.
+     * @return a map where each key is the path identifying a swept entry
+     *         (such as {@code datacenter[0].host[0].amount}) and each value is the entry value
+     *         (or an empty map if the scenario doesn't come from a sweep)
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Sets the values of the entries swept to create this scenario.
+     * It isn't public, so that it isn't considered a YAML entry.
+     * @param parameters the parameters to set
+     */
+    void setParameters(final Map<String, String> parameters) {
+        this.parameters = Objects.requireNonNull(parameters);
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import com.esotericsoftware.yamlbeans.YamlReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the Cloud Computing simulation scenarios inside an YAML file,
+ * parsing just one YAML document at a time.
+ *
+ * <p>Each scenario is parsed only when requested by {@link #next()},
+ * by a {@link YamlReader} which reads just that document.
+ * This way, the first scenario is available as soon as it is parsed and
+ * scenarios already used can be garbage-collected, even for files with thousands of scenarios.</p>
+ *
+ * <p>YAML documents are delimited by lines starting with 3 dashes ({@code ---}).
+ * Empty documents are skipped.
+ * Documents with {@link ParameterSweep parameter sweeps} are expanded into one scenario
+ * for each combination of the swept values, which is also parsed only when requested.</p>
+ *
+ * <p>The registries of the scenarios are {@link RegistryInterner interned} and
+ * the {@link ScenarioFragments fragments} they include are resolved.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see YamlCloudScenarioReader#stream(String)
+ */
+public class YamlCloudScenarioIterator implements Iterator<YamlCloudScenario>, Closeable {
+    private static final String DOCUMENT_START = "---";
+
+    private final BufferedReader input;
+
+    /** The directory the paths of included fragments are resolved against. */
+    private final Path baseDir;
+
+    private final RegistryInterner interner;
+
+    /** The line starting the next YAML document, which was read when the previous document ended. */
+    private String documentStartLine;
+
+    /** The number of the last line read from the input. */
+    private int lineNumber;
+
+    private boolean endOfInput;
+    private YamlCloudScenario nextScenario;
+
+    /** The sweep for the last read document, whose combinations are being parsed. */
+    private ParameterSweep sweep;
+
+    /** The index of the next {@link #sweep} combination to parse. */
+    private long sweepCombination;
+
+    /** The number of the line where the last read document starts. */
+    private int documentFirstLine;
+
+    /**
+     * Instantiates an iterator to read scenarios from a given input,
+     * whose included fragments are resolved against the current directory.
+     * @param input the input to read the YAML documents from
+     */
+    public YamlCloudScenarioIterator(final Reader input) {
+        this(input, Path.of(""));
+    }
+
+    /**
+     * Instantiates an iterator to read scenarios from a given input.
+     * @param input the input to read the YAML documents from
+     * @param baseDir the directory the paths of included fragments are resolved against
+     */
+    public YamlCloudScenarioIterator(final Reader input, final Path baseDir) {
+        this.input = input instanceof BufferedReader reader ? reader : new BufferedReader(input);
+        this.baseDir = baseDir;
+        this.interner = new RegistryInterner();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the YAML document cannot be read or parsed.
+     *         The cause is an {@link IOException} (usually a {@link YamlException}).
+     */
+    @Override
+    public boolean hasNext() {
+        if(nextScenario == null) {
+            nextScenario = readNextScenario();
+        }
+
+        return nextScenario != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws UncheckedIOException when the YAML document cannot be read or parsed.
+     *         The cause is an {@link IOException} (usually a {@link YamlException}).
+     */
+    @Override
+    public YamlCloudScenario next() {
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+
+        final var scenario = nextScenario;
+        nextScenario = null;
+        return scenario;
+    }
+
+    private YamlCloudScenario readNextScenario() {
+        try {
+            while (sweep != null || !endOfInput) {
+                if(sweep == null) {
+                    readNextSweep();
+                    continue;
+                }
+
+                final var current = sweep;
+                final long combination = sweepCombination++;
+                if(sweepCombination == current.getCombinations()) {
+                    sweep = null;
+                }
+
+                final var scenario = parse(current.getDocument(combination), documentFirstLine);
+                if(scenario != null) {
+                    scenario.setParameters(current.getParameters(combination));
+                    return link(scenario, interner, baseDir, documentFirstLine);
+                }
+            }
+
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the next YAML document and finds the parameter sweeps inside it.
+     * If the document is empty, no sweep is defined.
+     */
+    private void readNextSweep() throws IOException {
+        documentFirstLine = lineNumber + (documentStartLine == null ? 1 : 0);
+        final String document = readDocument();
+        if(document.isEmpty()) {
+            return;
+        }
+
+        sweep = sweepOf(document, documentFirstLine);
+        sweepCombination = 0;
+    }
+
+    /**
+     * Finds the parameter sweeps inside a YAML document.
+     * @param document the document text
+     * @param firstLine the number of the line where the document starts inside the file
+     * @return the sweep for the document (which may have no swept entries)
+     * @throws YamlException when some sweep declaration is invalid
+     */
+    static ParameterSweep sweepOf(final String document, final int firstLine) throws YamlException {
+        try {
+            return ParameterSweep.of(document, firstLine);
+        } catch (IllegalArgumentException e) {
+            throw new YamlException(
+                String.format("Error in the YAML document starting at line %d: %s", firstLine, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Reads the text of the next YAML document.
+     * @return the document text, including the line starting it (if any),
+     *         or an empty string if the document has just blank lines and comments
+     */
+    private String readDocument() throws IOException {
+        final var document = new StringBuilder();
+        if(documentStartLine != null) {
+            document.append(documentStartLine).append('\n');
+            documentStartLine = null;
+        }
+
+        boolean empty = true;
+        String line;
+        while ((line = input.readLine()) != null) {
+            lineNumber++;
+            if(line.startsWith(DOCUMENT_START)) {
+                documentStartLine = line;
+                return empty ? "" : document.toString();
+            }
+
+            empty = empty && isBlankOrComment(line);
+            document.append(line).append('\n');
+        }
+
+        endOfInput = true;
+        return empty ? "" : document.toString();
+    }
+
+    static boolean isBlankOrComment(final String line) {
+        final String trimmed = line.strip();
+        return trimmed.isEmpty() || trimmed.startsWith("#");
+    }
+
+    /**
+     * Parses the text of a YAML document.
+     * @param document the document text
+     * @param firstLine the number of the line where the document starts inside the file
+     * @return the parsed scenario or null if the document is empty
+     * @throws YamlException when the document cannot be parsed
+     */
+    static YamlCloudScenario parse(final String document, final int firstLine) throws YamlException {
+        final var reader = new YamlReader(new StringReader(document), YamlCloudScenarioReader.createYamlConfig());
+        try {
+            return reader.read(YamlCloudScenario.class);
+        } catch (YamlException e) {
+            throw new YamlException(
+                String.format("Error in the YAML document starting at line %d: %s", firstLine, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Interns the registries of a parsed scenario and resolves the fragments it includes.
+     * Registries are interned before resolving includes,
+     * so that the registries of the cached fragments are never changed.
+     * @param scenario the parsed scenario
+     * @param interner the interner for the file the scenario is read from
+     * @param baseDir the directory the paths of included fragments are resolved against
+     * @param firstLine the number of the line where the scenario document starts inside the file
+     * @return the given scenario
+     * @throws YamlException when some included fragment cannot be used
+     */
+    static YamlCloudScenario link(
+        final YamlCloudScenario scenario, final RegistryInterner interner,
+        final Path baseDir, final int firstLine) throws YamlException
+    {
+        try {
+            ScenarioFragments.resolve(interner.intern(scenario), baseDir);
+            return scenario;
+        } catch (IllegalArgumentException e) {
+            throw new YamlException(
+                String.format("Error in the YAML document starting at line %d: %s", firstLine, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Closes the input the YAML documents are read from.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -25,13 +25,22 @@ package org.cloudsimplus.automation;
 import cloudreports.models.*;
 import com.esotericsoftware.yamlbeans.YamlConfig;
 import com.esotericsoftware.yamlbeans.YamlException;
-import com.esotericsoftware.yamlbeans.YamlReader;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Reads Cloud Computing simulation scenarios
@@ -47,10 +56,18 @@ import java.util.List;
  * instantiate a {@link CloudSimulation} passing a {@link YamlCloudScenario} to it.
  * </p>
  *
+ * <p>For files with lots of scenarios, use {@link #stream(String)} instead,
+ * which parses each scenario only when it is requested.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @see YamlCloudScenario
  */
 public class YamlCloudScenarioReader {
+    /**
+     * The number of YAML documents parsed at the same time when reading a file.
+     */
+    private static final int PARSING_THREADS = Runtime.getRuntime().availableProcessors();
+
     private final File file;
     private final List<YamlCloudScenario> scenarios;
 
@@ -62,13 +79,16 @@ public class YamlCloudScenarioReader {
      * @param filePath the path of the YAML file to read
      */
     public YamlCloudScenarioReader(final String filePath) throws IllegalArgumentException, FileNotFoundException, YamlException {
-        this.file = new File(filePath);
+        this.file = getFile(filePath);
+        this.scenarios = readYamlFile();
+    }
 
+    private static File getFile(final String filePath) throws IllegalArgumentException {
         if (filePath == null || "".equals(filePath)) {
             throw new IllegalArgumentException("You must specify an YAML file, containing the CloudSim simulation scenario, as command line parameter.");
         }
 
-        this.scenarios = readYamlFile();
+        return new File(filePath);
     }
 
     /**
@@ -80,26 +100,108 @@ public class YamlCloudScenarioReader {
      */
     private List<YamlCloudScenario> readYamlFile() throws FileNotFoundException, YamlException {
         final var scenariosList = new ArrayList<YamlCloudScenario>();
-        final var reader = createYamlReader();
-
-        YamlCloudScenario scenario;
-        while ((scenario = reader.read(YamlCloudScenario.class)) != null) {
-            scenariosList.add(scenario);
+        try (var iterator = openMapped(file, PARSING_THREADS)) {
+            iterator.forEachRemaining(scenariosList::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause() instanceof YamlException yamlException ? yamlException : new YamlException(e.getCause());
+        } catch (IOException e) {
+            throw new YamlException(e);
         }
 
         return scenariosList;
     }
 
     /**
-     * Creates an {@link YamlReader} to read an YAML file and instantiate
-     * java objects for the entries inside the file.
+     * Gets a lazy {@link Stream} of the Cloud Computing simulation scenarios inside an YAML file.
+     * Each scenario is parsed only a little before the stream requests it
+     * (using one thread for each available processor),
+     * so that the file doesn't need to be entirely parsed before the first scenario is used.
+     * The stream must be closed after used, to close the file.
+     *
+     * <p>Errors parsing the YAML file are thrown when the invalid scenario is requested,
+     * as an {@link UncheckedIOException} whose cause is a {@link YamlException}.</p>
+     *
+     * @param filePath the path of the YAML file to read
+     * @return a Stream of the scenarios in the order they appear in the file
+     * @throws FileNotFoundException when the YAML file is not found.
+     * @see MappedYamlCloudScenarioIterator
+     */
+    public static Stream<YamlCloudScenario> stream(final String filePath) throws IllegalArgumentException, FileNotFoundException {
+        return stream(filePath, PARSING_THREADS);
+    }
+
+    /**
+     * Gets a lazy {@link Stream} of the Cloud Computing simulation scenarios inside an YAML file,
+     * which are parsed by a given number of threads (a few scenarios ahead of the one requested by the stream).
+     * The stream must be closed after used, to close the file.
+     *
+     * @param filePath the path of the YAML file to read
+     * @param parallelism the number of YAML documents to parse at the same time
+     * @return a Stream of the scenarios in the order they appear in the file
+     * @throws FileNotFoundException when the YAML file is not found.
+     * @see MappedYamlCloudScenarioIterator
+     */
+    public static Stream<YamlCloudScenario> stream(final String filePath, final int parallelism) throws IllegalArgumentException, FileNotFoundException {
+        final var iterator = openMapped(getFile(filePath), parallelism);
+        return stream(iterator, iterator);
+    }
+
+    private static MappedYamlCloudScenarioIterator openMapped(final File file, final int parallelism) throws FileNotFoundException {
+        try {
+            return new MappedYamlCloudScenarioIterator(file.toPath(), parallelism);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file + " (No such file or directory)");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets a lazy {@link Stream} of the Cloud Computing simulation scenarios read from a {@link Reader},
+     * such as the standard input or YAML text received by a {@link SimulationDaemon}.
+     * The stream must be closed after used, to close the reader.
+     *
+     * @param input the reader to get the YAML text from
+     * @return a Stream of the scenarios in the order they appear in the YAML text
+     * @see #stream(String)
+     */
+    public static Stream<YamlCloudScenario> stream(final Reader input) {
+        return stream(input, Path.of(""));
+    }
+
+    /**
+     * Gets a lazy {@link Stream} of the Cloud Computing simulation scenarios read from a {@link Reader},
+     * whose {@link ScenarioFragments included fragments} are resolved against a given directory.
+     * The stream must be closed after used, to close the reader.
+     *
+     * @param input the reader to get the YAML text from
+     * @param baseDir the directory the paths of included fragments are resolved against
+     * @return a Stream of the scenarios in the order they appear in the YAML text
+     * @see #stream(Reader)
+     */
+    public static Stream<YamlCloudScenario> stream(final Reader input, final Path baseDir) {
+        final var iterator = new YamlCloudScenarioIterator(input, baseDir);
+        return stream(iterator, iterator);
+    }
+
+    private static Stream<YamlCloudScenario> stream(final Iterator<YamlCloudScenario> iterator, final Closeable input) {
+        final var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Creates the {@link YamlConfig} to instantiate java objects for the entries inside an YAML file.
      *
-     * @return the {@link YamlReader} to enable reading the YAML file
-     * @throws FileNotFoundException
+     * @return the {@link YamlConfig} for reading an YAML file
      */
-    private YamlReader createYamlReader() throws FileNotFoundException {
-        final var reader = new YamlReader(new FileReader(file));
-        final YamlConfig cfg = reader.getConfig();
+    static YamlConfig createYamlConfig() {
+        final var cfg = new YamlConfig();
 
         //Defines the aliases in the YAML file that refers to specific java Classes.
         cfg.setClassTag("datacenter", DatacenterRegistry.class);
@@ -108,8 +210,9 @@ public class YamlCloudScenarioReader {
         cfg.setClassTag("host", HostRegistry.class);
         cfg.setClassTag("cloudlet", CloudletRegistry.class);
         cfg.setClassTag("vm", VmRegistry.class);
+        ScenarioFragments.configure(cfg);
 
-        return reader;
+        return cfg;
     }
 
     /**
@@ -0,0 +1,87 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import com.esotericsoftware.yamlbeans.YamlWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Writes {@link YamlCloudScenario Cloud Simulation Scenarios} in the YAML format
+ * read by the {@link YamlCloudScenarioReader}, using the same tags
+ * (such as {@code !datacenter} and {@code !host}) for the registry classes.
+ * Each scenario is written as a separate YAML document.
+ *
+ * <p>Only the entries whose values differ from the defaults are written.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public class YamlCloudScenarioWriter implements Closeable {
+    private final YamlWriter writer;
+
+    /**
+     * Instantiates a writer for YAML scenarios.
+     * @param output where the scenarios will be written to (which is closed when this writer is closed)
+     */
+    public YamlCloudScenarioWriter(final Writer output) {
+        final var cfg = YamlCloudScenarioReader.createYamlConfig();
+        cfg.writeConfig.setWriteRootTags(false);
+        /* Registries shared by multiple lists are written in full, instead of using YAML aliases */
+        cfg.writeConfig.setAutoAnchor(false);
+        this.writer = new YamlWriter(output, cfg);
+    }
+
+    /**
+     * Writes a scenario as a new YAML document.
+     * @param scenario the scenario to write
+     * @throws YamlException when the scenario cannot be written
+     */
+    public void write(final YamlCloudScenario scenario) throws YamlException {
+        writer.write(scenario);
+    }
+
+    /**
+     * Gets the YAML representation of a scenario.
+     * @param scenario the scenario to get the YAML from
+     * @return the YAML document for the scenario
+     */
+    public static String toYaml(final YamlCloudScenario scenario) {
+        final var output = new StringWriter();
+        try (var yamlWriter = new YamlCloudScenarioWriter(output)) {
+            yamlWriter.write(scenario);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error writing scenario to YAML", e);
+        }
+
+        return output.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
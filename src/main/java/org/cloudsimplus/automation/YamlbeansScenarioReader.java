@@ -0,0 +1,68 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation;
+
+import java.io.FileNotFoundException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * The default {@link ScenarioReader}, which parses YAML files using yamlbeans.
+ * It supports every YAML feature, including {@link ParameterSweep parameter sweeps}.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see YamlCloudScenarioReader
+ */
+public class YamlbeansScenarioReader implements ScenarioReader {
+    /**
+     * The name of this reader.
+     */
+    public static final String NAME = "yamlbeans";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Set.of("yml", "yaml");
+    }
+
+    /**
+     * {@inheritDoc}
+     * The documents inside the file are parsed in parallel.
+     * @see YamlCloudScenarioReader#stream(String)
+     */
+    @Override
+    public Stream<YamlCloudScenario> stream(final Path file) throws FileNotFoundException {
+        return YamlCloudScenarioReader.stream(file.toString());
+    }
+
+    @Override
+    public Stream<YamlCloudScenario> stream(final Reader input, final Path baseDir) {
+        return YamlCloudScenarioReader.stream(input, baseDir);
+    }
+}
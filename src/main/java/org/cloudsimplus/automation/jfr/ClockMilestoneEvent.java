@@ -0,0 +1,80 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event showing the progress of the simulation clock.
+ * It's emitted when the simulation clock advances after at least {@link #INTERVAL_NANOS}
+ * of wall-clock time since the previous event, and when the simulation finishes.
+ * The event duration is the wall-clock time spent to advance the simulation clock
+ * from the {@code fromTime} to the {@code toTime}.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@Name("org.cloudsimplus.automation.ClockMilestone")
+@Label("Simulation Clock Milestone")
+@Category({"CloudSim Plus", "Automation"})
+@Description("Progress of the simulation clock over wall-clock time")
+public final class ClockMilestoneEvent extends Event {
+    /**
+     * The minimum wall-clock time between two events (in nanoseconds).
+     */
+    public static final long INTERVAL_NANOS = 100_000_000;
+
+    @Label("Scenario")
+    private final String scenario;
+
+    @Label("From Simulation Time")
+    @Description("Simulation time (in seconds) at the previous milestone")
+    private final double fromTime;
+
+    @Label("To Simulation Time")
+    @Description("Simulation time (in seconds) at this milestone")
+    private double toTime;
+
+    /**
+     * Instantiates an event, which starts measuring the wall-clock time until the next milestone.
+     * @param scenario the label of the scenario being run
+     * @param fromTime the current simulation time (in seconds)
+     */
+    public ClockMilestoneEvent(final String scenario, final double fromTime) {
+        this.scenario = scenario;
+        this.fromTime = fromTime;
+        begin();
+    }
+
+    public ClockMilestoneEvent setToTime(final double toTime) {
+        this.toTime = toTime;
+        return this;
+    }
+
+    /**
+     * Checks if the event is enabled in any running recording.
+     * @return
+     */
+    public static boolean isTypeEnabled() {
+        return EventType.getEventType(ClockMilestoneEvent.class).isEnabled();
+    }
+}
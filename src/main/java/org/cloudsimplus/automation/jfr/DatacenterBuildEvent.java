@@ -0,0 +1,61 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for building a Datacenter, including its Hosts.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@Name("org.cloudsimplus.automation.DatacenterBuild")
+@Label("Datacenter Build")
+@Category({"CloudSim Plus", "Automation"})
+@Description("Creation of a Datacenter and its Hosts")
+public final class DatacenterBuildEvent extends Event {
+    @Label("Scenario")
+    private final String scenario;
+
+    @Label("Datacenter")
+    private final String datacenter;
+
+    @Label("Hosts")
+    private int hosts;
+
+    /**
+     * Instantiates an event, which starts measuring the Datacenter build duration.
+     * @param scenario the label of the scenario being built
+     * @param datacenter the Datacenter name
+     */
+    public DatacenterBuildEvent(final String scenario, final String datacenter) {
+        this.scenario = scenario;
+        this.datacenter = datacenter;
+        begin();
+    }
+
+    public DatacenterBuildEvent setHosts(final int hosts) {
+        this.hosts = hosts;
+        return this;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Records the execution of the tool with the JDK Flight Recorder (JFR),
+ * using the built-in "profile" settings plus the custom CloudSim Plus Automation events.
+ * The recording is written to a file when it's closed, which can be summarized by {@link JfrSummary}
+ * or opened in JDK Mission Control.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class FlightRecording implements Closeable {
+    private final Recording recording;
+    private final Path file;
+
+    private FlightRecording(final Path file) throws IOException {
+        try {
+            this.recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Cannot load the JFR profile settings: " + e.getMessage(), e);
+        }
+
+        this.file = file;
+        recording.setName("CloudSim Plus Automation");
+        recording.enable(PhaseEvent.class);
+        recording.enable(DatacenterBuildEvent.class);
+        recording.enable(PolicyFactoryEvent.class);
+        recording.enable(ClockMilestoneEvent.class);
+        recording.setDestination(file);
+        recording.setToDisk(true);
+    }
+
+    /**
+     * Starts recording.
+     * @param file the file where the recording will be written when it's closed
+     * @return the started recording
+     * @throws IOException when the recording cannot be started
+     */
+    public static FlightRecording start(final Path file) throws IOException {
+        final var flightRecording = new FlightRecording(file);
+        flightRecording.recording.start();
+        return flightRecording;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Stops recording and writes the recording file.
+     */
+    @Override
+    public void close() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Summarizes a JDK Flight Recorder file, printing the top allocation sites,
+ * the hottest methods and the duration of each simulation phase.
+ * The events are read one at a time, so that large recordings don't need to fit in memory.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see FlightRecording
+ */
+public final class JfrSummary {
+    /**
+     * The maximum number of allocation sites and methods to print.
+     */
+    private static final int TOP = 10;
+
+    /** The bytes allocated at each site (allocated type and the frame where the allocation happened). */
+    private final Map<String, Long> allocationSites = new HashMap<>();
+
+    /** The number of execution samples where each method was at the top of the stack. */
+    private final Map<String, Long> hotMethods = new HashMap<>();
+
+    /** The total duration and number of occurrences of each phase. */
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+    private long executionSamples;
+
+    private JfrSummary() {/**/}
+
+    /**
+     * Reads a recording file and prints its summary.
+     * @param file the recording file to read
+     * @param out the stream to print the summary to
+     * @throws IOException when the file cannot be read
+     */
+    public static void print(final Path file, final PrintStream out) throws IOException {
+        final var summary = new JfrSummary();
+        try (var recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                summary.add(recording.readEvent());
+            }
+        }
+
+        summary.print(out, file);
+    }
+
+    private void add(final RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.ObjectAllocationSample" -> addAllocation(event, event.getLong("weight"));
+            case "jdk.ObjectAllocationInNewTLAB" -> addAllocation(event, event.getLong("tlabSize"));
+            case "jdk.ObjectAllocationOutsideTLAB" -> addAllocation(event, event.getLong("allocationSize"));
+            case "jdk.ExecutionSample" -> {
+                executionSamples++;
+                final String method = topFrame(event, false);
+                if(method != null) {
+                    hotMethods.merge(method, 1L, Long::sum);
+                }
+            }
+            case PhaseEvent.NAME -> {
+                final long[] stats = phases.computeIfAbsent(event.getString("phase"), phase -> new long[2]);
+                stats[0] += event.getDuration().toNanos();
+                stats[1]++;
+            }
+            default -> {/* Other events are not summarized. */}
+        }
+    }
+
+    private void addAllocation(final RecordedEvent event, final long bytes) {
+        final String frame = topFrame(event, true);
+        final String site = event.getClass("objectClass").getName() + " at " + (frame == null ? "unknown" : frame);
+        allocationSites.merge(site, bytes, Long::sum);
+    }
+
+    /**
+     * Gets a description of the method at the top of an event stack trace.
+     * @param event the event to get the top frame from
+     * @param includeLine whether to include the line number in the description
+     * @return the method description or null if the event has no stack trace
+     */
+    private static String topFrame(final RecordedEvent event, final boolean includeLine) {
+        final var stackTrace = event.getStackTrace();
+        if(stackTrace == null || stackTrace.getFrames().isEmpty()){
+            return null;
+        }
+
+        final RecordedFrame frame = stackTrace.getFrames().get(0);
+        final String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        return includeLine && frame.getLineNumber() >= 0 ? method + ":" + frame.getLineNumber() : method;
+    }
+
+    private void print(final PrintStream out, final Path file) {
+        out.printf("%nJFR summary for %s%n", file);
+
+        out.printf("%nTop allocation sites (estimated MB):%n");
+        allocationSites.entrySet().stream()
+            .sorted(comparingLong((Map.Entry<String, Long> e) -> e.getValue()).reversed())
+            .limit(TOP)
+            .forEach(e -> out.printf("  %10.2f  %s%n", e.getValue() / (1024.0 * 1024.0), e.getKey()));
+
+        out.printf("%nHottest methods (%% of %d execution samples):%n", executionSamples);
+        hotMethods.entrySet().stream()
+            .sorted(comparingLong((Map.Entry<String, Long> e) -> e.getValue()).reversed())
+            .limit(TOP)
+            .forEach(e -> out.printf("  %9.2f%%  %s%n", e.getValue() * 100.0 / executionSamples, e.getKey()));
+
+        out.printf("%nSimulation phases:%n");
+        phases.forEach((phase, stats) ->
+            out.printf("  %-26s %12.3f ms  (%d scenario(s))%n", phase, stats[0] / 1e6, stats[1]));
+        out.println();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for a phase of a simulation run,
+ * such as building the Datacenters or running the simulation.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see org.cloudsimplus.automation.RunProfile
+ */
+@Name(PhaseEvent.NAME)
+@Label("Simulation Phase")
+@Category({"CloudSim Plus", "Automation"})
+@Description("A phase of a simulation run, from parsing the YAML file to printing the results")
+public final class PhaseEvent extends Event {
+    public static final String NAME = "org.cloudsimplus.automation.Phase";
+
+    @Label("Scenario")
+    private final String scenario;
+
+    @Label("Phase")
+    private final String phase;
+
+    /**
+     * Instantiates an event, which starts measuring the phase duration.
+     * @param scenario the label of the scenario being run
+     * @param phase the phase description
+     */
+    public PhaseEvent(final String scenario, final String phase) {
+        this.scenario = scenario;
+        this.phase = phase;
+        begin();
+    }
+}
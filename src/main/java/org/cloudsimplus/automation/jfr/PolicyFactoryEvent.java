@@ -0,0 +1,50 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for generating the factory that instantiates a policy class
+ * (such as a VmScheduler), which is when reflection is used.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see org.cloudsimplus.automation.PolicyLoader
+ */
+@Name("org.cloudsimplus.automation.PolicyFactory")
+@Label("Policy Factory Generation")
+@Category({"CloudSim Plus", "Automation"})
+@Description("Generation of the factory that instantiates a policy class given by its name in the YAML file")
+public final class PolicyFactoryEvent extends Event {
+    @Label("Policy Class")
+    private final String policyClass;
+
+    /**
+     * Instantiates an event, which starts measuring the factory generation duration.
+     * @param policyClass the full name of the policy class
+     */
+    public PolicyFactoryEvent(final String policyClass) {
+        this.policyClass = policyClass;
+        begin();
+    }
+}
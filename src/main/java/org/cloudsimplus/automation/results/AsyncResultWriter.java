@@ -0,0 +1,295 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A {@link ResultSink} that encodes and writes results on a dedicated thread.
+ *
+ * <p>Simulations just enqueue the lists of results, which is almost free for them.
+ * The writer thread encodes the results into a large direct {@link ByteBuffer}
+ * that is written to the output channel only when it's full.
+ * If the writer cannot keep up with the simulations, the queue gets full
+ * and simulations wait for some room in the queue, so that memory usage is bounded.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class AsyncResultWriter implements ResultSink {
+    /**
+     * The size of the buffer where encoded results are stored before being written (in bytes).
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The number of characters encoded at once from the text buffer into the byte buffer.
+     */
+    private static final int TEXT_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The maximum number of result lists waiting to be written.
+     */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * How long to wait for room in the queue before checking again if the writer thread is still running (in milliseconds).
+     */
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    /**
+     * A marker added to the queue to indicate the writer thread must stop.
+     */
+    private static final List<CloudletResult> END = new ArrayList<>(0);
+
+    private final WritableByteChannel channel;
+    private final ResultFormat format;
+    private final BlockingQueue<List<CloudletResult>> queue;
+    private final Thread writer;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Instantiates a writer and starts its thread.
+     * @param channel the channel to write the results to, which is closed when this writer is closed
+     * @param format the format to encode the results
+     */
+    public AsyncResultWriter(final WritableByteChannel channel, final ResultFormat format) {
+        this.channel = channel;
+        this.format = format;
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.writer = new Thread(this::writeAll, "result-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens a writer for a given file.
+     * @param format the format to encode the results
+     * @param path the path of the file to write, or {@code -} for the standard output.
+     *             If the path ends with {@code .gz}, the results are compressed using gzip.
+     * @return the opened writer
+     * @throws IOException when the file cannot be created
+     */
+    public static AsyncResultWriter open(final ResultFormat format, final String path) throws IOException {
+        if("-".equals(path)){
+            /* Writes whole arrays at once (instead of byte by byte, as FilterOutputStream does)
+             * and ignores close() calls, so that the standard output is just flushed. */
+            final var stdout = new FilterOutputStream(System.out) {
+                @Override public void write(final byte[] b, final int off, final int len) throws IOException { out.write(b, off, len); }
+                @Override public void close() throws IOException { flush(); }
+            };
+            return new AsyncResultWriter(Channels.newChannel(stdout), format);
+        }
+
+        if(path.endsWith(".gz")){
+            final var gzip = new GZIPOutputStream(new FileOutputStream(path), BUFFER_SIZE);
+            return new AsyncResultWriter(Channels.newChannel(gzip), format);
+        }
+
+        return new AsyncResultWriter(FileChannel.open(Path.of(path), CREATE, TRUNCATE_EXISTING, WRITE), format);
+    }
+
+    @Override
+    public void write(final List<CloudletResult> results) {
+        checkFailure();
+        if(results.isEmpty()){
+            return;
+        }
+
+        /* The results are enqueued while holding the lock, so that they cannot be added after the END marker. */
+        synchronized (this) {
+            if(closed){
+                throw new IllegalStateException("The result writer is already closed.");
+            }
+
+            try {
+                enqueue(results);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing results", e);
+            }
+        }
+    }
+
+    /**
+     * Adds a list of results to the queue, waiting for some room if it's full.
+     * While waiting, checks if the writer thread is still running,
+     * so that the caller doesn't block forever if it has stopped.
+     * @param results the results to enqueue
+     * @return true if the results were enqueued, false if the writer thread has stopped
+     */
+    private boolean enqueue(final List<CloudletResult> results) throws InterruptedException {
+        while (!queue.offer(results, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if(results != END) {
+                checkFailure();
+            }
+
+            if(!writer.isAlive()) {
+                if(results != END) {
+                    throw new IllegalStateException("The result writer has stopped.");
+                }
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if(closed){
+                return;
+            }
+            closed = true;
+        }
+
+        try {
+            enqueue(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing results");
+        }
+
+        if(failure != null){
+            throw failure;
+        }
+    }
+
+    private void checkFailure() {
+        if(failure != null){
+            throw new IllegalStateException("Error writing simulation results: " + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Takes the lists of results from the queue and writes them, until the writer is closed.
+     * If writing fails for any reason, keeps taking the results from the queue (discarding them),
+     * so that simulations waiting to enqueue results don't block forever.
+     */
+    private void writeAll() {
+        final var encoder = new Encoder();
+        /* Indicates the END marker was taken, so there is nothing else to discard after a failure. */
+        boolean ended = false;
+        try (channel) {
+            encoder.append(format.header());
+            for (var results = queue.take(); results != END; results = queue.take()) {
+                encoder.append(results);
+            }
+
+            ended = true;
+            encoder.flush();
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("The result writer was interrupted");
+        } catch (RuntimeException e) {
+            failure = new IOException("Error encoding results: " + e.getMessage(), e);
+        }
+
+        if(failure != null && !ended) {
+            discardAll();
+        }
+    }
+
+    private void discardAll() {
+        try {
+            while (queue.take() != END) {
+                /* Just discards the results. */
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encodes results as UTF-8 bytes into a buffer, writing it to the channel when it gets full.
+     */
+    private final class Encoder {
+        private final StringBuilder text = new StringBuilder(TEXT_CHUNK_SIZE + 1024);
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder charsetEncoder = StandardCharsets.UTF_8.newEncoder();
+
+        void append(final List<CloudletResult> results) throws IOException {
+            for (final CloudletResult result : results) {
+                format.encode(result, text);
+                if(text.length() >= TEXT_CHUNK_SIZE) {
+                    encodeText();
+                }
+            }
+        }
+
+        void append(final String str) throws IOException {
+            text.append(str);
+            encodeText();
+        }
+
+        void flush() throws IOException {
+            encodeText();
+            writeBuffer();
+        }
+
+        private void encodeText() throws IOException {
+            final var chars = CharBuffer.wrap(text);
+            CoderResult result;
+            while ((result = charsetEncoder.encode(chars, buffer, true)).isOverflow()) {
+                writeBuffer();
+            }
+
+            if(result.isError()){
+                result.throwException();
+            }
+
+            text.setLength(0);
+        }
+
+        private void writeBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
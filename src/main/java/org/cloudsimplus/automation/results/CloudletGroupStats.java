@@ -0,0 +1,121 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+/**
+ * Statistics for a group of finished {@link Cloudlet}s (such as the ones from the same customer),
+ * which are computed as Cloudlets finish, without keeping them.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see CloudletStatistics
+ */
+public final class CloudletGroupStats {
+    private final String name;
+    private final QuantileSketch responseTime;
+    private final QuantileSketch waitTime;
+    private final QuantileSketch execTime;
+    private final QuantileSketch cost;
+
+    /**
+     * Instantiates the statistics for a group.
+     * @param name the group name
+     */
+    public CloudletGroupStats(final String name) {
+        this.name = name;
+        this.responseTime = new QuantileSketch();
+        this.waitTime = new QuantileSketch();
+        this.execTime = new QuantileSketch();
+        this.cost = new QuantileSketch();
+    }
+
+    /**
+     * Adds the times and cost of a finished Cloudlet to the statistics.
+     * @param cloudlet the finished Cloudlet
+     */
+    public void add(final Cloudlet cloudlet) {
+        final double exec = cloudlet.getFinishTime() - cloudlet.getStartTime();
+        final double wait = cloudlet.getStartWaitTime();
+        responseTime.add(wait + exec);
+        waitTime.add(wait);
+        execTime.add(exec);
+        cost.add(cloudlet.getTotalCost());
+    }
+
+    /**
+     * Adds the statistics from another group to this one.
+     * @param other the group to merge into this one
+     */
+    public void merge(final CloudletGroupStats other) {
+        responseTime.merge(other.responseTime);
+        waitTime.merge(other.waitTime);
+        execTime.merge(other.execTime);
+        cost.merge(other.cost);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of finished Cloudlets in the group.
+     * @return
+     */
+    public long getCount() {
+        return responseTime.getCount();
+    }
+
+    /**
+     * Gets the distribution of the Cloudlets response time,
+     * which is the time from their arrival until they finish (in seconds).
+     * @return
+     */
+    public QuantileSketch getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Gets the distribution of the time Cloudlets waited until starting (in seconds).
+     * @return
+     */
+    public QuantileSketch getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Gets the distribution of the time Cloudlets spent running (in seconds).
+     * @return
+     */
+    public QuantileSketch getExecTime() {
+        return execTime;
+    }
+
+    /**
+     * Gets the distribution of the Cloudlets total cost.
+     * @return
+     */
+    public QuantileSketch getCost() {
+        return cost;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.vms.Vm;
+
+/**
+ * The results of a finished {@link Cloudlet}, which are written to a {@link ResultSink}.
+ * It just holds a copy of the Cloudlet data, so that the Cloudlet can be
+ * garbage collected before the result is written.
+ *
+ * @param scenario the label of the simulation scenario the Cloudlet belongs to
+ * @param broker the name of the broker (customer) that owns the Cloudlet
+ * @param cloudletId the Cloudlet ID
+ * @param status the Cloudlet status at the end of the simulation
+ * @param datacenterId the ID of the Datacenter where the Cloudlet ran
+ * @param hostId the ID of the Host where the Cloudlet ran
+ * @param vmId the ID of the VM where the Cloudlet ran
+ * @param vmPes the number of PEs of the VM
+ * @param length the Cloudlet length (in MI)
+ * @param pes the number of PEs required by the Cloudlet
+ * @param startTime the time the Cloudlet started running (in seconds)
+ * @param finishTime the time the Cloudlet finished running (in seconds)
+ * @author Manoel Campos da Silva Filho
+ */
+public record CloudletResult(
+    String scenario,
+    String broker,
+    long cloudletId,
+    String status,
+    long datacenterId,
+    long hostId,
+    long vmId,
+    long vmPes,
+    long length,
+    long pes,
+    double startTime,
+    double finishTime)
+{
+    /**
+     * Creates the results for a given Cloudlet.
+     * @param scenario the label of the simulation scenario the Cloudlet belongs to
+     * @param cloudlet the Cloudlet to get the results from
+     * @return
+     */
+    public static CloudletResult of(final String scenario, final Cloudlet cloudlet) {
+        final Vm vm = cloudlet.getVm();
+        final var host = vm.getHost();
+        return new CloudletResult(
+            scenario,
+            cloudlet.getBroker().getName(),
+            cloudlet.getId(),
+            cloudlet.getStatus().name(),
+            host.getDatacenter().getId(),
+            host.getId(),
+            vm.getId(),
+            vm.getPesNumber(),
+            cloudlet.getLength(),
+            cloudlet.getPesNumber(),
+            cloudlet.getStartTime(),
+            cloudlet.getFinishTime());
+    }
+
+    /**
+     * Gets the time the Cloudlet spent running (in seconds).
+     * @return
+     */
+    public double execTime() {
+        return finishTime - startTime;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import org.cloudsimplus.automation.LogUtils;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregated statistics for the finished Cloudlets of a simulation,
+ * organized in {@link CloudletGroupStats named groups} (such as one for each customer).
+ * This is an alternative to keeping and printing the results of every Cloudlet,
+ * since the memory used depends just on the number of groups.
+ *
+ * <p>Statistics from several simulations (such as replications of the same scenario)
+ * can be {@link #merge(CloudletStatistics) merged}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class CloudletStatistics {
+    private static final String[] CAPTIONS = {
+        "Group                    ", "Cloudlets", "Resp mean ", "Resp min  ", "Resp p50  ", "Resp p95  ",
+        "Resp p99  ", "Resp max  ", "Wait mean ", "Wait p95  ", "Exec mean ", "Exec p95  ", "Total cost  "};
+
+    private final Map<String, CloudletGroupStats> groups;
+
+    public CloudletStatistics() {
+        this.groups = new LinkedHashMap<>();
+    }
+
+    /**
+     * Gets the statistics for a group, creating it if it doesn't exist yet.
+     * Groups are kept in the order they are created.
+     * @param name the group name
+     * @return
+     */
+    public CloudletGroupStats group(final String name) {
+        return groups.computeIfAbsent(name, CloudletGroupStats::new);
+    }
+
+    /**
+     * Gets the statistics for all groups.
+     * @return
+     */
+    public Collection<CloudletGroupStats> getGroups() {
+        return Collections.unmodifiableCollection(groups.values());
+    }
+
+    /**
+     * Adds the statistics from another object to this one,
+     * merging the groups with the same name.
+     * @param other the statistics to merge into this one
+     */
+    public void merge(final CloudletStatistics other) {
+        other.groups.values().forEach(g -> group(g.getName()).merge(g));
+    }
+
+    /**
+     * Prints a summary table with the statistics for each group.
+     * Times are in seconds.
+     * @param out the stream to print the table to
+     */
+    public void print(final PrintStream out) {
+        final String separator = " | ";
+        LogUtils.printCaptions(out, CAPTIONS, separator);
+        for (final CloudletGroupStats g : groups.values()) {
+            final var resp = g.getResponseTime();
+            LogUtils.printLine(out, CAPTIONS, new Object[]{
+                g.getName(), g.getCount(),
+                format(resp.getMean()), format(resp.getMin()), format(resp.getQuantile(0.5)),
+                format(resp.getQuantile(0.95)), format(resp.getQuantile(0.99)), format(resp.getMax()),
+                format(g.getWaitTime().getMean()), format(g.getWaitTime().getQuantile(0.95)),
+                format(g.getExecTime().getMean()), format(g.getExecTime().getQuantile(0.95)),
+                format(g.getCost().getSum())}, separator);
+        }
+    }
+
+    private static String format(final double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.2f", value);
+    }
+}
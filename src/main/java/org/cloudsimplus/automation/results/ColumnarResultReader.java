@@ -0,0 +1,197 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import org.cloudsimplus.automation.results.ColumnarResultWriter.ColumnType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a columnar binary result file written by a {@link ColumnarResultWriter}.
+ *
+ * <p>Each column is memory-mapped and exposed as an {@link IntBuffer} or {@link DoubleBuffer}
+ * that reads the values directly from the file pages, without copying or parsing them.
+ * Therefore, opening a file is almost instant, whatever its size, and the operating system
+ * loads just the parts of the columns which are actually read.
+ * A column can have up to {@link Integer#MAX_VALUE} bytes.</p>
+ *
+ * <p>The returned buffers remain valid after the reader is closed.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class ColumnarResultReader implements Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private final long rowCount;
+    private final Map<String, String> metadata;
+    private final Map<String, ColumnInfo> columns;
+
+    private record ColumnInfo(ColumnType type, long offset) {}
+
+    /**
+     * Opens a columnar result file, reading just its header.
+     * @param path the path of the file to read
+     * @throws IOException when the file cannot be read or is not a valid columnar result file
+     */
+    public ColumnarResultReader(final Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, READ);
+        try {
+            final var fixedHeader = map(0, ColumnarResultWriter.FIXED_HEADER_SIZE);
+            final var magic = new byte[ColumnarResultWriter.MAGIC.length];
+            fixedHeader.get(magic);
+            if(!Arrays.equals(magic, ColumnarResultWriter.MAGIC)) {
+                throw invalidFile("it's not a columnar result file");
+            }
+
+            final int version = fixedHeader.getInt();
+            if(version != ColumnarResultWriter.VERSION) {
+                throw invalidFile("unsupported version " + version);
+            }
+
+            final int columnCount = fixedHeader.getInt();
+            this.rowCount = fixedHeader.getLong();
+            final int headerSize = fixedHeader.getInt();
+            final int metadataCount = fixedHeader.getInt();
+
+            final var header = map(0, headerSize).position(ColumnarResultWriter.FIXED_HEADER_SIZE);
+            final var metadata = new LinkedHashMap<String, String>();
+            for (int i = 0; i < metadataCount; i++) {
+                metadata.put(getString(header), getString(header));
+            }
+            this.metadata = Collections.unmodifiableMap(metadata);
+
+            final var columns = new LinkedHashMap<String, ColumnInfo>();
+            for (int i = 0; i < columnCount; i++) {
+                final String name = getString(header);
+                final ColumnType type = ColumnType.values()[header.get()];
+                columns.put(name, new ColumnInfo(type, header.getLong()));
+            }
+            this.columns = Collections.unmodifiableMap(columns);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw invalidFile("corrupted header (" + e.getMessage() + ")");
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private MappedByteBuffer map(final long offset, final long size) throws IOException {
+        if(offset + size > channel.size()) {
+            throw invalidFile("the file is truncated");
+        }
+
+        final var buffer = channel.map(READ_ONLY, offset, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        final var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private IOException invalidFile(final String reason) {
+        return new IOException("Invalid columnar result file " + path + ": " + reason);
+    }
+
+    /**
+     * Gets the number of rows in the file.
+     * @return
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the metadata entries from the file header, such as the scenario name.
+     * @return a read-only map of metadata entries
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Gets the names of the columns, in the order they are stored in the file.
+     * @return
+     */
+    public List<String> getColumnNames() {
+        return List.copyOf(columns.keySet());
+    }
+
+    /**
+     * Gets a memory-mapped view of a column of int values.
+     * @param name the column name
+     * @return
+     * @throws IllegalArgumentException when there is no int column with the given name
+     * @throws IOException when the column cannot be mapped
+     */
+    public IntBuffer intColumn(final String name) throws IOException {
+        return mapColumn(name, ColumnType.INT32).asIntBuffer();
+    }
+
+    /**
+     * Gets a memory-mapped view of a column of double values.
+     * @param name the column name
+     * @return
+     * @throws IllegalArgumentException when there is no double column with the given name
+     * @throws IOException when the column cannot be mapped
+     */
+    public DoubleBuffer doubleColumn(final String name) throws IOException {
+        return mapColumn(name, ColumnType.FLOAT64).asDoubleBuffer();
+    }
+
+    private ByteBuffer mapColumn(final String name, final ColumnType type) throws IOException {
+        final ColumnInfo column = columns.get(name);
+        if(column == null || column.type() != type) {
+            throw new IllegalArgumentException(
+                String.format("There is no %s column named '%s' in %s", type, name, path));
+        }
+
+        return map(column.offset(), rowCount * type.width);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Writes simulation results to a compact columnar binary file,
+ * which can be read by a {@link ColumnarResultReader} without any parsing.
+ *
+ * <p>Each column stores a single field (such as the Cloudlet ID or its finish time) for all rows,
+ * as an array of primitive values. The file layout is (all values in little-endian):</p>
+ * <pre>
+ * magic "CSPCOLRS"              8 bytes
+ * version                       int
+ * number of columns             int
+ * number of rows                long
+ * header length (in bytes)      int
+ * number of metadata entries    int
+ * metadata entries              (key, value) strings
+ * column descriptors            (name string, type byte, data offset long) for each column
+ * column data                   each column starting at an 8-byte aligned offset
+ * </pre>
+ * <p>Strings are stored as an int length followed by the UTF-8 bytes.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class ColumnarResultWriter {
+    static final byte[] MAGIC = "CSPCOLRS".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    /**
+     * The size of the fixed part of the header, before the metadata entries.
+     */
+    static final int FIXED_HEADER_SIZE = 32;
+
+    /**
+     * The size of the buffer used to write the columns (in bytes).
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The types of the values in a column.
+     */
+    enum ColumnType {
+        INT32(4), FLOAT64(8);
+
+        final int width;
+
+        ColumnType(final int width) {
+            this.width = width;
+        }
+    }
+
+    /**
+     * A column to be written.
+     * Just one of the value functions is set, according to the column type.
+     */
+    private record Column(String name, ColumnType type, IntUnaryOperator intValue, IntToDoubleFunction doubleValue) {}
+
+    private final int rowCount;
+    private final Map<String, String> metadata;
+    private final List<Column> columns;
+
+    /**
+     * Instantiates a writer for a given number of rows.
+     * @param rowCount the number of rows to write
+     */
+    public ColumnarResultWriter(final int rowCount) {
+        if(rowCount < 0){
+            throw new IllegalArgumentException("The number of rows cannot be negative.");
+        }
+
+        this.rowCount = rowCount;
+        this.metadata = new LinkedHashMap<>();
+        this.columns = new ArrayList<>();
+    }
+
+    /**
+     * Adds a metadata entry to the file header, such as the scenario name.
+     * @param key the metadata key
+     * @param value the metadata value
+     * @return
+     */
+    public ColumnarResultWriter metadata(final String key, final Object value) {
+        metadata.put(key, String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * Adds a column of int values.
+     * @param name the column name
+     * @param value a function that gets the value of the column for a given row index
+     * @return
+     */
+    public ColumnarResultWriter intColumn(final String name, final IntUnaryOperator value) {
+        columns.add(new Column(name, ColumnType.INT32, value, null));
+        return this;
+    }
+
+    /**
+     * Adds a column of double values.
+     * @param name the column name
+     * @param value a function that gets the value of the column for a given row index
+     * @return
+     */
+    public ColumnarResultWriter doubleColumn(final String name, final IntToDoubleFunction value) {
+        columns.add(new Column(name, ColumnType.FLOAT64, null, value));
+        return this;
+    }
+
+    /**
+     * Writes the metadata and all columns to a file, which is overwritten if it already exists.
+     * @param path the path of the file to write
+     * @throws IOException when the file cannot be written
+     */
+    public void write(final Path path) throws IOException {
+        try (var channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            final ByteBuffer header = createHeader();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+
+            final var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (final Column column : columns) {
+                writePadding(channel);
+                writeColumn(channel, column, buffer);
+            }
+        }
+    }
+
+    private ByteBuffer createHeader() {
+        final var strings = new ArrayList<byte[]>();
+        metadata.forEach((key, value) -> {
+            strings.add(key.getBytes(StandardCharsets.UTF_8));
+            strings.add(value.getBytes(StandardCharsets.UTF_8));
+        });
+        columns.forEach(column -> strings.add(column.name().getBytes(StandardCharsets.UTF_8)));
+
+        final int stringsSize = strings.stream().mapToInt(bytes -> Integer.BYTES + bytes.length).sum();
+        final int headerSize = FIXED_HEADER_SIZE + stringsSize + columns.size() * (Byte.BYTES + Long.BYTES);
+
+        final var header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC)
+              .putInt(VERSION)
+              .putInt(columns.size())
+              .putLong(rowCount)
+              .putInt(headerSize)
+              .putInt(metadata.size());
+
+        final var stringIterator = strings.iterator();
+        for (int i = 0; i < metadata.size() * 2; i++) {
+            putString(header, stringIterator.next());
+        }
+
+        long offset = align(headerSize);
+        for (final Column column : columns) {
+            putString(header, stringIterator.next());
+            header.put((byte) column.type().ordinal()).putLong(offset);
+            offset = align(offset + (long) rowCount * column.type().width);
+        }
+
+        return header.flip();
+    }
+
+    private static void putString(final ByteBuffer buffer, final byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    /**
+     * Writes zeros up to the next 8-byte aligned position.
+     */
+    private static void writePadding(final FileChannel channel) throws IOException {
+        final long position = channel.position();
+        final var padding = ByteBuffer.allocate((int) (align(position) - position));
+        while (padding.hasRemaining()) {
+            channel.write(padding);
+        }
+    }
+
+    private void writeColumn(final FileChannel channel, final Column column, final ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        for (int row = 0; row < rowCount; row++) {
+            if(buffer.remaining() < column.type().width){
+                drain(channel, buffer);
+            }
+
+            if(column.type() == ColumnType.INT32) {
+                buffer.putInt(column.intValue().applyAsInt(row));
+            } else {
+                buffer.putDouble(column.doubleValue().applyAsDouble(row));
+            }
+        }
+
+        drain(channel, buffer);
+    }
+
+    private static void drain(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static long align(final long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+/**
+ * A compact summary of a distribution of non-negative values,
+ * which gives the count, mean, min, max and approximate quantiles (such as the median or the 95th percentile)
+ * of all added values, without storing them.
+ *
+ * <p>Values are counted in buckets whose bounds grow exponentially,
+ * so that any quantile is estimated with a bounded <b>relative</b> error
+ * (1% by default), whatever the range of values.
+ * Therefore, the memory used depends just on the ratio between the largest and the smallest values
+ * (a few KB for values ranging from milliseconds to days), not on the number of values.</p>
+ *
+ * <p>Sketches with the same relative accuracy can be {@link #merge(QuantileSketch) merged},
+ * giving the same result as if all values were added to a single sketch.
+ * This way, sketches from separate groups or simulation runs can be combined.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class QuantileSketch {
+    /**
+     * The default relative accuracy of the estimated quantiles.
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /**
+     * Values lower than this one are counted as zero.
+     */
+    private static final double MIN_VALUE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    /**
+     * The number of values in each bucket, where the first element
+     * is the bucket with index {@link #firstIndex}.
+     */
+    private long[] buckets;
+    private int firstIndex;
+    private long zeroCount;
+
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+
+    /**
+     * Instantiates a sketch with the {@link #DEFAULT_RELATIVE_ACCURACY default relative accuracy}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Instantiates a sketch with a given relative accuracy.
+     * @param relativeAccuracy the maximum relative error of the estimated quantiles, such as 0.01 for 1%
+     */
+    public QuantileSketch(final double relativeAccuracy) {
+        if(relativeAccuracy <= 0 || relativeAccuracy >= 1){
+            throw new IllegalArgumentException("The relative accuracy must be between 0 and 1 (exclusive).");
+        }
+
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.buckets = new long[0];
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     * Negative values are counted as zero.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        if(Double.isNaN(value)){
+            return;
+        }
+
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if(value < MIN_VALUE) {
+            zeroCount++;
+            return;
+        }
+
+        final int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index, index);
+        buckets[index - firstIndex]++;
+    }
+
+    /**
+     * Adds all the values from another sketch to this one.
+     * @param other the sketch to merge into this one
+     * @throws IllegalArgumentException when the sketches have different relative accuracies
+     */
+    public void merge(final QuantileSketch other) {
+        if(other.relativeAccuracy != relativeAccuracy){
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracies.");
+        }
+
+        if(other.count == 0){
+            return;
+        }
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        zeroCount += other.zeroCount;
+        if(other.buckets.length > 0) {
+            ensureCapacity(other.firstIndex, other.firstIndex + other.buckets.length - 1);
+            for (int i = 0; i < other.buckets.length; i++) {
+                buckets[other.firstIndex + i - firstIndex] += other.buckets[i];
+            }
+        }
+    }
+
+    /**
+     * Grows the bucket array (if needed) so that it includes the buckets with the given indexes.
+     */
+    private void ensureCapacity(final int minIndex, final int maxIndex) {
+        if(buckets.length == 0){
+            buckets = new long[maxIndex - minIndex + 1];
+            firstIndex = minIndex;
+            return;
+        }
+
+        final int lastIndex = firstIndex + buckets.length - 1;
+        if(minIndex >= firstIndex && maxIndex <= lastIndex){
+            return;
+        }
+
+        final int newFirst = Math.min(firstIndex, minIndex);
+        final int newLast = Math.max(lastIndex, maxIndex);
+        final var newBuckets = new long[newLast - newFirst + 1];
+        System.arraycopy(buckets, 0, newBuckets, firstIndex - newFirst, buckets.length);
+        buckets = newBuckets;
+        firstIndex = newFirst;
+    }
+
+    /**
+     * Gets the approximate value at a given quantile.
+     * @param quantile the quantile, between 0 and 1 (such as 0.5 for the median or 0.95 for the 95th percentile)
+     * @return the estimated value or {@link Double#NaN} if the sketch is empty
+     */
+    public double getQuantile(final double quantile) {
+        if(quantile < 0 || quantile > 1){
+            throw new IllegalArgumentException("The quantile must be between 0 and 1.");
+        }
+
+        if(count == 0){
+            return Double.NaN;
+        }
+
+        final long rank = (long) (quantile * (count - 1));
+        long accumulated = zeroCount;
+        if(rank < accumulated){
+            return Math.max(min, 0);
+        }
+
+        for (int i = 0; i < buckets.length; i++) {
+            accumulated += buckets[i];
+            if(rank < accumulated){
+                final double value = 2 * Math.pow(gamma, firstIndex + i) / (gamma + 1);
+                return Math.min(Math.max(value, min), max);
+            }
+        }
+
+        return max;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Gets the number of added values.
+     * @return
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of all added values.
+     * @return
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the mean of all added values.
+     * @return the mean or {@link Double#NaN} if the sketch is empty
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Gets the exact minimum added value.
+     * @return the minimum value or {@link Double#NaN} if the sketch is empty
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Gets the exact maximum added value.
+     * @return the maximum value or {@link Double#NaN} if the sketch is empty
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "QuantileSketch{count=%d, mean=%.4f, min=%.4f, max=%.4f, buckets=%d}",
+            count, getMean(), getMin(), getMax(), buckets.length);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import org.cloudsimplus.automation.LogUtils;
+
+import java.io.PrintStream;
+
+/**
+ * Aggregates the {@link RunMetrics} of all replications of a scenario,
+ * to present the mean of each metric with its 95% confidence interval.
+ * If the replications collected {@link CloudletStatistics}, they are merged as well.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class ReplicationSummary {
+    private static final String[] CAPTIONS = {
+        "Metric                 ", "Mean        ", "95% CI (+/-)", "Std dev     ", "Min         ", "Max         "};
+
+    private final String name;
+    private final int replications;
+    private final long seed;
+    private final SampleStatistics finishedCloudlets;
+    private final SampleStatistics makespan;
+    private final SampleStatistics meanResponseTime;
+    private final SampleStatistics totalCost;
+    private CloudletStatistics statistics;
+    private int finished;
+    private int failed;
+    /** The number of replications whose Cloudlet statistics were merged into {@link #statistics}. */
+    private int withStatistics;
+
+    /**
+     * Instantiates a summary for the replications of a scenario.
+     * @param name the name of the scenario
+     * @param replications the number of replications to be run
+     * @param seed the seed the replication seeds were derived from
+     */
+    public ReplicationSummary(final String name, final int replications, final long seed) {
+        this.name = name;
+        this.replications = replications;
+        this.seed = seed;
+        this.finishedCloudlets = new SampleStatistics();
+        this.makespan = new SampleStatistics();
+        this.meanResponseTime = new SampleStatistics();
+        this.totalCost = new SampleStatistics();
+    }
+
+    /**
+     * Adds the results of a finished replication.
+     * @param metrics the metrics of the replication
+     * @param replicationStatistics the Cloudlet statistics of the replication, or null if they weren't collected
+     */
+    public void add(final RunMetrics metrics, final CloudletStatistics replicationStatistics) {
+        finished++;
+        finishedCloudlets.add(metrics.finishedCloudlets());
+        makespan.add(metrics.makespan());
+        meanResponseTime.add(metrics.meanResponseTime());
+        totalCost.add(metrics.totalCost());
+        if(replicationStatistics != null) {
+            if(statistics == null) {
+                statistics = new CloudletStatistics();
+            }
+            statistics.merge(replicationStatistics);
+            withStatistics++;
+        }
+    }
+
+    /**
+     * Counts a replication which failed, so that it isn't waited for.
+     */
+    public void addFailed() {
+        failed++;
+    }
+
+    /**
+     * Checks if all replications of the scenario have finished (or failed).
+     * @return
+     */
+    public boolean isComplete() {
+        return finished + failed == replications;
+    }
+
+    /**
+     * Prints the mean and confidence interval of each metric across the replications
+     * and the merged Cloudlet statistics (if collected).
+     * @param out the stream to print the summary to
+     */
+    public void print(final PrintStream out) {
+        out.printf("%nSummary of %d replications of %s (seed %d)%s%n",
+                   finished, name, seed, failed == 0 ? "" : String.format(" - %d replications failed", failed));
+        final String separator = " | ";
+        LogUtils.printCaptions(out, CAPTIONS, separator);
+        printMetric(out, "Finished Cloudlets", finishedCloudlets, separator);
+        printMetric(out, "Makespan (secs)", makespan, separator);
+        printMetric(out, "Mean response (secs)", meanResponseTime, separator);
+        printMetric(out, "Total cost", totalCost, separator);
+        if(statistics != null) {
+            /* Replications loaded from a cache or run by worker processes don't have Cloudlet statistics. */
+            final String count = withStatistics == finished ? "all" : withStatistics + " of " + finished;
+            out.printf("%nCloudlet statistics for %s replications of %s%n", count, name);
+            statistics.print(out);
+        }
+    }
+
+    private static void printMetric(final PrintStream out, final String metric, final SampleStatistics sample, final String separator) {
+        LogUtils.printLine(out, CAPTIONS, new Object[]{
+            metric, format(sample.getMean()), format(sample.getConfidenceIntervalHalfWidth()),
+            format(sample.getStandardDeviation()), format(sample.getMin()), format(sample.getMax())}, separator);
+    }
+
+    private static String format(final double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.2f", value);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public SampleStatistics getMakespan() {
+        return makespan;
+    }
+
+    public SampleStatistics getMeanResponseTime() {
+        return meanResponseTime;
+    }
+
+    public SampleStatistics getTotalCost() {
+        return totalCost;
+    }
+
+    public SampleStatistics getFinishedCloudlets() {
+        return finishedCloudlets;
+    }
+}
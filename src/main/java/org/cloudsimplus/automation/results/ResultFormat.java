@@ -0,0 +1,143 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import java.util.Locale;
+
+/**
+ * The formats in which {@link CloudletResult}s can be written.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public enum ResultFormat {
+    /**
+     * Comma-separated values, with a header line containing the name of each field.
+     */
+    CSV {
+        @Override
+        String header() {
+            return "scenario,broker,cloudlet,status,datacenter,host,vm,vmPes,length,pes,startTime,finishTime,execTime\n";
+        }
+
+        @Override
+        void encode(final CloudletResult r, final StringBuilder out) {
+            appendCsvString(out, r.scenario()).append(',');
+            appendCsvString(out, r.broker()).append(',');
+            out.append(r.cloudletId()).append(',')
+               .append(r.status()).append(',')
+               .append(r.datacenterId()).append(',')
+               .append(r.hostId()).append(',')
+               .append(r.vmId()).append(',')
+               .append(r.vmPes()).append(',')
+               .append(r.length()).append(',')
+               .append(r.pes()).append(',')
+               .append(r.startTime()).append(',')
+               .append(r.finishTime()).append(',')
+               .append(r.execTime()).append('\n');
+        }
+    },
+
+    /**
+     * JSON Lines, where each line is a JSON object representing a {@link CloudletResult}.
+     */
+    JSONL {
+        @Override
+        String header() {
+            return "";
+        }
+
+        @Override
+        void encode(final CloudletResult r, final StringBuilder out) {
+            out.append("{\"scenario\":");
+            appendJsonString(out, r.scenario());
+            out.append(",\"broker\":");
+            appendJsonString(out, r.broker());
+            out.append(",\"cloudlet\":").append(r.cloudletId())
+               .append(",\"status\":\"").append(r.status()).append('"')
+               .append(",\"datacenter\":").append(r.datacenterId())
+               .append(",\"host\":").append(r.hostId())
+               .append(",\"vm\":").append(r.vmId())
+               .append(",\"vmPes\":").append(r.vmPes())
+               .append(",\"length\":").append(r.length())
+               .append(",\"pes\":").append(r.pes())
+               .append(",\"startTime\":").append(r.startTime())
+               .append(",\"finishTime\":").append(r.finishTime())
+               .append(",\"execTime\":").append(r.execTime())
+               .append("}\n");
+        }
+    };
+
+    /**
+     * Gets the text to be written before any result.
+     * @return
+     */
+    abstract String header();
+
+    /**
+     * Encodes a result, appending it as a line to a given StringBuilder.
+     * @param r the result to encode
+     * @param out the StringBuilder to append the encoded result to
+     */
+    abstract void encode(CloudletResult r, StringBuilder out);
+
+    /**
+     * Gets a format by its name, ignoring the case.
+     * @param name the name of the format (such as "csv" or "jsonl")
+     * @return
+     * @throws IllegalArgumentException when there is no format with the given name
+     */
+    public static ResultFormat of(final String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format '" + name + "'. Use csv or jsonl.\n");
+        }
+    }
+
+    private static StringBuilder appendCsvString(final StringBuilder out, final String value) {
+        if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return out.append(value);
+        }
+
+        return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void appendJsonString(final StringBuilder out, final String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if(c < 0x20) out.append(String.format("\\u%04x", (int) c));
+                    else out.append(c);
+                }
+            }
+        }
+        out.append('"');
+    }
+}
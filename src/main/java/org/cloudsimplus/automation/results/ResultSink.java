@@ -0,0 +1,81 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A destination where the {@link CloudletResult}s of simulations are written to,
+ * such as a CSV or JSON Lines file.
+ * A single sink may receive the results from several simulations running at the same time,
+ * so implementations must be thread-safe.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see AsyncResultWriter
+ */
+public interface ResultSink extends Closeable {
+    /**
+     * A sink that just discards all results.
+     */
+    ResultSink NULL = new ResultSink() {
+        @Override public void write(final List<CloudletResult> results) {/**/}
+        @Override public void close() {/**/}
+    };
+
+    /**
+     * Writes a list of results.
+     * The results may be written just after this method returns.
+     * @param results the results to write
+     */
+    void write(List<CloudletResult> results);
+
+    /**
+     * Writes all the pending results and closes the sink.
+     * @throws IOException when the results cannot be written
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Opens a sink from a specification in the format {@code format:path}, such as
+     * {@code csv:results.csv} or {@code jsonl:-}, where {@code -} represents the standard output.
+     * If the path ends with {@code .gz}, the results are compressed using gzip.
+     *
+     * @param spec the sink specification
+     * @return the opened sink
+     * @throws IllegalArgumentException when the specification is invalid
+     * @throws IOException when the output file cannot be created
+     * @see ResultFormat
+     */
+    static ResultSink open(final String spec) throws IOException {
+        final int separator = spec.indexOf(':');
+        if(separator <= 0 || separator == spec.length() - 1){
+            throw new IllegalArgumentException("Invalid output '" + spec + "'. Use format:file, such as csv:results.csv or jsonl:-\n");
+        }
+
+        final var format = ResultFormat.of(spec.substring(0, separator));
+        return AsyncResultWriter.open(format, spec.substring(separator + 1));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Overall metrics for the execution of a simulation scenario,
+ * used to compare {@link ReplicationSummary replications} of the same scenario.
+ *
+ * @param finishedCloudlets the number of finished Cloudlets
+ * @param makespan the time the last Cloudlet finished (in seconds)
+ * @param meanResponseTime the mean time from the arrival of Cloudlets until they finish (in seconds)
+ * @param totalCost the total cost of all finished Cloudlets
+ * @author Manoel Campos da Silva Filho
+ */
+public record RunMetrics(long finishedCloudlets, double makespan, double meanResponseTime, double totalCost) {
+    /**
+     * Computes the metrics for the finished Cloudlets of a simulation.
+     * @param finishedCloudletLists the lists of finished Cloudlets (such as one for each broker)
+     * @return
+     */
+    public static RunMetrics of(final Collection<? extends List<Cloudlet>> finishedCloudletLists) {
+        final var accumulator = new Accumulator();
+        for (final List<Cloudlet> cloudlets : finishedCloudletLists) {
+            cloudlets.forEach(accumulator::add);
+        }
+
+        return accumulator.get();
+    }
+
+    /**
+     * Computes the metrics incrementally, as each Cloudlet finishes,
+     * so that finished Cloudlets don't need to be collected first.
+     */
+    public static final class Accumulator {
+        private long count;
+        private double makespan, responseTimeSum, cost;
+
+        /**
+         * Adds a finished Cloudlet to the metrics.
+         * @param cloudlet the finished Cloudlet
+         */
+        public void add(final Cloudlet cloudlet) {
+            count++;
+            makespan = Math.max(makespan, cloudlet.getFinishTime());
+            responseTimeSum += cloudlet.getStartWaitTime() + cloudlet.getFinishTime() - cloudlet.getStartTime();
+            cost += cloudlet.getTotalCost();
+        }
+
+        /**
+         * Gets the metrics for the Cloudlets added so far.
+         * @return
+         */
+        public RunMetrics get() {
+            return new RunMetrics(count, makespan, count == 0 ? Double.NaN : responseTimeSum / count, cost);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * CloudSim Plus Automation: A Human Readable Scenario Specification for Automated Creation of Simulations on CloudSim Plus.
+ * https://github.com/manoelcampos/CloudSimAutomation
+ *
+ *     Copyright (C) 2015-2016  Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Automation.
+ *
+ *     CloudSim Plus Automation is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus Automation is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Automation. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.automation.results;
+
+/**
+ * Mean, standard deviation and confidence interval for a sample of values
+ * (such as the makespan of each replication of a scenario),
+ * which are computed as values are added, without keeping them.
+ *
+ * <p>The confidence interval is computed using the Student's t-distribution,
+ * since the number of replications is usually small.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class SampleStatistics {
+    /**
+     * The critical values of the t-distribution for a 95% confidence level (two-sided),
+     * where the index is the degrees of freedom minus 1.
+     */
+    private static final double[] T_CRITICAL_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+         2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+         2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    /** The quantile of the standard normal distribution for a 95% confidence level (two-sided). */
+    private static final double Z_95 = 1.959964;
+
+    private long count;
+    private double mean;
+    /** The sum of squared differences from the mean (as in Welford's algorithm). */
+    private double squaredDiffSum;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Adds a value to the sample.
+     * @param value the value to add (NaN values are ignored)
+     */
+    public void add(final double value) {
+        if(Double.isNaN(value)) {
+            return;
+        }
+
+        count++;
+        final double delta = value - mean;
+        mean += delta / count;
+        squaredDiffSum += delta * (value - mean);
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sample mean.
+     * @return the mean or NaN if the sample is empty
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Gets the sample standard deviation.
+     * @return the standard deviation or NaN if the sample has less than 2 values
+     */
+    public double getStandardDeviation() {
+        return count < 2 ? Double.NaN : Math.sqrt(squaredDiffSum / (count - 1));
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval for the mean,
+     * so that the interval is {@code mean ± half-width}.
+     * @return the half-width or NaN if the sample has less than 2 values
+     */
+    public double getConfidenceIntervalHalfWidth() {
+        return count < 2 ? Double.NaN : tCritical95(count - 1) * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the critical value of the t-distribution for a 95% confidence level.
+     * Values for more than 30 degrees of freedom are approximated from the normal distribution
+     * by the Cornish-Fisher expansion.
+     * @param degreesOfFreedom the degrees of freedom
+     * @return
+     */
+    static double tCritical95(final long degreesOfFreedom) {
+        if(degreesOfFreedom <= T_CRITICAL_95.length) {
+            return T_CRITICAL_95[(int) degreesOfFreedom - 1];
+        }
+
+        final double z = Z_95, z3 = z*z*z, z5 = z3*z*z, z7 = z5*z*z;
+        final double df = degreesOfFreedom;
+        return z + (z3 + z)/(4*df) + (5*z5 + 16*z3 + 3*z)/(96*df*df) + (3*z7 + 19*z5 + 17*z3 - 15*z)/(384*df*df*df);
+    }
+}